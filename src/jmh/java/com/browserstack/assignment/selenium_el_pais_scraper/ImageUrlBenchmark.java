@@ -0,0 +1,58 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-image string work: srcset parsing and candidate selection
+ * (SrcsetSelector) and file name sanitization (DownloadUtil.fileNameFor) on
+ * El País-style resizer URLs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImageUrlBenchmark {
+
+	private static final String RESIZER = "https://imagenes.elpais.com/resizer/v2/5XKQ3VXWBNHJBM6DJ3SFN3UQVM.jpg"
+			+ "?auth=7d1a0e3c5b9f2a4d6e8c0b1a3f5e7d9c2b4a6f8e0d1c3b5a7f9e1d3c5b7a9f0e&width=";
+
+	private static final String SRCSET = RESIZER + "414 414w," + RESIZER + "828 640w," + RESIZER + "980 1000w,"
+			+ RESIZER + "1960 1960w";
+
+	private static final List<SrcsetSelector.Source> PICTURE = List.of(
+			new SrcsetSelector.Source(RESIZER + "1200&f=webp 1200w", "image/webp", "(min-width: 1000px)"),
+			new SrcsetSelector.Source(RESIZER + "414&f=webp 414w," + RESIZER + "828&f=webp 828w", "image/webp", null));
+
+	@Benchmark
+	public List<SrcsetSelector.Candidate> parseSrcset() {
+		return SrcsetSelector.parse(SRCSET);
+	}
+
+	@Benchmark
+	public String selectFromSrcset() {
+		return SrcsetSelector.select(null, SRCSET, RESIZER + "1960", 400);
+	}
+
+	@Benchmark
+	public String selectFromPicture() {
+		return SrcsetSelector.select(PICTURE, SRCSET, RESIZER + "1960", 400);
+	}
+
+	@Benchmark
+	public String fileNameFor() {
+		return DownloadUtil.fileNameFor(RESIZER + "414");
+	}
+}
@@ -0,0 +1,128 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Compares a JMH JSON result file with a committed baseline and fails on
+ * regressions.
+ *
+ * For every benchmark + parameter combination present in both files, the
+ * throughput (primary metric, higher is better) and, when the run used -prof
+ * gc, the normalized allocation (gc.alloc.rate.norm, bytes/op, lower is better)
+ * are compared. A change worse than the tolerance is reported as a regression
+ * and the exit code is 1. Without a baseline file there is nothing to compare:
+ * the check says so and exits with 0.
+ *
+ * Run: java -cp &lt;test classpath&gt; ...JmhBaselineCheck &lt;baseline.json&gt;
+ * &lt;result.json&gt; [tolerancePercent, default 10]
+ */
+public class JmhBaselineCheck {
+
+	private static final String ALLOC_NORM = "gc.alloc.rate.norm";
+
+	/** Scores of one benchmark + params combination. */
+	private static final class Scores {
+		double throughput;
+		Double allocPerOp;
+	}
+
+	public static void main(String[] args) throws Exception {
+		if (args.length < 2) {
+			System.err.println("Usage: JmhBaselineCheck <baseline.json> <result.json> [tolerancePercent]");
+			System.exit(2);
+		}
+		double tolerance = args.length > 2 ? Double.parseDouble(args[2]) / 100.0 : 0.10;
+		Path baselineFile = Path.of(args[0]);
+		Path resultFile = Path.of(args[1]);
+		if (!Files.isRegularFile(baselineFile)) {
+			System.out.println("No baseline recorded at " + baselineFile + ", nothing to compare."
+					+ " See \"Benchmarks\" in README.md for how to record one.");
+			System.exit(0);
+		}
+		if (!Files.isRegularFile(resultFile)) {
+			System.err.println("No benchmark result at " + resultFile + ". Run mvn -Pbenchmarks verify first.");
+			System.exit(2);
+		}
+		Map<String, Scores> baseline = load(baselineFile);
+		Map<String, Scores> current = load(resultFile);
+
+		int regressions = 0;
+		System.out.printf("%-70s %14s %14s %8s %12s %12s %8s%n", "benchmark", "base ops", "current ops", "delta",
+				"base B/op", "current B/op", "delta");
+		for (Map.Entry<String, Scores> e : new TreeMap<>(current).entrySet()) {
+			Scores base = baseline.get(e.getKey());
+			if (base == null)
+				continue;
+			Scores now = e.getValue();
+
+			double opsDelta = relative(base.throughput, now.throughput);
+			boolean slower = opsDelta < -tolerance;
+			Double allocDelta = base.allocPerOp != null && now.allocPerOp != null
+					? relative(base.allocPerOp, now.allocPerOp)
+					: null;
+			// Ignore tiny absolute allocation changes (e.g. 16 -> 24 bytes/op)
+			boolean allocates = allocDelta != null && allocDelta > tolerance && now.allocPerOp - base.allocPerOp > 64;
+
+			System.out.printf("%-70s %14.1f %14.1f %+7.1f%% %12s %12s %8s%s%n", e.getKey(), base.throughput,
+					now.throughput, opsDelta * 100, format(base.allocPerOp), format(now.allocPerOp),
+					allocDelta == null ? "" : String.format("%+.1f%%", allocDelta * 100),
+					slower || allocates ? "  REGRESSION" : "");
+			if (slower || allocates)
+				regressions++;
+		}
+
+		System.out.printf("%d regression(s) beyond %.0f%%%n", regressions, tolerance * 100);
+		System.exit(regressions == 0 ? 0 : 1);
+	}
+
+	/** benchmark name + sorted params -> scores. */
+	private static Map<String, Scores> load(Path file) throws Exception {
+		JsonArray runs;
+		try (Reader r = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			runs = JsonParser.parseReader(r).getAsJsonArray();
+		}
+		Map<String, Scores> out = new LinkedHashMap<>();
+		for (JsonElement el : runs) {
+			JsonObject run = el.getAsJsonObject();
+			StringBuilder key = new StringBuilder(run.get("benchmark").getAsString()
+					.replace("com.browserstack.assignment.selenium_el_pais_scraper.", ""));
+			if (run.has("params")) {
+				for (Map.Entry<String, JsonElement> p : new TreeMap<>(run.getAsJsonObject("params").asMap())
+						.entrySet())
+					key.append(' ').append(p.getKey()).append('=').append(p.getValue().getAsString());
+			}
+
+			Scores s = new Scores();
+			JsonObject primary = run.getAsJsonObject("primaryMetric");
+			s.throughput = primary.get("score").getAsDouble();
+			if (run.has("secondaryMetrics")) {
+				for (Map.Entry<String, JsonElement> m : run.getAsJsonObject("secondaryMetrics").entrySet()) {
+					// Older JMH versions prefix profiler metrics with a middle dot
+					if (m.getKey().replace("·", "").equals(ALLOC_NORM))
+						s.allocPerOp = m.getValue().getAsJsonObject().get("score").getAsDouble();
+				}
+			}
+			out.put(key.toString(), s);
+		}
+		return out;
+	}
+
+	private static double relative(double base, double now) {
+		return base == 0 ? 0 : (now - base) / base;
+	}
+
+	private static String format(Double v) {
+		return v == null ? "-" : String.format("%.0f", v);
+	}
+}
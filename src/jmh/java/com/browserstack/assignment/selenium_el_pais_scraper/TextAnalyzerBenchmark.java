@@ -0,0 +1,65 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * TextAnalyzer.repeatedWords() over corpora of English headlines, from the 5
+ * titles of a normal run to a deep crawl. Titles are generated from a fixed
+ * vocabulary with a fixed seed, so runs are comparable.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextAnalyzerBenchmark {
+
+	private static final String[] WORDS = { "the", "government", "opposition", "housing", "reform", "europe",
+			"spain", "elections", "climate", "crisis", "debate", "judges", "democracy", "budget", "war", "peace",
+			"ukraine", "gaza", "tourism", "water", "drought", "pensions", "Sánchez", "Feijóo", "Catalonia", "amnesty",
+			"inflation", "rents", "young", "people", "future", "of", "and", "in", "a", "why", "what", "we" };
+
+	@Param({ "5", "100", "10000" })
+	public int titles;
+
+	private final TextAnalyzer analyzer = new TextAnalyzer();
+	private List<String> corpus;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		corpus = new ArrayList<>(titles);
+		for (int i = 0; i < titles; i++) {
+			StringBuilder sb = new StringBuilder();
+			int words = 6 + random.nextInt(8);
+			for (int w = 0; w < words; w++) {
+				if (w > 0)
+					sb.append(random.nextInt(10) == 0 ? ", " : " ");
+				sb.append(WORDS[random.nextInt(WORDS.length)]);
+			}
+			corpus.add(sb.append(random.nextBoolean() ? "?" : ".").toString());
+		}
+	}
+
+	@Benchmark
+	public Map<String, Integer> repeatedWords() {
+		return analyzer.repeatedWords(corpus, 2);
+	}
+}
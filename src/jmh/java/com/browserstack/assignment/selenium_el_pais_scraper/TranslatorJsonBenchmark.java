@@ -0,0 +1,129 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+/**
+ * TranslatorV2 request-body writing and response parsing for batches of 5 to
+ * 5,000 items on in-memory payloads (no network). treeRoundTrip is the
+ * previous JsonObject/StringBuilder handling, kept for comparison with
+ * streamingRoundTrip; run with -prof gc (the profile default) to compare bytes
+ * allocated per operation (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TranslatorJsonBenchmark {
+
+	private static final Gson GSON = new Gson();
+
+	@Param({ "5", "50", "500", "5000" })
+	public int items;
+
+	private List<String> texts;
+	private byte[] response;
+	private ByteArrayOutputStream body;
+
+	@Setup
+	public void setUp() {
+		texts = sampleTexts(items);
+		response = sampleResponse(texts);
+		body = new ByteArrayOutputStream(items * 128);
+	}
+
+	@Benchmark
+	public int writeRequestBody() throws Exception {
+		body.reset();
+		TranslatorV2.writeRequestBody(texts, body);
+		return body.size();
+	}
+
+	@Benchmark
+	public List<String> readTranslations() throws Exception {
+		return TranslatorV2.readTranslations(new ByteArrayInputStream(response), items);
+	}
+
+	// Current implementation: JsonWriter -> byte buffer; JsonReader over the stream
+	@Benchmark
+	public int streamingRoundTrip() throws Exception {
+		body.reset();
+		TranslatorV2.writeRequestBody(texts, body);
+		try (InputStream in = new ByteArrayInputStream(response)) {
+			return body.size() + TranslatorV2.readTranslations(in, texts.size()).size();
+		}
+	}
+
+	// Previous implementation: JSON tree -> String -> byte[]; response lines ->
+	// StringBuilder -> String -> JSON tree
+	@Benchmark
+	public int treeRoundTrip() throws Exception {
+		JsonObject request = new JsonObject();
+		JsonArray q = new JsonArray();
+		for (String t : texts)
+			q.add(t);
+		request.add("q", q);
+		request.addProperty("source", "es");
+		request.addProperty("target", "en");
+		request.addProperty("format", "text");
+		byte[] payload = GSON.toJson(request).getBytes(StandardCharsets.UTF_8);
+
+		StringBuilder sb = new StringBuilder();
+		try (BufferedReader br = new BufferedReader(
+				new InputStreamReader(new ByteArrayInputStream(response), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = br.readLine()) != null)
+				sb.append(line).append('\n');
+		}
+		JsonObject json = GSON.fromJson(sb.toString(), JsonObject.class);
+		JsonArray translations = json.getAsJsonObject("data").getAsJsonArray("translations");
+		List<String> out = new ArrayList<>();
+		for (int i = 0; i < translations.size(); i++)
+			out.add(translations.get(i).getAsJsonObject().get("translatedText").getAsString());
+		return payload.length + out.size();
+	}
+
+	private static List<String> sampleTexts(int n) {
+		List<String> texts = new ArrayList<>(n);
+		for (int i = 0; i < n; i++)
+			texts.add("La opinión número " + i + ": el Gobierno y la oposición debaten la reforma de la vivienda");
+		return texts;
+	}
+
+	/** A v2-shaped, pretty-printed response for the given texts. */
+	private static byte[] sampleResponse(List<String> texts) {
+		StringBuilder sb = new StringBuilder("{\n  \"data\": {\n    \"translations\": [\n");
+		for (int i = 0; i < texts.size(); i++) {
+			sb.append("      {\n        \"translatedText\": \"Opinion number ").append(i)
+					.append(": the Government and the opposition debate the housing reform\"\n      }");
+			sb.append(i + 1 < texts.size() ? ",\n" : "\n");
+		}
+		sb.append("    ]\n  }\n}\n");
+		return sb.toString().getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -15,9 +15,18 @@ public class Article {
 	/** The article title translated into English. */
 	public String titleEn;
 
-	/** The main textual content of the article (not currently scraped). */
+	/** The first paragraph of the article body in Spanish. */
+	public String firstParagraph;
+
+	/**
+	 * The main textual content of the article in Spanish: every body paragraph,
+	 * separated by blank lines.
+	 */
 	public String content;
 
+	/** The article body translated into English (same paragraph breaks). */
+	public String contentEn;
+
 	/** The URL of the article's main image, if any. */
 	public String imageUrl;
 
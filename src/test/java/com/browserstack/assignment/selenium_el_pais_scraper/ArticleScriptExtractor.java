@@ -0,0 +1,109 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Extracts all article fields with a single executeScript call.
+ *
+ * Reading title, body paragraphs and the image attributes through WebElement
+ * costs one WebDriver round trip per findElement/getText/getAttribute (up to
+ * ~10 per article, 100–300 ms each on BrowserStack). This class evaluates the
+ * ElPaisElements selector chains in the browser instead and returns everything as one
+ * structured map, converted to the same PageExtract used by the HTTP engine.
+ */
+public class ArticleScriptExtractor {
+
+	/**
+	 * Arguments: title, first paragraph, image and body paragraph selector chains
+	 * (SelectorChain.scriptArg). Returns a map of strings (null when the
+	 * element/attribute is missing), the body paragraph texts, the picture
+	 * sources, if any, and the lookup result of each chain under "lookups". innerText matches WebElement.getText()
+	 * for visible elements; src is the resolved property.
+	 */
+	private static final String SCRIPT = String.join("\n", SelectorChain.FIND_JS,
+			"var text = function(el) {",
+			"  return el ? (el.innerText || el.textContent || '').trim() : '';",
+			"};",
+			"var lookup = function(r) {",
+			"  return { index: r.index, micros: r.micros };",
+			"};",
+			"var t = selFind(arguments[0], false), p = selFind(arguments[1], false), i = selFind(arguments[2], false);",
+			"var b = selFind(arguments[3], true);",
+			"var title = t.value, para = p.value, img = i.value;",
+			"return {",
+			"  title: text(title),",
+			"  paragraph: text(para),",
+			"  paragraphs: b.value.map(text).filter(function(s) { return s.length > 0; }),",
+			"  src: img ? (img.src || null) : null,",
+			"  dataSrc: img ? img.getAttribute('data-src') : null,",
+			"  lazySrc: img ? img.getAttribute('data-lazy-src') : null,",
+			"  srcset: img ? (img.getAttribute('srcset') || img.getAttribute('data-srcset')) : null,",
+			"  sources: img && img.parentElement && img.parentElement.tagName === 'PICTURE'",
+			"      ? Array.prototype.map.call(img.parentElement.querySelectorAll(':scope > source'), function(s) {",
+			"          return { srcset: s.getAttribute('srcset') || s.getAttribute('data-srcset'),",
+			"                   type: s.getAttribute('type'), media: s.getAttribute('media') };",
+			"        })",
+			"      : null,",
+			"  lookups: [lookup(t), lookup(p), lookup(i), lookup(b)]",
+			"};");
+
+	/**
+	 * Run the extraction script on the current page.
+	 *
+	 * @return the extracted fields; never null (missing fields are empty/null).
+	 * @throws org.openqa.selenium.WebDriverException if the script cannot run.
+	 */
+	public HttpArticleFetcher.PageExtract extract(WebDriver driver, String url) {
+		List<SelectorChain> chains = List.of(ElPaisElements.ARTICLE_TITLE_CHAIN, ElPaisElements.FIRST_PARAGRAPH_CHAIN,
+				ElPaisElements.ARTICLE_IMAGE_CHAIN, ElPaisElements.BODY_PARAGRAPHS_CHAIN);
+		List<List<SelectorChain.Alternative>> orders = new ArrayList<>();
+		for (SelectorChain c : chains)
+			orders.add(c.ordered());
+		Object raw = ((JavascriptExecutor) driver).executeScript(SCRIPT, SelectorChain.scriptArg(orders.get(0)),
+				SelectorChain.scriptArg(orders.get(1)), SelectorChain.scriptArg(orders.get(2)),
+				SelectorChain.scriptArg(orders.get(3)));
+
+		HttpArticleFetcher.PageExtract out = new HttpArticleFetcher.PageExtract(url);
+		if (!(raw instanceof Map))
+			return out;
+
+		Map<?, ?> m = (Map<?, ?>) raw;
+		if (m.get("lookups") instanceof List) {
+			List<?> lookups = (List<?>) m.get("lookups");
+			for (int i = 0; i < chains.size() && i < lookups.size(); i++)
+				chains.get(i).record(orders.get(i), lookups.get(i));
+		}
+		out.title = str(m.get("title"), "");
+		out.firstParagraph = str(m.get("paragraph"), "");
+		if (m.get("paragraphs") instanceof List) {
+			List<String> paragraphs = new ArrayList<>();
+			for (Object o : (List<?>) m.get("paragraphs"))
+				paragraphs.add(str(o, ""));
+			out.body = HttpArticleFetcher.joinParagraphs(paragraphs);
+		}
+		out.imgSrc = str(m.get("src"), null);
+		out.imgDataSrc = HttpArticleFetcher.resolve(url, str(m.get("dataSrc"), null));
+		out.imgLazySrc = HttpArticleFetcher.resolve(url, str(m.get("lazySrc"), null));
+		out.imgSrcset = str(m.get("srcset"), null);
+		if (m.get("sources") instanceof List) {
+			out.imgSources = new ArrayList<>();
+			for (Object o : (List<?>) m.get("sources")) {
+				if (o instanceof Map) {
+					Map<?, ?> s = (Map<?, ?>) o;
+					out.imgSources.add(new SrcsetSelector.Source(str(s.get("srcset"), null), str(s.get("type"), null),
+							str(s.get("media"), null)));
+				}
+			}
+		}
+		return out;
+	}
+
+	private static String str(Object o, String fallback) {
+		return o == null ? fallback : o.toString();
+	}
+}
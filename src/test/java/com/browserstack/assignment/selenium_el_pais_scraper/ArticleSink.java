@@ -0,0 +1,347 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+
+/**
+ * Streaming NDJSON sink for scraped articles.
+ *
+ * Every append() writes one JSON object per line (the Article fields plus a
+ * "scrapedAt" timestamp) to the active file, so downstream jobs can tail the
+ * results while a run is in progress. Lines are encoded into a fixed-size
+ * buffer and written with a FileChannel when it fills up, on a periodic flush
+ * and on close; each flush is followed by a force() (fsync). Memory use does
+ * not depend on the number of articles.
+ *
+ * The active file is rotated when it reaches 'rotateBytes' or is older than
+ * 'rotateAge'. Rotated files get a sequence number and are gzip-compressed in
+ * the background (optional).
+ *
+ * Files: &lt;resultsDir&gt;/articles-&lt;start timestamp&gt;.ndjson (active) and
+ * articles-&lt;start timestamp&gt;-&lt;seq&gt;.ndjson[.gz] (rotated).
+ *
+ * Usage notes: - Use shared() from the scraper; it is closed at suite end. -
+ * -DresultsSink=false disables it. - Tune with -DresultsDir, -DresultsRotateMb
+ * (64, 0 = never), -DresultsRotateMinutes (0 = never), -DresultsGzip (true) and
+ * -DresultsFlushMillis (1000).
+ */
+public class ArticleSink implements AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(ArticleSink.class);
+
+	private static final Gson GSON = new GsonBuilder().disableHtmlEscaping().create();
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static volatile ArticleSink shared;
+	private static volatile boolean sharedFailed;
+
+	private final Path folder;
+	private final String baseName;
+	private final long rotateBytes;
+	private final long rotateAgeMillis;
+	private final boolean gzipRotated;
+
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+	private final ScheduledExecutorService flusher;
+	private final ExecutorService compressor;
+
+	// Guarded by 'this'
+	private FileChannel channel;
+	private Path activeFile;
+	private long activeBytes;
+	private long openedAtMillis;
+	private int sequence;
+	private long linesWritten;
+	private boolean closed;
+
+	/**
+	 * @param folder          output folder (created if missing).
+	 * @param baseName        file name prefix, e.g. "articles-20250101_120000".
+	 * @param rotateBytes     rotate when the active file reaches this size (0 =
+	 *                        never).
+	 * @param rotateAgeMillis rotate when the active file is older than this (0 =
+	 *                        never).
+	 * @param gzipRotated     gzip rotated files in the background.
+	 * @param flushMillis     interval of the periodic flush + fsync (0 = only when
+	 *                        the buffer is full and on close).
+	 */
+	public ArticleSink(Path folder, String baseName, long rotateBytes, long rotateAgeMillis, boolean gzipRotated,
+			long flushMillis) throws IOException {
+		this.folder = folder;
+		this.baseName = baseName;
+		this.rotateBytes = rotateBytes;
+		this.rotateAgeMillis = rotateAgeMillis;
+		this.gzipRotated = gzipRotated;
+
+		Files.createDirectories(folder);
+		openActive();
+
+		this.compressor = Executors.newSingleThreadExecutor(r -> {
+			Thread t = new Thread(r, "results-gzip");
+			t.setDaemon(true);
+			return t;
+		});
+		if (flushMillis > 0) {
+			this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+				Thread t = new Thread(r, "results-flush");
+				t.setDaemon(true);
+				return t;
+			});
+			this.flusher.scheduleWithFixedDelay(this::periodicFlush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+		} else {
+			this.flusher = null;
+		}
+		logger.info("[Results] Writing articles to {}", activeFile);
+	}
+
+	/**
+	 * JVM-wide sink configured from system properties, created on first use. Returns
+	 * null when disabled (-DresultsSink=false) or when the folder cannot be
+	 * created.
+	 */
+	public static ArticleSink shared() {
+		ArticleSink s = shared;
+		if (s != null || sharedFailed || !Boolean.parseBoolean(System.getProperty("resultsSink", "true")))
+			return s;
+		synchronized (ArticleSink.class) {
+			if (shared == null && !sharedFailed) {
+				Path dir = Path.of(System.getProperty("resultsDir",
+						Path.of(System.getProperty("user.home"), "elpaisscraper", "results").toString()));
+				String ts = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+				try {
+					shared = new ArticleSink(dir, "articles-" + ts,
+							Long.getLong("resultsRotateMb", 64) * 1024L * 1024L,
+							Long.getLong("resultsRotateMinutes", 0) * 60_000L,
+							Boolean.parseBoolean(System.getProperty("resultsGzip", "true")),
+							Long.getLong("resultsFlushMillis", 1000));
+				} catch (IOException e) {
+					logger.warn("[Results] Could not open result sink in {}: {}", dir, e.getMessage());
+					sharedFailed = true;
+				}
+			}
+			return shared;
+		}
+	}
+
+	/** Close the shared sink if it was opened. */
+	public static void closeShared() {
+		ArticleSink s;
+		synchronized (ArticleSink.class) {
+			s = shared;
+			shared = null;
+		}
+		if (s != null)
+			s.close();
+	}
+
+	/** Append one article as a JSON line. I/O failures are logged and ignored. */
+	public void append(Article a) {
+		if (a == null)
+			return;
+		JsonObject json = GSON.toJsonTree(a).getAsJsonObject();
+		json.addProperty("scrapedAt", Instant.now().toString());
+		byte[] line = (GSON.toJson(json) + "\n").getBytes(StandardCharsets.UTF_8);
+
+		synchronized (this) {
+			if (closed)
+				return;
+			try {
+				if (shouldRotate(line.length))
+					rotateOrKeep();
+				if (line.length > buffer.remaining())
+					flushBuffer();
+				if (line.length > buffer.capacity())
+					writeFully(ByteBuffer.wrap(line));
+				else
+					buffer.put(line);
+				activeBytes += line.length;
+				linesWritten++;
+			} catch (IOException e) {
+				logger.warn("[Results] Could not write {}: {}", a.url, e.getMessage());
+			}
+		}
+	}
+
+	/** Write buffered lines and fsync the active file. */
+	public synchronized void flush() throws IOException {
+		if (closed)
+			return;
+		flushBuffer();
+		channel.force(false);
+	}
+
+	public synchronized long linesWritten() {
+		return linesWritten;
+	}
+
+	/** The file currently being appended to. */
+	public synchronized Path activeFile() {
+		return activeFile;
+	}
+
+	@Override
+	public void close() {
+		if (flusher != null)
+			flusher.shutdownNow();
+		synchronized (this) {
+			if (closed)
+				return;
+			try {
+				flush();
+			} catch (IOException e) {
+				logger.warn("[Results] Could not flush {}: {}", activeFile, e.getMessage());
+			} finally {
+				closed = true;
+				try {
+					channel.close();
+				} catch (IOException e) {
+					logger.warn("[Results] Could not close {}: {}", activeFile, e.getMessage());
+				}
+			}
+			logger.info("[Results] {} articles written; last file {}", linesWritten, activeFile);
+		}
+		compressor.shutdown();
+		try {
+			compressor.awaitTermination(1, TimeUnit.MINUTES);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void periodicFlush() {
+		synchronized (this) {
+			if (closed)
+				return;
+			try {
+				if (buffer.position() > 0)
+					flush();
+				if (rotateAgeMillis > 0 && activeBytes > 0
+						&& System.currentTimeMillis() - openedAtMillis >= rotateAgeMillis)
+					rotate();
+			} catch (IOException e) {
+				logger.warn("[Results] Periodic flush failed: {}", e.getMessage());
+			}
+		}
+	}
+
+	private boolean shouldRotate(int nextLine) {
+		if (activeBytes == 0)
+			return false;
+		if (rotateBytes > 0 && activeBytes + nextLine > rotateBytes)
+			return true;
+		return rotateAgeMillis > 0 && System.currentTimeMillis() - openedAtMillis >= rotateAgeMillis;
+	}
+
+	/** Open (or append to) the active file; fields change only if that succeeds. */
+	private void openActive() throws IOException {
+		Path file = folder.resolve(baseName + ".ndjson");
+		FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.APPEND);
+		channel = ch;
+		activeFile = file;
+		activeBytes = ch.size();
+		openedAtMillis = System.currentTimeMillis();
+	}
+
+	// A failed rotation must not lose the line: keep appending to the current file
+	private void rotateOrKeep() {
+		try {
+			rotate();
+		} catch (IOException e) {
+			logger.warn("[Results] Could not rotate {}: {}", activeFile, e.getMessage());
+		}
+	}
+
+	/**
+	 * Move the active file to the next sequence name and open a new one. The old
+	 * channel stays open until the new file is: if that fails, writing continues
+	 * into the moved file and the rotation is retried on a later append.
+	 */
+	private void rotate() throws IOException {
+		flushBuffer();
+		channel.force(true);
+
+		Path rotated;
+		do {
+			rotated = folder.resolve(String.format("%s-%04d.ndjson", baseName, ++sequence));
+		} while (Files.exists(rotated) || Files.exists(Path.of(rotated + ".gz")));
+		Files.move(activeFile, rotated);
+
+		long bytes = activeBytes;
+		FileChannel old = channel;
+		try {
+			openActive();
+		} catch (IOException e) {
+			activeFile = rotated;
+			throw e;
+		}
+		try {
+			old.close();
+		} catch (IOException e) {
+			logger.warn("[Results] Could not close {}: {}", rotated, e.getMessage());
+		}
+		logger.info("[Results] Rotated {} ({} bytes)", rotated.getFileName(), bytes);
+		if (gzipRotated) {
+			Path source = rotated;
+			compressor.execute(() -> gzip(source));
+		}
+	}
+
+	private void flushBuffer() throws IOException {
+		if (buffer.position() == 0)
+			return;
+		buffer.flip();
+		writeFully(buffer);
+		buffer.clear();
+	}
+
+	private void writeFully(ByteBuffer src) throws IOException {
+		while (src.hasRemaining())
+			channel.write(src);
+	}
+
+	private static void gzip(Path source) {
+		Path target = Path.of(source + ".gz");
+		Path tmp = Path.of(target + ".tmp");
+		try (InputStream in = Files.newInputStream(source);
+				OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp), BUFFER_SIZE)) {
+			in.transferTo(out);
+		} catch (IOException e) {
+			logger.warn("[Results] Could not compress {}: {}", source, e.getMessage());
+			try {
+				Files.deleteIfExists(tmp);
+			} catch (IOException ignored) {
+			}
+			return;
+		}
+		try {
+			Files.move(tmp, target);
+			Files.delete(source);
+		} catch (IOException e) {
+			logger.warn("[Results] Could not finish compressing {}: {}", source, e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,137 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Unit tests for ArticleSink (NDJSON lines, size-based rotation, gzip of
+ * rotated segments). Runs without a browser or network:
+ * mvn test -Dconfig.file=config/unit-tests.xml
+ */
+public class ArticleSinkTest {
+
+	private static final String BASE = "articles-test";
+	private static final long ROTATE_BYTES = 1024;
+
+	private Path dir;
+
+	@BeforeMethod
+	public void createFolder() throws IOException {
+		dir = Files.createTempDirectory("article-sink");
+	}
+
+	@AfterMethod(alwaysRun = true)
+	public void deleteFolder() throws IOException {
+		try (Stream<Path> walk = Files.walk(dir)) {
+			for (Path p : walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList()))
+				Files.deleteIfExists(p);
+		}
+	}
+
+	private static Article article(int i) {
+		Article a = new Article("https://elpais.com/opinion/2025-01-01/articulo-" + i + ".html");
+		a.titleEs = "Título número " + i;
+		a.firstParagraph = "Primer párrafo del artículo " + i + ".";
+		return a;
+	}
+
+	/** Rotated segments in sequence order (the name sorts by sequence). */
+	private List<Path> segments(String suffix) throws IOException {
+		try (Stream<Path> files = Files.list(dir)) {
+			return files.filter(p -> p.getFileName().toString().matches(BASE + "-\\d{4}\\.ndjson" + suffix))
+					.sorted().collect(Collectors.toList());
+		}
+	}
+
+	private static String read(Path file) throws IOException {
+		if (!file.toString().endsWith(".gz"))
+			return Files.readString(file, StandardCharsets.UTF_8);
+		try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			in.transferTo(out);
+			return out.toString(StandardCharsets.UTF_8);
+		}
+	}
+
+	/** Lines of the rotated segments followed by the active file, checking each segment's size. */
+	private List<String> readAll(List<Path> rotated) throws IOException {
+		List<String> lines = new ArrayList<>();
+		for (Path segment : rotated) {
+			String text = read(segment);
+			assertTrue(text.getBytes(StandardCharsets.UTF_8).length <= ROTATE_BYTES, segment + " over the limit");
+			lines.addAll(text.lines().collect(Collectors.toList()));
+		}
+		lines.addAll(read(dir.resolve(BASE + ".ndjson")).lines().collect(Collectors.toList()));
+		return lines;
+	}
+
+	private static void assertArticlesInOrder(List<String> lines, int count) {
+		assertEquals(lines.size(), count);
+		for (int i = 0; i < count; i++) {
+			JsonObject json = JsonParser.parseString(lines.get(i)).getAsJsonObject();
+			assertEquals(json.get("url").getAsString(), article(i).url);
+			assertEquals(json.get("titleEs").getAsString(), "Título número " + i);
+			assertTrue(json.has("scrapedAt"));
+		}
+	}
+
+	@Test(timeOut = 30_000)
+	public void rotatesOnSizeAndGzipsSegments() throws Exception {
+		try (ArticleSink sink = new ArticleSink(dir, BASE, ROTATE_BYTES, 0, true, 0)) {
+			for (int i = 0; i < 40; i++)
+				sink.append(article(i));
+			assertEquals(sink.linesWritten(), 40L);
+		}
+
+		List<Path> gzipped = segments("\\.gz");
+		assertTrue(gzipped.size() >= 3, "expected several rotated segments, got " + gzipped);
+		assertTrue(segments("").isEmpty(), "rotated segments left uncompressed");
+		assertArticlesInOrder(readAll(gzipped), 40);
+	}
+
+	@Test(timeOut = 30_000)
+	public void keepsRotatedSegmentsPlainWithoutGzip() throws Exception {
+		try (ArticleSink sink = new ArticleSink(dir, BASE, ROTATE_BYTES, 0, false, 0)) {
+			for (int i = 0; i < 40; i++)
+				sink.append(article(i));
+		}
+
+		List<Path> plain = segments("");
+		assertTrue(plain.size() >= 3, "expected several rotated segments, got " + plain);
+		assertTrue(segments("\\.gz").isEmpty());
+		assertArticlesInOrder(readAll(plain), 40);
+	}
+
+	@Test
+	public void ignoresAppendsAfterClose() throws Exception {
+		ArticleSink sink = new ArticleSink(dir, BASE, 0, 0, true, 0);
+		sink.append(article(0));
+		sink.close();
+		sink.append(article(1));
+		sink.close();
+
+		assertArticlesInOrder(readAll(List.of()), 1);
+		assertFalse(Files.exists(dir.resolve(BASE + "-0001.ndjson")));
+	}
+}
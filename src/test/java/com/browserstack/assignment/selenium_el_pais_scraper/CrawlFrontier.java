@@ -0,0 +1,187 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.Gson;
+
+/**
+ * De-duplicating URL frontier for SectionCrawler.
+ *
+ * Listing pages and article pages share one FIFO queue (breadth-first, so the
+ * newest listing pages come first). Every URL is admitted at most once, listing
+ * pages only up to maxDepth and article pages only up to maxArticles. Workers
+ * take() an item and must call done() for it; the crawl is finished when the
+ * queue is empty and no item is in progress.
+ *
+ * The whole state (queue, in-progress items, seen URLs and finished article
+ * results) can be written to a checkpoint file and loaded again to resume a
+ * crawl after a crash. In-progress items are written back to the queue, so
+ * they are redone on resume.
+ */
+public class CrawlFrontier {
+
+	private static final Gson GSON = new Gson();
+
+	/** One unit of crawl work. */
+	public static class Item {
+		public String url;
+		public int depth;
+		/** True for article pages, false for listing pages. */
+		public boolean article;
+
+		public Item(String url, int depth, boolean article) {
+			this.url = url;
+			this.depth = depth;
+			this.article = article;
+		}
+	}
+
+	/** Serialized form of the frontier. */
+	private static class Checkpoint {
+		List<Item> queue = new ArrayList<>();
+		List<String> seen = new ArrayList<>();
+		int admittedArticles;
+		List<HttpArticleFetcher.PageExtract> results = new ArrayList<>();
+	}
+
+	private final int maxDepth;
+	private final int maxArticles;
+
+	// Guarded by 'this'
+	private final Deque<Item> queue = new ArrayDeque<>();
+	private final Map<String, Item> inProgress = new LinkedHashMap<>();
+	private final Set<String> seen = new HashSet<>();
+	private final List<HttpArticleFetcher.PageExtract> results = new ArrayList<>();
+	private int admittedArticles;
+
+	public CrawlFrontier(int maxDepth, int maxArticles) {
+		this.maxDepth = maxDepth;
+		this.maxArticles = maxArticles;
+	}
+
+	/**
+	 * Admit a URL unless it was seen before or a limit is reached.
+	 *
+	 * @return true if it was queued.
+	 */
+	public synchronized boolean offer(String url, int depth, boolean article) {
+		String key = normalize(url);
+		if (key == null || seen.contains(key))
+			return false;
+		if (article ? admittedArticles >= maxArticles : depth > maxDepth)
+			return false;
+		seen.add(key);
+		if (article)
+			admittedArticles++;
+		queue.add(new Item(url, depth, article));
+		notifyAll();
+		return true;
+	}
+
+	/**
+	 * Next item to crawl, waiting up to the timeout while other workers may still
+	 * discover URLs. Returns null on timeout or when the crawl is finished.
+	 */
+	public synchronized Item take(long timeout, TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		while (queue.isEmpty() && !inProgress.isEmpty()) {
+			long left = deadline - System.nanoTime();
+			if (left <= 0)
+				return null;
+			TimeUnit.NANOSECONDS.timedWait(this, left);
+		}
+		Item item = queue.poll();
+		if (item != null)
+			inProgress.put(item.url, item);
+		return item;
+	}
+
+	/** Mark an item finished, recording its article result (may be null). */
+	public synchronized void done(Item item, HttpArticleFetcher.PageExtract result) {
+		inProgress.remove(item.url);
+		if (result != null)
+			results.add(result);
+		notifyAll();
+	}
+
+	/** True when nothing is queued or in progress. */
+	public synchronized boolean isFinished() {
+		return queue.isEmpty() && inProgress.isEmpty();
+	}
+
+	/** True once maxArticles article URLs have been admitted. */
+	public synchronized boolean isArticleLimitReached() {
+		return admittedArticles >= maxArticles;
+	}
+
+	/** Article results collected so far, in completion order. */
+	public synchronized List<HttpArticleFetcher.PageExtract> results() {
+		return new ArrayList<>(results);
+	}
+
+	public synchronized int queuedCount() {
+		return queue.size() + inProgress.size();
+	}
+
+	/** Write the frontier state to 'file' (temp file + atomic rename). */
+	public void checkpoint(Path file) throws Exception {
+		Checkpoint cp = new Checkpoint();
+		synchronized (this) {
+			cp.queue.addAll(inProgress.values());
+			cp.queue.addAll(queue);
+			cp.seen.addAll(seen);
+			cp.admittedArticles = admittedArticles;
+			cp.results.addAll(results);
+		}
+		Path dir = file.toAbsolutePath().getParent();
+		Files.createDirectories(dir);
+		Path tmp = Files.createTempFile(dir, "frontier", ".tmp");
+		try (Writer w = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+			GSON.toJson(cp, w);
+		}
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/** Rebuild a frontier from a checkpoint written by checkpoint(). */
+	public static CrawlFrontier load(Path file, int maxDepth, int maxArticles) throws Exception {
+		Checkpoint cp;
+		try (Reader r = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			cp = GSON.fromJson(r, Checkpoint.class);
+		}
+		CrawlFrontier f = new CrawlFrontier(maxDepth, maxArticles);
+		if (cp != null) {
+			f.queue.addAll(cp.queue);
+			f.seen.addAll(cp.seen);
+			f.admittedArticles = cp.admittedArticles;
+			f.results.addAll(cp.results);
+		}
+		return f;
+	}
+
+	/** De-dup key: the URL without fragment and trailing slash. */
+	static String normalize(String url) {
+		if (url == null || url.isBlank())
+			return null;
+		String u = url.trim();
+		int hash = u.indexOf('#');
+		if (hash >= 0)
+			u = u.substring(0, hash);
+		while (u.endsWith("/") && u.length() > 1 && !u.endsWith("://"))
+			u = u.substring(0, u.length() - 1);
+		return u;
+	}
+}
@@ -1,9 +1,14 @@
 package com.browserstack.assignment.selenium_el_pais_scraper;
 
 import java.io.InputStream;
-import java.net.URL;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -12,12 +17,26 @@ import org.slf4j.LoggerFactory;
  *
  * Usage notes: - The folder path is created if missing. - The file name is
  * sanitized and query parameters removed. - If the file already exists, it is
- * not re-downloaded.
+ * not re-downloaded; concurrent requests for the same file share one download
+ * (SingleFlight). - All downloads share one HttpClient so connections to the
+ * image CDN are kept alive and reused. - For non-blocking downloads use
+ * ImageDownloadService, which goes through the cross-run ImageStore unless
+ * -DimageStore=false.
  */
 public class DownloadUtil {
 
 	private static final Logger logger = LoggerFactory.getLogger(DownloadUtil.class);
 
+	/** Shared client: keeps connections to the image CDN alive between downloads. */
+	static final HttpClient CLIENT = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2)
+			.followRedirects(HttpClient.Redirect.NORMAL).connectTimeout(Duration.ofSeconds(10)).build();
+
+	/** Downloads in flight in this JVM, by target file. */
+	private static final SingleFlight<Path, String> IN_FLIGHT = new SingleFlight<>("imageDownload");
+
+	/** Upper bound for a single image download (headers + body). */
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
 	/**
 	 * Download image from 'url' into 'folderPath' and return the saved path, or
 	 * null on failure.
@@ -34,28 +53,54 @@ public class DownloadUtil {
 			Path folder = Path.of(folderPath);
 			Files.createDirectories(folder);
 
-			// Simplified filename extraction (strip query params)
-			String fileName = url.substring(url.lastIndexOf('/') + 1).split("\\?")[0];
-			fileName = fileName.replaceAll("[^a-zA-Z0-9._-]", "_");
+			Path filePath = folder.resolve(fileNameFor(url)).toAbsolutePath().normalize();
+			return IN_FLIGHT.execute(filePath, () -> download(url, filePath));
 
-			Path filePath = folder.resolve(fileName);
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			logger.warn("[DownloadUtil] Interrupted while downloading image: {}", url);
+			return null;
+		} catch (Exception e) {
+			logger.warn("[DownloadUtil] Failed to download image: {}", e.getMessage());
+			return null;
+		}
+	}
 
-			// Skip download if file already exists
-			if (Files.exists(filePath)) {
-				logger.debug("[DownloadUtil] Image already exists: {}", filePath);
-				return filePath.toString();
-			}
+	// Download 'url' to 'filePath' unless the file already exists
+	private static String download(String url, Path filePath) throws Exception {
+		// Skip download if file already exists
+		if (Files.exists(filePath)) {
+			logger.debug("[DownloadUtil] Image already exists: {}", filePath);
+			return filePath.toString();
+		}
 
-			// Download and save the image
-			try (InputStream in = new URL(url).openStream()) {
-				Files.copy(in, filePath);
+		// Download into a temp file first so a failed transfer never leaves a partial
+		// image behind under the final name
+		HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(REQUEST_TIMEOUT).GET().build();
+		HttpResponse<InputStream> response = CLIENT.send(request, HttpResponse.BodyHandlers.ofInputStream());
+		try (InputStream in = response.body()) {
+			if (response.statusCode() < 200 || response.statusCode() >= 300) {
+				logger.warn("[DownloadUtil] HTTP {} while downloading {}", response.statusCode(), url);
+				return null;
+			}
+			Path tmp = Files.createTempFile(filePath.getParent(), ".download-", ".tmp");
+			try {
+				Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+				Files.move(tmp, filePath, StandardCopyOption.REPLACE_EXISTING);
+			} finally {
+				Files.deleteIfExists(tmp);
 			}
+		}
 
-			return filePath.toString();
+		return filePath.toString();
+	}
 
-		} catch (Exception e) {
-			logger.warn("[DownloadUtil] Failed to download image: {}", e.getMessage());
-			return null;
-		}
+	/**
+	 * Simplified filename extraction: last path segment without query params,
+	 * restricted to [a-zA-Z0-9._-].
+	 */
+	public static String fileNameFor(String url) {
+		String fileName = url.substring(url.lastIndexOf('/') + 1).split("\\?")[0];
+		return fileName.replaceAll("[^a-zA-Z0-9._-]", "_");
 	}
 }
@@ -1,8 +1,12 @@
 package com.browserstack.assignment.selenium_el_pais_scraper;
 
+import org.testng.ITestResult;
+import org.testng.Reporter;
 import org.testng.SkipException;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.Optional;
 import org.testng.annotations.Parameters;
 
@@ -11,11 +15,14 @@ import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.MutableCapabilities;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.remote.SessionId;
 import org.openqa.selenium.WebDriverException;
@@ -23,20 +30,25 @@ import org.openqa.selenium.WebDriverException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+
 import java.net.URL;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.Callable;
 
 /**
  * DriverFactory - provides WebDriver instances for tests.
  *
  * Key responsibilities: - Decide whether to run locally or on BrowserStack
- * (executionEnv param / system property). - For local runs: create a single
- * local browser (first test thread); skip other parallel threads. - For
+ * (executionEnv param / system property). - For local runs: create headless
+ * local browsers, at most -DlocalSessions at once (LocalBrowserSlots); other
+ * parallel threads wait for a free slot. - For
  * BrowserStack: create RemoteWebDriver with appropriate bstack:options. - Keep
  * WebDriver instance per-thread in ThreadLocal. - Expose getDriver() so
  * tests/listeners can access the driver. - Track whether BrowserStack session
@@ -49,15 +61,54 @@ public class DriverFactory {
 
 	private static final Logger logger = LoggerFactory.getLogger(DriverFactory.class);
 
+	// Writes the setSessionStatus payload (no HTML escaping: reasons stay readable in the dashboard)
+	private static final Gson STATUS_GSON = new GsonBuilder().disableHtmlEscaping().create();
+
 	// ThreadLocal to store driver per test thread
 	private static final ThreadLocal<WebDriver> TL_DRIVER = new ThreadLocal<>();
 
+	// ThreadLocal factory able to open further sessions with the same capabilities
+	// as the current thread's driver (used by the parallel article visitor)
+	private static final ThreadLocal<Callable<WebDriver>> TL_SESSION_FACTORY = new ThreadLocal<>();
+
 	// ThreadLocal flag indicating whether status was already set for this session
 	private static final ThreadLocal<Boolean> TL_STATUS_SET = ThreadLocal.withInitial(() -> Boolean.FALSE);
 
-	// When running locally, only allow one thread to start the browser (prevent
-	// redundant local browsers)
-	private static final AtomicBoolean LOCAL_RUN_STARTED = new AtomicBoolean(false);
+	// Local slot (see LocalBrowserSlots) held by the current <test> thread
+	private static final ThreadLocal<Integer> TL_LOCAL_SLOT = new ThreadLocal<>();
+
+	// Created on first local use so BrowserStack runs do not size local slots
+	private static LocalBrowserSlots localSlots;
+
+	/**
+	 * Reuse sessions across test methods (-DsessionPool=true). Sessions are
+	 * leased from SESSION_POOL, keyed by capability set, and returned on teardown
+	 * instead of being quit. BrowserStack only: an idle local browser would run
+	 * outside the LocalBrowserSlots limit.
+	 */
+	private static final boolean SESSION_POOL_ENABLED = Boolean.getBoolean("sessionPool");
+
+	/**
+	 * Sessions to keep warm per capability set (-DsessionPoolPrewarm=N). Defaults
+	 * to visitPoolSize - 1 so the parallel article visitor finds its extra
+	 * sessions ready.
+	 */
+	private static final int SESSION_POOL_PREWARM = Math.max(0,
+			Integer.getInteger("sessionPoolPrewarm", Integer.getInteger("visitPoolSize", 1) - 1));
+
+	// Default BrowserStack build name, fixed per run so that all sessions share one
+	// build and pooled sessions keep matching capabilities
+	private static final String DEFAULT_BUILD_NAME = "ElPaisScraper - "
+			+ LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+
+	/**
+	 * Run local browsers without a window (-Dheadless, default true so that
+	 * several local sessions can share a machine; -Dheadless=false to watch).
+	 */
+	private static final boolean HEADLESS = Boolean.parseBoolean(System.getProperty("headless", "true"));
+
+	private static final SessionPool SESSION_POOL = new SessionPool(
+			Integer.getInteger("sessionPoolMaxIdle", Math.max(2, SESSION_POOL_PREWARM + 1)));
 
 	// ---------- HARD-CODED BrowserStack credentials (replace outside source
 	// control in real projects) ----------
@@ -71,6 +122,14 @@ public class DriverFactory {
 	private final ChromeOptions chromeOptions = new ChromeOptions();
 	private final EdgeOptions edgeOptions = new EdgeOptions();
 
+	{
+		if (HEADLESS) {
+			chromeOptions.addArguments("--headless=new", "--window-size=1366,900");
+			edgeOptions.addArguments("--headless=new", "--window-size=1366,900");
+			firefoxOptions.addArguments("-headless");
+		}
+	}
+
 	// ----------------- Accessors for listener/other classes -----------------
 	public static WebDriver getDriver() {
 		return TL_DRIVER.get();
@@ -82,6 +141,112 @@ public class DriverFactory {
 
 	private static void removeDriver() {
 		TL_DRIVER.remove();
+		TL_SESSION_FACTORY.remove();
+	}
+
+	/**
+	 * Factory that opens a new session with the same capabilities as the current
+	 * thread's driver, or null if no driver was initialized on this thread. The
+	 * returned factory may be called from any thread; callers own (and must quit)
+	 * the sessions it creates, via releaseSession().
+	 */
+	public static Callable<WebDriver> getSessionFactory() {
+		return TL_SESSION_FACTORY.get();
+	}
+
+	/**
+	 * Quit an additional session created through getSessionFactory(). On
+	 * BrowserStack the session is marked with the given status first so it does
+	 * not show up as unmarked on the dashboard; a local session gives back its
+	 * slot.
+	 */
+	public static void quitSession(WebDriver d, String status, String reason) {
+		if (d == null)
+			return;
+		markAdditionalSession(d, status, reason);
+		PageReadiness.detach(d);
+		try {
+			d.quit();
+		} catch (Exception ex) {
+			logger.warn("Exception while quitting additional session: {}", ex.getMessage());
+		} finally {
+			LocalBrowserSlots slots = localSlotsIfUsed();
+			if (slots != null)
+				slots.releaseSession(d);
+		}
+	}
+
+	/**
+	 * Give back an additional session created through getSessionFactory(): it is
+	 * returned to the session pool when pooling is enabled and quit otherwise (see
+	 * quitSession). Local sessions are never pooled.
+	 */
+	public static void releaseSession(WebDriver d, String status, String reason) {
+		if (d == null)
+			return;
+		LocalBrowserSlots slots = localSlotsIfUsed();
+		if (!SESSION_POOL_ENABLED || (slots != null && slots.holdsSlot(d))) {
+			quitSession(d, status, reason);
+			return;
+		}
+		markAdditionalSession(d, status, reason);
+		SESSION_POOL.release(d);
+	}
+
+	private static void markAdditionalSession(WebDriver d, String status, String reason) {
+		try {
+			// Only plain RemoteWebDriver instances are BrowserStack sessions
+			if (d.getClass() == RemoteWebDriver.class) {
+				((JavascriptExecutor) d).executeScript(sessionStatusScript(status, reason));
+			}
+		} catch (Exception ex) {
+			logger.debug("Could not set status on additional session: {}", ex.getMessage());
+		}
+	}
+
+	/**
+	 * The BrowserStack setSessionStatus command. The JSON payload is written by
+	 * Gson, so quotes, backslashes and line breaks in 'status' or 'reason' (e.g.
+	 * an exception message) stay inside their strings.
+	 */
+	static String sessionStatusScript(String status, String reason) {
+		JsonObject arguments = new JsonObject();
+		arguments.addProperty("status", status);
+		arguments.addProperty("reason", reason == null ? "" : reason);
+		JsonObject command = new JsonObject();
+		command.addProperty("action", "setSessionStatus");
+		command.add("arguments", arguments);
+		return "browserstack_executor: " + STATUS_GSON.toJson(command);
+	}
+
+	/**
+	 * Open a session for the given capability key: leased from the pool when
+	 * 'pooled' (topping up pre-warmed sessions), created directly otherwise.
+	 * Further sessions for this thread (getSessionFactory) are opened the same
+	 * way with 'newAdditionalSession'.
+	 */
+	private static WebDriver openSession(Object key, Callable<WebDriver> newSession,
+			Callable<WebDriver> newAdditionalSession, boolean pooled) throws Exception {
+		// Every new session gets the resource blocking profile (Chromium only)
+		Callable<WebDriver> create = () -> ResourceBlocker.install(newSession.call());
+		Callable<WebDriver> createAdditional = () -> ResourceBlocker.install(newAdditionalSession.call());
+		Callable<WebDriver> lease = pooled ? () -> SESSION_POOL.lease(key, create) : create;
+		Callable<WebDriver> leaseAdditional = pooled ? () -> SESSION_POOL.lease(key, createAdditional)
+				: createAdditional;
+		TL_SESSION_FACTORY.set(timed(leaseAdditional));
+		WebDriver d = timed(lease).call();
+		if (pooled && SESSION_POOL_PREWARM > 0)
+			SESSION_POOL.prewarm(key, create, SESSION_POOL_PREWARM);
+		return d;
+	}
+
+	/** Time each session opened by 'factory' as "session.create". */
+	private static Callable<WebDriver> timed(Callable<WebDriver> factory) {
+		return () -> {
+			try (Metrics.Span s = Metrics.time("session.create")) {
+				return factory.call();
+			}
+		};
 	}
 
 	/** Mark that the listener set the BrowserStack session status. */
@@ -97,6 +262,30 @@ public class DriverFactory {
 	private static void clearStatusFlag() {
 		TL_STATUS_SET.remove();
 	}
+
+	private static synchronized LocalBrowserSlots localSlots() {
+		if (localSlots == null)
+			localSlots = LocalBrowserSlots.fromProperties();
+		return localSlots;
+	}
+
+	private static synchronized LocalBrowserSlots localSlotsIfUsed() {
+		return localSlots;
+	}
+
+	private static void releaseLocalSlot() {
+		Integer slot = TL_LOCAL_SLOT.get();
+		if (slot != null) {
+			TL_LOCAL_SLOT.remove();
+			localSlots().release(slot);
+		}
+	}
+
+	/** Capability tag for Metrics: the TestNG &lt;test&gt; name, e.g. "Windows10-Chrome-141". */
+	private static String currentTestName() {
+		ITestResult r = Reporter.getCurrentTestResult();
+		return r != null && r.getTestContext() != null ? r.getTestContext().getName() : null;
+	}
 	// -----------------------------------------------------------------------
 
 	/**
@@ -133,47 +322,32 @@ public class DriverFactory {
 		exec = exec.toLowerCase();
 
 		logger.info("Effective executionEnv = {}", exec);
+		Metrics.setCapability(currentTestName());
 
-		// ---------- LOCAL behavior: only allow a single thread to create a local
-		// browser ----------
+		// ---------- LOCAL behavior: up to N browsers at once (LocalBrowserSlots);
+		// further <test> threads wait for a free slot ----------
 		if (!"browserstack".equals(exec)) {
-			// Use atomic flag so only the first thread creates a local browser; others are
-			// skipped.
-			boolean isFirstLocal = LOCAL_RUN_STARTED.compareAndSet(false, true);
-			if (!isFirstLocal) {
-				// Skip this test/thread to avoid redundant local browsers.
-				logger.info(
-						"Local execution detected and another local session already started. Skipping this test thread to avoid redundant local sessions.");
-				throw new SkipException(
-						"Local run: only one session allowed. This test was skipped to avoid redundant local sessions.");
-			}
-
-			// The first local thread will create a local browser instance.
 			String browser = (localBrowserParam == null || localBrowserParam.isBlank())
 					? System.getProperty("browser", "chrome")
 					: localBrowserParam;
-			WebDriver localDriver;
-			switch (browser.toLowerCase()) {
-			case "firefox":
-				WebDriverManager.firefoxdriver().setup();
-				localDriver = new FirefoxDriver(firefoxOptions);
-				break;
-			case "edge":
-				WebDriverManager.edgedriver().setup();
-				localDriver = new EdgeDriver(edgeOptions);
-				break;
-			case "chrome":
-			default:
-				WebDriverManager.chromedriver().setup();
-				localDriver = new ChromeDriver(chromeOptions);
-				break;
+			int slot;
+			try {
+				slot = localSlots().acquire();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new SkipException("Interrupted while waiting for a local browser slot.");
 			}
-
-			// Configure sensible timeouts for local runs
-			localDriver.manage().timeouts().implicitlyWait(Duration.ofSeconds(5));
-			localDriver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(60));
-			setDriverInstance(localDriver);
-			logger.info("Launched SINGLE LOCAL browser: {}", browser);
+			TL_LOCAL_SLOT.set(slot);
+			try {
+				WebDriver localDriver = openSession("local:" + browser.toLowerCase(),
+						() -> createLocalDriver(browser, slot), () -> createAdditionalLocalDriver(browser), false);
+				setDriverInstance(localDriver);
+			} catch (Exception e) {
+				releaseLocalSlot();
+				throw e;
+			}
+			logger.info("Launched local {} browser in slot {}/{} (headless={})", browser, slot, localSlots().size(),
+					HEADLESS);
 			return;
 		}
 
@@ -203,7 +377,7 @@ public class DriverFactory {
 		String projectName = (projectNameParam == null || projectNameParam.isBlank()) ? "ElPaisScraper"
 				: projectNameParam;
 		String buildName = (buildNameParam == null || buildNameParam.isBlank())
-				? ("ElPaisScraper - " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")))
+				? DEFAULT_BUILD_NAME
 				: buildNameParam;
 
 		bstackOptions.put("projectName", projectName);
@@ -248,9 +422,8 @@ public class DriverFactory {
 
 		try {
 			// Create RemoteWebDriver; BrowserStack will allocate the required environment
-			WebDriver remoteDriver = new RemoteWebDriver(new URL(BS_HUB), caps);
-			remoteDriver.manage().timeouts().implicitlyWait(Duration.ofSeconds(5));
-			remoteDriver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(120));
+			WebDriver remoteDriver = openSession(new HashMap<>(caps.asMap()), () -> createRemoteDriver(caps),
+					() -> createRemoteDriver(caps), SESSION_POOL_ENABLED);
 			setDriverInstance(remoteDriver);
 
 			// Log the session id so you can quickly open Automate dashboard entry
@@ -276,10 +449,66 @@ public class DriverFactory {
 		}
 	}
 
+	/** Create a local browser of the given type for a slot (own profile folder, driver on a free port). */
+	private WebDriver createLocalDriver(String browser, int slot) throws Exception {
+		// Own profile folder per browser; driver services on free ports
+		String profile = localSlots().newProfileDir(slot).toString();
+		WebDriver localDriver;
+		switch (browser.toLowerCase()) {
+		case "firefox":
+			WebDriverManager.firefoxdriver().setup();
+			FirefoxOptions ff = firefoxOptions.merge(new MutableCapabilities());
+			ff.addArguments("-profile", profile);
+			localDriver = new FirefoxDriver(new GeckoDriverService.Builder().usingAnyFreePort().build(), ff);
+			break;
+		case "edge":
+			WebDriverManager.edgedriver().setup();
+			EdgeOptions edge = edgeOptions.merge(new MutableCapabilities());
+			edge.addArguments("--user-data-dir=" + profile);
+			localDriver = new EdgeDriver(new EdgeDriverService.Builder().usingAnyFreePort().build(), edge);
+			break;
+		case "chrome":
+		default:
+			WebDriverManager.chromedriver().setup();
+			ChromeOptions chrome = chromeOptions.merge(new MutableCapabilities());
+			chrome.addArguments("--user-data-dir=" + profile);
+			localDriver = new ChromeDriver(new ChromeDriverService.Builder().usingAnyFreePort().build(), chrome);
+			break;
+		}
+
+		// Configure sensible timeouts for local runs. No implicit wait: PageReadiness
+		// waits explicitly, and an implicit wait would delay every missing element.
+		localDriver.manage().timeouts().implicitlyWait(Duration.ZERO);
+		localDriver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(60));
+		return localDriver;
+	}
+
+	/**
+	 * Create an additional local browser for the parallel article visitor, in a
+	 * slot of its own. Does not wait for a slot: a visitor waiting for slots held
+	 * by other &lt;test&gt; threads could wait forever, so when none is free this
+	 * fails and the visitor carries on with the sessions it has.
+	 */
+	private WebDriver createAdditionalLocalDriver(String browser) throws Exception {
+		return localSlots().openAdditional(slot -> {
+			WebDriver d = createLocalDriver(browser, slot);
+			logger.info("Launched additional local {} browser in slot {}/{}", browser, slot, localSlots().size());
+			return d;
+		});
+	}
+
+	/** Create a BrowserStack session for the given capabilities. */
+	private static WebDriver createRemoteDriver(MutableCapabilities caps) throws Exception {
+		WebDriver remoteDriver = new RemoteWebDriver(new URL(BS_HUB), caps);
+		remoteDriver.manage().timeouts().implicitlyWait(Duration.ZERO);
+		remoteDriver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(120));
+		return remoteDriver;
+	}
+
 	/**
 	 * Teardown called after each test method. - If the listener didn't set
-	 * BrowserStack status, attempt a fallback setSessionStatus call. - Quit and
-	 * cleanup the WebDriver and ThreadLocal flags.
+	 * BrowserStack status, attempt a fallback setSessionStatus call. - Quit (or
+	 * return to the session pool) and cleanup the WebDriver and ThreadLocal flags.
 	 */
 	@AfterMethod(alwaysRun = true)
 	public void tearDown() {
@@ -289,9 +518,8 @@ public class DriverFactory {
 				// If listener did not set status, attempt fallback (set skipped by default)
 				if (!isStatusSet()) {
 					try {
-						String reason = "Auto-mark by teardown (listener did not set status)";
-						String script = "browserstack_executor: {\"action\": \"setSessionStatus\", \"arguments\": {\"status\":\"skipped\", \"reason\": \""
-								+ reason.replace("\"", "\\\"") + "\"}}";
+						String script = sessionStatusScript("skipped",
+								"Auto-mark by teardown (listener did not set status)");
 						if (d instanceof JavascriptExecutor) {
 							((JavascriptExecutor) d).executeScript(script);
 							logger.info("Teardown auto-set BrowserStack status: skipped");
@@ -307,17 +535,65 @@ public class DriverFactory {
 			} catch (Exception ex) {
 				logger.warn("Unexpected error during teardown status check: {}", ex.getMessage());
 			} finally {
-				try {
-					d.quit();
-					logger.info("Driver quit successfully.");
+				try (Metrics.Span s = Metrics.time("session.close")) {
+					if (SESSION_POOL_ENABLED && TL_LOCAL_SLOT.get() == null) {
+						SESSION_POOL.release(d);
+						logger.info("Driver returned to session pool.");
+					} else {
+						PageReadiness.detach(d);
+						d.quit();
+						logger.info("Driver quit successfully.");
+					}
 				} catch (Exception ignored) {
 					logger.warn("Exception while quitting driver: {}", ignored.getMessage());
 				}
 				removeDriver();
 				clearStatusFlag();
+				Metrics.setCapability(null);
 			}
 		} else {
 			logger.debug("Teardown: no WebDriver found for this thread.");
 		}
+		releaseLocalSlot();
+	}
+
+	/**
+	 * Start the record/replay FixtureServer when -Dfixtures=record|replay is set,
+	 * before any test reads the site or Translate URLs.
+	 */
+	@BeforeSuite(alwaysRun = true)
+	public void startFixtureServer() throws Exception {
+		FixtureServer.startShared();
+	}
+
+	/** Stop the FixtureServer (a recording is saved here). */
+	@AfterSuite(alwaysRun = true)
+	public void stopFixtureServer() {
+		FixtureServer.stopShared();
+	}
+
+	/**
+	 * Quit the sessions still parked in the pool once the suite is done. TestNG
+	 * may call this once per test class; shutdown is idempotent.
+	 */
+	@AfterSuite(alwaysRun = true)
+	public void shutdownSessionPool() {
+		if (SESSION_POOL_ENABLED)
+			SESSION_POOL.shutdown();
+		String blocking = ResourceBlocker.summary();
+		if (blocking != null)
+			logger.info("[Blocking] Run totals: {}", blocking);
+	}
+
+	/** Log the selector chain order and persist hit-rate / latency stats. */
+	@AfterSuite(alwaysRun = true)
+	public void saveSelectorStats() {
+		SelectorChain.saveAll();
+	}
+
+	/** Flush, fsync and close the shared NDJSON result sink. */
+	@AfterSuite(alwaysRun = true)
+	public void closeResultSink() {
+		ArticleSink.closeShared();
 	}
 }
@@ -6,6 +6,11 @@ import org.openqa.selenium.By;
  * Centralized repository of XPath/CSS selectors used across the scraper.
  * Keeping them here improves maintainability and readability of the scraping
  * logic.
+ *
+ * The *_CHAIN constants are what the scraper looks elements up with: ordered
+ * CSS/XPath alternatives per field, reordered at runtime by measured hit rate
+ * and evaluation time (see SelectorChain). The original XPath is always the
+ * last declared alternative, so a chain never matches less than it did.
  */
 public class ElPaisElements {
 
@@ -13,37 +18,100 @@ public class ElPaisElements {
 	 * Selector for verifying that the UI language is set to Spanish. Looks for:
 	 * "Seleccione:" → following sibling div → span with text "España".
 	 */
-	public static final By LANGUAGE_SPAN = By
-			.xpath("//*[text()=\"Seleccione:\"]/following-sibling::div//span[text()=\"España\"]");
+	public static final String LANGUAGE_SPAN_XPATH = "//*[text()=\"Seleccione:\"]/following-sibling::div//span[text()=\"España\"]";
+
+	public static final By LANGUAGE_SPAN = By.xpath(LANGUAGE_SPAN_XPATH);
+
+	/** Text-based match only; CSS cannot select by text. */
+	public static final SelectorChain LANGUAGE_SPAN_CHAIN = SelectorChain.of("home.language",
+			SelectorChain.xpath(LANGUAGE_SPAN_XPATH));
+
+	/** XPath of the "Opinión" navigation link in the top nav bar. */
+	public static final String OPINION_NAV_XPATH = "//nav[@class=\"cs_m\"]//a[text()=\"Opinión\"]";
 
 	/** Selector for the "Opinión" navigation link in the top nav bar. */
-	public static final By OPINION_NAV = By.xpath("//nav[@class=\"cs_m\"]//a[text()=\"Opinión\"]");
+	public static final By OPINION_NAV = By.xpath(OPINION_NAV_XPATH);
+
+	public static final SelectorChain OPINION_NAV_CHAIN = SelectorChain.of("home.opinionNav",
+			SelectorChain.css("nav.cs_m a[href$=\"/opinion/\"]"), SelectorChain.xpath(OPINION_NAV_XPATH));
+
+	/** XPath validating that the Opinion page loaded correctly (header text). */
+	public static final String OPINION_HEADER_XPATH = "//h1/a[text()=\"Opinión\"]";
 
 	/** Selector validating that the Opinion page loaded correctly (header text). */
-	public static final By OPINION_HEADER = By.xpath("//h1/a[text()=\"Opinión\"]");
+	public static final By OPINION_HEADER = By.xpath(OPINION_HEADER_XPATH);
+
+	public static final SelectorChain OPINION_HEADER_CHAIN = SelectorChain.of("opinion.header",
+			SelectorChain.css("h1 > a[href$=\"/opinion/\"]"), SelectorChain.xpath(OPINION_HEADER_XPATH));
+
+	/** XPath of all article elements in the listing page. */
+	public static final String ALL_ARTICLES_XPATH = "//article";
 
 	/** Selector for all article elements in the listing page. */
-	public static final By ALL_ARTICLES = By.xpath("//article");
+	public static final By ALL_ARTICLES = By.xpath(ALL_ARTICLES_XPATH);
+
+	public static final SelectorChain ALL_ARTICLES_CHAIN = SelectorChain.of("opinion.articles",
+			SelectorChain.css("article"), SelectorChain.xpath(ALL_ARTICLES_XPATH));
+
+	/** XPath of article links inside the article listing (see LinkHarvester). */
+	public static final String ARTICLE_LINKS_XPATH = "//article//h2/a";
 
 	/** Selector for article links inside the article listing. */
-	public static final By ARTICLE_LINKS = By.xpath("//article//h2/a");
+	public static final By ARTICLE_LINKS = By.xpath(ARTICLE_LINKS_XPATH);
+
+	public static final SelectorChain ARTICLE_LINKS_CHAIN = SelectorChain.of("opinion.articleLinks",
+			SelectorChain.css("article h2 > a"), SelectorChain.xpath(ARTICLE_LINKS_XPATH));
+
+	/** XPath of the article title (also evaluated in-browser, see ArticleScriptExtractor). */
+	public static final String ARTICLE_TITLE_XPATH = "//h1";
 
 	/** Selector for the article title displayed on the article page. */
-	public static final By ARTICLE_TITLE = By.xpath("//h1");
+	public static final By ARTICLE_TITLE = By.xpath(ARTICLE_TITLE_XPATH);
+
+	public static final SelectorChain ARTICLE_TITLE_CHAIN = SelectorChain.of("article.title",
+			SelectorChain.css("article header h1"), SelectorChain.css("h1"), SelectorChain.xpath(ARTICLE_TITLE_XPATH));
+
+	/** XPath of the article header image. */
+	public static final String ARTICLE_IMAGE_XPATH = "//article/header//img";
 
 	/** Selector for the header image inside an article, if present. */
-	public static final By ARTICLE_IMAGE = By.xpath("//article/header//img");
+	public static final By ARTICLE_IMAGE = By.xpath(ARTICLE_IMAGE_XPATH);
+
+	public static final SelectorChain ARTICLE_IMAGE_CHAIN = SelectorChain.of("article.image",
+			SelectorChain.css("article > header img"), SelectorChain.xpath(ARTICLE_IMAGE_XPATH));
+
+	/** XPath of the first paragraph of the article body. */
+	public static final String FIRST_PARAGRAPH_XPATH = "(//header/following-sibling::div/p)[1]";
 
 	/**
 	 * Selector for the first paragraph of the article body. Used for translation or
 	 * summarization.
 	 */
-	public static final By FIRST_PARAGRAPH = By.xpath("(//header/following-sibling::div/p)[1]");
+	public static final By FIRST_PARAGRAPH = By.xpath(FIRST_PARAGRAPH_XPATH);
+
+	/** Article body container (div.a_c) first, then the positional fallbacks. */
+	public static final SelectorChain FIRST_PARAGRAPH_CHAIN = SelectorChain.of("article.firstParagraph",
+			SelectorChain.css("article .a_c > p"), SelectorChain.css("header ~ div > p"),
+			SelectorChain.xpath(FIRST_PARAGRAPH_XPATH));
+
+	/** XPath of every paragraph of the article body, in document order. */
+	public static final String BODY_PARAGRAPHS_XPATH = "//header/following-sibling::div/p";
+
+	/** Selector for every paragraph of the article body (Article.content). */
+	public static final By BODY_PARAGRAPHS = By.xpath(BODY_PARAGRAPHS_XPATH);
+
+	public static final SelectorChain BODY_PARAGRAPHS_CHAIN = SelectorChain.of("article.bodyParagraphs",
+			SelectorChain.css("article .a_c > p"), SelectorChain.css("header ~ div > p"),
+			SelectorChain.xpath(BODY_PARAGRAPHS_XPATH));
 
 	/**
 	 * Generic cookie-accept button selector. Matches Didomi popup or other "Accept"
 	 * / "Aceptar" variations.
 	 */
-	public static final By COOKIE_POPUP_BTN = By
-			.xpath("//button[@id='didomi-notice-agree-button' or contains(., 'Aceptar') or contains(., 'Accept')]");
+	public static final String COOKIE_POPUP_BTN_XPATH = "//button[@id='didomi-notice-agree-button' or contains(., 'Aceptar') or contains(., 'Accept')]";
+
+	public static final By COOKIE_POPUP_BTN = By.xpath(COOKIE_POPUP_BTN_XPATH);
+
+	public static final SelectorChain COOKIE_POPUP_BTN_CHAIN = SelectorChain.of("home.cookieButton",
+			SelectorChain.css("#didomi-notice-agree-button"), SelectorChain.xpath(COOKIE_POPUP_BTN_XPATH));
 }
@@ -10,6 +10,13 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,10 +27,14 @@ import org.slf4j.LoggerFactory;
  * the current thread. - Navigate to elpais.com, accept cookie banner if
  * present. - Navigate to "Opinión" section (click nav or fallback to direct
  * URL). - Collect the first N opinion article links and visit them, saving
- * title, first paragraph, image. - Bulk-translate titles using TranslatorV2
- * (minimize API calls). - Analyze English titles for repeated words using
+ * title, first paragraph, full body, image. - Bulk-translate titles and bodies
+ * using TranslatorV2 (minimize API calls). - Analyze English titles for repeated words using
  * TextAnalyzer.
  *
+ * Articles flow through a ScrapePipeline (fetch, images, translation, output)
+ * with bounded queues, so translation and image downloads of the first
+ * articles overlap with loading the later ones.
+ *
  * The class extends DriverFactory so that DriverFactory's @BeforeMethod
  * and @AfterMethod lifecycle methods are executed for this test class, ensuring
  * drivers are created.
@@ -33,11 +44,77 @@ public class ElPaisScraper extends DriverFactory {
 
 	private static final Logger logger = LoggerFactory.getLogger(ElPaisScraper.class);
 
-	/** How many articles to fetch (first N opinion articles). */
-	private static final int MAX_ARTICLES = 5;
+	/** How many articles to fetch (first N opinion articles, -DmaxArticles=N). */
+	private static final int MAX_ARTICLES = Math.max(1, Integer.getInteger("maxArticles", 5));
+
+	/**
+	 * Site to scrape (-DelpaisBaseUrl, no trailing slash). Read per run rather
+	 * than at class load so a FixtureServer started before the suite can
+	 * redirect it.
+	 */
+	private static String baseUrl() {
+		String base = System.getProperty("elpaisBaseUrl", "https://elpais.com").trim();
+		return base.endsWith("/") ? base.substring(0, base.length() - 1) : base;
+	}
+
+	/**
+	 * Number of sessions visiting article pages concurrently (-DvisitPoolSize=N).
+	 * 1 keeps the original single-driver behavior; larger values open N - 1
+	 * additional sessions with the same capabilities for the duration of step 7.
+	 */
+	private static final int VISIT_POOL_SIZE = Math.max(1, Integer.getInteger("visitPoolSize", 1));
 
-	/** Fallback URL to the Opinión section when nav link is not found. */
-	private static final String OPINION_URL = "https://elpais.com/opinion/";
+	/**
+	 * Engine used to read article pages (-DfetchEngine=webdriver|http). "http"
+	 * reads server-rendered HTML with HttpArticleFetcher and only falls back to
+	 * WebDriver for pages where a required field is missing.
+	 */
+	private static final String FETCH_ENGINE = System.getProperty("fetchEngine", "webdriver").trim().toLowerCase();
+
+	/**
+	 * How WebDriver reads article fields (-DextractionMode=script|elements).
+	 * "script" evaluates all selectors in one executeScript call per page;
+	 * "elements" uses one findElement/getText/getAttribute call per field.
+	 */
+	private static final String EXTRACTION_MODE = System.getProperty("extractionMode", "script").trim()
+			.toLowerCase();
+
+	/** Stateless single-call extractor shared by all sessions. */
+	private static final ArticleScriptExtractor SCRIPT_EXTRACTOR = new ArticleScriptExtractor();
+
+	/** Stateless single-call link harvester for the listing page. */
+	private static final LinkHarvester LINK_HARVESTER = new LinkHarvester();
+
+	/**
+	 * Deep crawl mode (-DcrawlMode=true): instead of the first MAX_ARTICLES links
+	 * of the listing page, the whole Opinión section is crawled over HTTP with
+	 * SectionCrawler (see its crawl* properties). Parallel sessions share one
+	 * crawl.
+	 */
+	private static final boolean CRAWL_MODE = Boolean.getBoolean("crawlMode");
+
+	/**
+	 * Translate full article bodies as well as titles (-DtranslateBodies,
+	 * default true). Bodies are planned into sentence-aligned segments and
+	 * batched across articles by TranslatorV2.translateDocuments().
+	 */
+	private static final boolean TRANSLATE_BODIES = Boolean
+			.parseBoolean(System.getProperty("translateBodies", "true"));
+
+	/** Queue capacity of every pipeline stage (-DpipelineQueueCapacity). */
+	private static final int PIPELINE_QUEUE = Math.max(1, Integer.getInteger("pipelineQueueCapacity", 16));
+
+	/**
+	 * Articles per translation request of the pipeline (-DpipelineTranslateBatch)
+	 * and how long the "translate" stage waits for a batch to fill
+	 * (-DpipelineTranslateLingerMillis).
+	 */
+	private static final int TRANSLATE_BATCH = Math.max(1, Integer.getInteger("pipelineTranslateBatch", 8));
+	private static final int TRANSLATE_LINGER_MILLIS = Math.max(0,
+			Integer.getInteger("pipelineTranslateLingerMillis", 500));
+
+	/** Concurrent translation requests of the pipeline (-DpipelineTranslateWorkers). */
+	private static final int TRANSLATE_WORKERS = Math.max(1, Integer.getInteger("pipelineTranslateWorkers", 2));
 
 	/**
 	 * Main test method executed by TestNG. It performs the entire scraping workflow
@@ -51,19 +128,25 @@ public class ElPaisScraper extends DriverFactory {
 			return;
 		}
 
-		// Set a short implicit wait for convenience; explicit waits are used for
-		// specific elements.
-		driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(3));
+		// No implicit wait: PageReadiness returns as soon as an element appears or the
+		// page settles, and an implicit wait would add its timeout to every miss.
+		driver.manage().timeouts().implicitlyWait(Duration.ZERO);
 
 		// 2) Navigate to homepage and wait for full load
-		driver.get("https://elpais.com/");
-		waitForPageLoad(driver);
+		try (Metrics.Span s = Metrics.time("navigation.home")) {
+			PageReadiness.of(driver).navigate(baseUrl() + "/");
+		}
 
 		// Accept cookie popup if present (robust but non-fatal)
-		acceptCookies(driver);
+		try (Metrics.Span s = Metrics.time("cookies")) {
+			acceptCookies(driver);
+		}
 
 		// 3) Check language is Spanish (optional info)
-		WebElement spainEl = waitForElement(driver, ElPaisElements.LANGUAGE_SPAN, 5);
+		WebElement spainEl;
+		try (Metrics.Span s = Metrics.time("language.check")) {
+			spainEl = waitForElement(driver, ElPaisElements.LANGUAGE_SPAN_CHAIN, 5);
+		}
 		if (spainEl != null) {
 			logger.info("[Language] 'España' found — page likely Spanish.");
 		} else {
@@ -71,55 +154,62 @@ public class ElPaisScraper extends DriverFactory {
 		}
 
 		// 4) Navigate to Opinión (click link if present; otherwise navigate directly)
-		WebElement opinionNav = waitForElement(driver, ElPaisElements.OPINION_NAV, 6);
-		if (opinionNav != null) {
-			logger.info("[Nav] Clicking 'Opinión' link...");
-			try {
-				opinionNav.click();
-				waitForPageLoad(driver);
-			} catch (Exception e) {
-				// If click fails for any reason, fallback to direct URL to continue scraping
-				logger.warn("[Nav] Failed to click opinion link: {}. Falling back to direct URL.", e.getMessage());
-				driver.get(OPINION_URL);
-				waitForPageLoad(driver);
+		// Fallback URL to the Opinión section when nav link is not found
+		String opinionUrl = baseUrl() + "/opinion/";
+		boolean onOpinion;
+		try (Metrics.Span s = Metrics.time("navigation.opinion")) {
+			WebElement opinionNav = waitForElement(driver, ElPaisElements.OPINION_NAV_CHAIN, 6);
+			if (opinionNav != null) {
+				logger.info("[Nav] Clicking 'Opinión' link...");
+				try {
+					PageReadiness.of(driver).expectNavigation();
+					opinionNav.click();
+					waitForPageLoad(driver);
+				} catch (Exception e) {
+					// If click fails for any reason, fallback to direct URL to continue scraping
+					logger.warn("[Nav] Failed to click opinion link: {}. Falling back to direct URL.", e.getMessage());
+					PageReadiness.of(driver).navigate(opinionUrl);
+				}
+			} else {
+				logger.info("[Nav] 'Opinión' link not found — navigating directly to {}", opinionUrl);
+				PageReadiness.of(driver).navigate(opinionUrl);
 			}
-		} else {
-			logger.info("[Nav] 'Opinión' link not found — navigating directly to {}", OPINION_URL);
-			driver.get(OPINION_URL);
-			waitForPageLoad(driver);
-		}
 
-		// Determine we are on the opinion page (either header found or URL path check)
-		boolean onOpinion = false;
-		WebElement opinionHeader = waitForElement(driver, ElPaisElements.OPINION_HEADER, 5);
-		if (opinionHeader != null)
-			onOpinion = true;
-		else if (driver.getCurrentUrl() != null && driver.getCurrentUrl().startsWith(OPINION_URL))
-			onOpinion = true;
+			// Determine we are on the opinion page (either header found or URL path check)
+			onOpinion = false;
+			WebElement opinionHeader = waitForElement(driver, ElPaisElements.OPINION_HEADER_CHAIN, 5);
+			if (opinionHeader != null)
+				onOpinion = true;
+			else if (driver.getCurrentUrl() != null && driver.getCurrentUrl().startsWith(opinionUrl))
+				onOpinion = true;
+		}
 
 		logger.info("[Page] On Opinión page? {} (URL: {})", onOpinion, driver.getCurrentUrl());
 
-		// 5) Count <article> elements on listing page (informational)
-		List<WebElement> articleEls = driver.findElements(ElPaisElements.ALL_ARTICLES);
-		logger.info("[Articles] <article> elements found on page: {}", articleEls.size());
-
-		// 6) Collect first MAX_ARTICLES article links (//article//h2/a)
-		List<WebElement> linkEls = driver.findElements(ElPaisElements.ARTICLE_LINKS);
-		List<String> articleLinks = new ArrayList<>();
-		for (WebElement l : linkEls) {
-			try {
-				String href = l.getAttribute("href");
-				// Keep only opinion articles and avoid duplicates
-				if (href != null && href.contains("/opinion/") && !articleLinks.contains(href)) {
-					articleLinks.add(href);
-					if (articleLinks.size() >= MAX_ARTICLES)
-						break;
+		// 5-6) Count <article> elements (informational) and collect the first
+		// MAX_ARTICLES distinct opinion links (//article//h2/a) in one script call
+		List<String> articleLinks;
+		List<HttpArticleFetcher.PageExtract> crawled = null;
+		try (Metrics.Span s = Metrics.time(CRAWL_MODE ? "crawl" : "links.collect")) {
+			if (CRAWL_MODE) {
+				crawled = SectionCrawler.crawlShared(opinionUrl);
+				articleLinks = new ArrayList<>();
+				for (HttpArticleFetcher.PageExtract ex : crawled)
+					articleLinks.add(ex.url);
+			} else {
+				try {
+					LinkHarvester.Harvest harvest = LINK_HARVESTER.harvest(driver, "/opinion/", MAX_ARTICLES);
+					logger.info("[Articles] <article> elements found on page: {}", harvest.articleCount);
+					articleLinks = harvest.links;
+				} catch (Exception e) {
+					logger.warn("[Links] Script harvesting failed ({}); falling back to element lookups",
+							e.getMessage());
+					articleLinks = collectLinksWithElements(driver);
 				}
-			} catch (Exception ignored) {
 			}
 		}
 
-		int storedCount = Math.min(articleLinks.size(), MAX_ARTICLES);
+		int storedCount = CRAWL_MODE ? articleLinks.size() : Math.min(articleLinks.size(), MAX_ARTICLES);
 		logger.info("[Links] Storing first {} article URLs:", storedCount);
 		for (int i = 0; i < storedCount; i++) {
 			logger.info("  {}) {}", i + 1, articleLinks.get(i));
@@ -134,134 +224,520 @@ public class ElPaisScraper extends DriverFactory {
 			logger.warn("Failed to create images folder: {}", e.getMessage());
 		}
 
-		// 7) Visit each stored link and collect data into Article objects
-		List<Article> articles = new ArrayList<>();
-		for (int idx = 0; idx < storedCount; idx++) {
-			String url = articleLinks.get(idx);
-			logger.info("\n=== Article {}/{} ===", idx + 1, storedCount);
-			logger.info("URL: {}", url);
-
-			try {
-				driver.get(url);
-				waitForPageLoad(driver);
-
-				Article a = new Article(url);
+		// 7-8) Run the article pipeline: pages are read (HTTP and/or WebDriver
+		// sessions, see VISIT_POOL_SIZE), images downloaded and titles/bodies
+		// translated in batches while later pages are still loading. Finished
+		// articles are streamed to the NDJSON sink and remembered so the next run
+		// can skip unchanged articles.
+		ImageDownloadService images = new ImageDownloadService(imagesFolder,
+				ImageDownloadService.DEFAULT_MAX_CONCURRENT);
+		try {
+			List<Article> articles;
+			try (Metrics.Span s = Metrics.time("pipeline")) {
+				articles = runPipeline(driver, articleLinks.subList(0, storedCount), crawled, images);
+			}
+			Metrics.count("articles.scraped", articles.size());
+
+			// Print the translations and analyze the English titles
+			logTranslationsAndAnalyze(articles);
+		} finally {
+			// 9) Wait for the background image downloads before finishing
+			int saved;
+			try (Metrics.Span s = Metrics.time("images.await")) {
+				saved = images.awaitAll();
+			}
+			logger.info("[Images] {} of {} images saved to {}", saved, images.submittedCount(), imagesFolder);
+			if (ImageStore.shared().isEnabled())
+				logger.info("[ImageStore] Totals so far: {}", ImageStore.shared().summary());
+			images.close();
+		}
 
-				// 7.1 Title (//h1)
-				WebElement titleEl = waitForElement(driver, ElPaisElements.ARTICLE_TITLE, 6);
-				a.titleEs = (titleEl != null) ? titleEl.getText() : "";
-				logger.info("Title (ES): {}", a.titleEs.isBlank() ? "(not found)" : a.titleEs);
+	} // end startScraper
 
-				// 7.2 First paragraph for translation (print only)
-				WebElement p1 = waitForElement(driver, ElPaisElements.FIRST_PARAGRAPH, 5);
-				String firstPara = (p1 != null) ? p1.getText() : "";
-				logger.info("First paragraph (ES): {}", firstPara.isBlank() ? "(not found)" : firstPara);
+	// ------------------------------------------------------------------
+	// Scrape the given links through a staged pipeline and return the articles
+	// in link order. Stages, each with a bounded queue and its own workers:
+	//   discovery (this thread) -> http -> browser -> images + translate -> output
+	// "http" reads pages with HttpArticleFetcher: every page with the HTTP
+	// engine or in crawl mode, otherwise only pages known from earlier runs,
+	// which are reused when unchanged (conditional GET). "browser" visits the
+	// remaining pages with WebDriver sessions. Finished articles go to "images"
+	// and to "translate" (batches across articles); "output" writes them to the
+	// NDJSON sink and the SeenArticleStore. A translation failure is rethrown
+	// once the pipeline has drained, so the test still fails.
+	// ------------------------------------------------------------------
+	private List<Article> runPipeline(WebDriver driver, List<String> links,
+			List<HttpArticleFetcher.PageExtract> crawled, ImageDownloadService images) throws Exception {
+		int total = links.size();
+		Article[] results = new Article[total];
+		boolean httpEngine = "http".equals(FETCH_ENGINE);
+
+		Map<String, SeenArticleStore.Record> known = new HashMap<>();
+		for (String url : links) {
+			SeenArticleStore.Record rec = SeenArticleStore.shared().get(url);
+			if (rec != null)
+				known.put(url, rec);
+		}
 
-				// 7.3 Image url and download (//article/header//img)
-				String imgUrl = null;
-				String savedPath = null;
-				try {
-					WebElement img = waitForElement(driver, ElPaisElements.ARTICLE_IMAGE, 4);
-					if (img != null) {
-						// Robust extraction: try src, then data-src, data-lazy-src, then srcset
-						imgUrl = firstNonBlank(img.getAttribute("src"), img.getAttribute("data-src"),
-								img.getAttribute("data-lazy-src"));
-
-						if ((imgUrl == null || imgUrl.isBlank()) && img.getAttribute("srcset") != null) {
-							String srcset = img.getAttribute("srcset");
-							String[] parts = srcset.split(",");
-							String last = parts[parts.length - 1].trim();
-							imgUrl = last.split("\\s+")[0];
+		HttpArticleFetcher fetcher = new HttpArticleFetcher();
+		TranslatorV2 translator = new TranslatorV2(); // ensure API_KEY set inside class
+		ArticleSink sink = ArticleSink.shared();
+		AtomicReferenceArray<HttpArticleFetcher.PageExtract> extracts = new AtomicReferenceArray<>(total);
+		AtomicInteger unchanged = new AtomicInteger();
+		AtomicReference<RuntimeException> translationError = new AtomicReference<>();
+
+		int poolSize = crawled != null ? 1 : Math.min(VISIT_POOL_SIZE, total);
+		try (VisitSessions sessions = new VisitSessions(driver, poolSize);
+				ScrapePipeline pipeline = new ScrapePipeline()) {
+
+			ScrapePipeline.Stage<Scraped> output = pipeline.stage("output", PIPELINE_QUEUE, 1, s -> {
+				results[s.idx] = s.article;
+				if (sink != null)
+					sink.append(s.article);
+				SeenArticleStore.shared().put(s.article, s.extract == null ? null : s.extract.etag,
+						s.extract == null ? null : s.extract.lastModified);
+			});
+
+			ScrapePipeline.Stage<Scraped> translate = pipeline.batchStage("translate", PIPELINE_QUEUE,
+					TRANSLATE_WORKERS, TRANSLATE_BATCH, TRANSLATE_LINGER_MILLIS, batch -> {
+						try {
+							translateBatch(translator, batch);
+						} catch (RuntimeException e) {
+							logger.error("Translation step failed: {}", e.getMessage(), e);
+							translationError.compareAndSet(null, e);
+						}
+						for (Scraped s : batch)
+							output.put(s);
+					});
+
+			// One worker is enough: it only hands URLs to the service, whose own pool
+			// bounds the downloads; startScraper waits for them with awaitAll()
+			ScrapePipeline.Stage<String> download = pipeline.stage("images", PIPELINE_QUEUE, 1,
+					url -> downloadImage(url, images));
+
+			// A finished article: its image download and translation run side by side
+			ScrapePipeline.Handler<Scraped> emit = s -> {
+				if (!s.reused && s.article.imageUrl != null && !s.article.imageUrl.isBlank())
+					download.put(s.article.imageUrl);
+				translate.put(s);
+			};
+
+			ScrapePipeline.Stage<Integer> browser = pipeline.stage("browser", PIPELINE_QUEUE, sessions.size(),
+					idx -> {
+						WebDriver d = sessions.acquire();
+						try {
+							Article a = visitArticle(d, links.get(idx), idx, total);
+							if (a != null)
+								emit.accept(new Scraped(idx, a, extracts.get(idx), false));
+						} finally {
+							sessions.release(d);
+						}
+					});
+
+			ScrapePipeline.Stage<Integer> http = pipeline.stage("http", PIPELINE_QUEUE,
+					HttpArticleFetcher.MAX_IN_FLIGHT, idx -> {
+						String url = links.get(idx);
+						SeenArticleStore.Record rec = known.get(url);
+						HttpArticleFetcher.PageExtract ex = crawled != null ? crawled.get(idx)
+								: fetcher.fetch(url, rec);
+						extracts.set(idx, ex);
+
+						if (isUnchanged(ex, rec, crawled != null)) {
+							logger.info("\n=== Article {}/{} (unchanged) ===", idx + 1, total);
+							logger.info("URL: {}", url);
+							logger.info("Title (ES): {}", rec.titleEs);
+							logger.info("[Store] {} since {}; reusing stored result.",
+									ex.notModified ? "Not modified (304)" : "Same content", rec.lastChecked);
+							logger.info("=========================================");
+							unchanged.incrementAndGet();
+							emit.accept(new Scraped(idx, rec.toArticle(), ex, true));
+						} else if (crawled != null || (httpEngine && ex.isComplete())) {
+							logger.info("\n=== Article {}/{} ({}) ===", idx + 1, total,
+									crawled != null ? "crawl" : "http");
+							logger.info("URL: {}", ex.url);
+							Article a = articleFromExtract(ex);
+							logger.info("=========================================");
+							emit.accept(new Scraped(idx, a, ex, false));
+						} else {
+							if (httpEngine)
+								logger.info("[HttpFetch] Required field missing for {}; falling back to WebDriver",
+										url);
+							browser.put(idx);
 						}
+					});
 
-						logger.info("Image URL: {}", imgUrl == null ? "(none)" : imgUrl);
+			http.feeds(browser);
+			browser.feeds(download).feeds(translate);
+			translate.feeds(output);
 
-						// Download the image (DownloadUtil handles folder creation)
-						if (imgUrl != null && !imgUrl.isBlank()) {
-							savedPath = DownloadUtil.downloadImage(imgUrl, imagesFolder.toString());
-							if (savedPath != null) {
-								logger.info("Saved image to: {}", savedPath);
-							} else {
-								logger.warn("Saved image to: (download failed)");
-							}
-						}
-					} else {
-						logger.info("Image URL: (none)");
-					}
-				} catch (Exception ex) {
-					logger.warn("Image: error while retrieving/downloading: {}", ex.getMessage());
+			if (sessions.size() > 1)
+				logger.info("[Visit] Visiting articles with a pool of up to {} sessions", sessions.size());
+
+			// Discovery: route every link to the stage that reads it; put() blocks while
+			// that stage's queue is full
+			http.openInput();
+			browser.openInput();
+			try {
+				for (int idx = 0; idx < total; idx++) {
+					if (crawled != null || httpEngine || known.containsKey(links.get(idx)))
+						http.put(idx);
+					else
+						browser.put(idx);
 				}
+			} finally {
+				http.closeInput();
+				browser.closeInput();
+			}
+			pipeline.awaitAll();
+		}
 
-				a.imageUrl = imgUrl;
-				// store article
+		if (crawled != null)
+			logger.info("[Crawl] {} articles crawled, {} unchanged since the last run.", total, unchanged.get());
+		else if (!known.isEmpty())
+			logger.info("[Store] {} of {} articles unchanged since the last run.", unchanged.get(), total);
+		Metrics.count("articles.unchanged", unchanged.get());
+
+		if (translationError.get() != null)
+			throw translationError.get(); // rethrow so the failure is visible to TestNG and listener
+
+		List<Article> articles = new ArrayList<>();
+		for (Article a : results) {
+			if (a != null)
 				articles.add(a);
+		}
+		return articles;
+	}
 
-			} catch (Exception e) {
-				logger.error("Error processing article {}: {}", url, e.getMessage(), e);
-				logger.info("(Error processing this article; continuing to next.)");
+	// ------------------------------------------------------------------
+	// Whether the stored record of a page can be reused: not modified (304) or
+	// same text, body included. Crawled pages are only reused when the record
+	// is translated. Records saved before bodies were kept have no content and
+	// count as changed while bodies are translated, so they get one.
+	// ------------------------------------------------------------------
+	private static boolean isUnchanged(HttpArticleFetcher.PageExtract ex, SeenArticleStore.Record rec,
+			boolean crawled) {
+		if (rec == null || (TRANSLATE_BODIES && rec.content == null))
+			return false;
+		boolean sameText = SeenArticleStore.contentHash(ex.title, ex.firstParagraph, ex.body)
+				.equals(rec.contentHash);
+		if (crawled)
+			return rec.titleEn != null && !rec.titleEn.isBlank() && sameText;
+		return ex.notModified || (ex.isComplete() && sameText);
+	}
+
+	// ------------------------------------------------------------------
+	// "translate" stage: translate the titles of a batch of articles in one
+	// call, then their full bodies (unless -DtranslateBodies=false). Articles
+	// reused from the SeenArticleStore usually carry their translation.
+	// ------------------------------------------------------------------
+	private static void translateBatch(TranslatorV2 translator, List<Scraped> batch) {
+		List<Article> articles = new ArrayList<>();
+		List<Article> untranslated = new ArrayList<>();
+		List<String> titlesEs = new ArrayList<>();
+		for (Scraped s : batch) {
+			Article a = s.article;
+			articles.add(a);
+			if (a.titleEn == null || a.titleEn.isBlank()) {
+				untranslated.add(a);
+				titlesEs.add(a.titleEs == null ? "" : a.titleEs);
 			}
+		}
 
-			// separation line for console readability
-			logger.info("=========================================");
-		} // end for each article
+		if (!titlesEs.isEmpty()) {
+			List<String> titlesEn;
+			try (Metrics.Span s = Metrics.time("translation")) {
+				titlesEn = translator.translateToEnglish(titlesEs);
+			}
+			for (int k = 0; k < untranslated.size(); k++)
+				untranslated.get(k).titleEn = (k < titlesEn.size()) ? titlesEn.get(k) : "";
+		}
 
-		// 8) Bulk translate all titles (minimize API calls)
-		List<String> titlesEs = new ArrayList<>();
+		if (TRANSLATE_BODIES)
+			translateBodies(translator, articles);
+	}
+
+	// ------------------------------------------------------------------
+	// Log the Original -> Translated titles and the words that repeat more
+	// than twice across the English titles.
+	// ------------------------------------------------------------------
+	private void logTranslationsAndAnalyze(List<Article> articles) {
+		if (articles.isEmpty()) {
+			logger.info("[Translations] No titles available to translate.");
+			return;
+		}
+
+		// Print numbered Original -> Translated (neat)
+		logger.info("\n=== Translations (Titles) ===");
+		for (int i = 0; i < articles.size(); i++) {
+			String orig = articles.get(i).titleEs;
+			String trans = articles.get(i).titleEn;
+			logger.info("{}. Original:   {}", (i + 1), orig);
+			logger.info("   Translated: {}", trans);
+			logger.info("---------------------------------------");
+		}
+
+		// Analyze combined English titles for repeated words > 2 occurrences
+		List<String> englishTitles = new ArrayList<>();
 		for (Article a : articles)
-			titlesEs.add(a.titleEs == null ? "" : a.titleEs);
+			englishTitles.add(a.titleEn == null ? "" : a.titleEn);
 
-		if (!titlesEs.isEmpty()) {
-			try {
-				// TranslatorV2 requires API key; ensure it's set
-				TranslatorV2 translator = new TranslatorV2(); // ensure API_KEY set inside class
-				List<String> titlesEn = translator.translateToEnglish(titlesEs);
-
-				// Print numbered Original -> Translated (neat)
-				logger.info("\n=== Translations (Titles) ===");
-				for (int i = 0; i < articles.size(); i++) {
-					String orig = articles.get(i).titleEs;
-					String trans = (i < titlesEn.size()) ? titlesEn.get(i) : "";
-					articles.get(i).titleEn = trans;
-					logger.info("{}. Original:   {}", (i + 1), orig);
-					logger.info("   Translated: {}", trans);
-					logger.info("---------------------------------------");
+		TextAnalyzer analyzer = new TextAnalyzer();
+		Map<String, Integer> repeated;
+		try (Metrics.Span s = Metrics.time("analysis")) {
+			repeated = analyzer.repeatedWords(englishTitles, 2);
+		}
+
+		logger.info("\n=== Words repeated more than twice across all English titles ===");
+		if (repeated.isEmpty()) {
+			logger.info("None found.");
+		} else {
+			repeated.forEach((w, c) -> logger.info("  {} -> {}", w, c));
+		}
+	}
+
+	// ------------------------------------------------------------------
+	// Translate the bodies of all articles that have one but no translation yet,
+	// in one planned batch (segments of many articles share requests).
+	// ------------------------------------------------------------------
+	private static void translateBodies(TranslatorV2 translator, List<Article> articles) {
+		List<Article> pending = new ArrayList<>();
+		List<String> bodiesEs = new ArrayList<>();
+		for (Article a : articles) {
+			if (a.content != null && !a.content.isBlank() && (a.contentEn == null || a.contentEn.isBlank())) {
+				pending.add(a);
+				bodiesEs.add(a.content);
+			}
+		}
+		if (bodiesEs.isEmpty())
+			return;
+
+		List<String> bodiesEn;
+		try (Metrics.Span s = Metrics.time("translation.bodies")) {
+			bodiesEn = translator.translateDocuments(bodiesEs);
+		}
+		for (int k = 0; k < pending.size(); k++)
+			pending.get(k).contentEn = k < bodiesEn.size() ? bodiesEn.get(k) : "";
+		logger.info("[Translations] {} article bodies translated.", pending.size());
+	}
+
+	/** An article leaving the fetch stages, with its link index and HTTP extract (if any). */
+	private static final class Scraped {
+		final int idx;
+		final Article article;
+		final HttpArticleFetcher.PageExtract extract;
+		/** Reused from the SeenArticleStore: its image is not downloaded again. */
+		final boolean reused;
+
+		Scraped(int idx, Article article, HttpArticleFetcher.PageExtract extract, boolean reused) {
+			this.idx = idx;
+			this.article = article;
+			this.extract = extract;
+			this.reused = reused;
+		}
+	}
+
+	// ------------------------------------------------------------------
+	// WebDriver sessions of the "browser" stage: the test's own session plus
+	// up to (max - 1) additional sessions from DriverFactory, opened on demand
+	// while every open session is busy and released when the pipeline ends.
+	// ------------------------------------------------------------------
+	private static final class VisitSessions implements AutoCloseable {
+		private final BlockingQueue<WebDriver> idle = new LinkedBlockingQueue<>();
+		private final List<WebDriver> additional = new CopyOnWriteArrayList<>();
+		private final Callable<WebDriver> factory = DriverFactory.getSessionFactory();
+		private final AtomicInteger open = new AtomicInteger(1);
+		private final int max;
+		private volatile boolean canOpen;
+
+		VisitSessions(WebDriver main, int max) {
+			this.max = factory == null ? 1 : Math.max(1, max);
+			this.canOpen = this.max > 1;
+			idle.add(main);
+		}
+
+		int size() {
+			return max;
+		}
+
+		WebDriver acquire() throws InterruptedException {
+			WebDriver d = idle.poll();
+			if (d != null)
+				return d;
+			if (canOpen && open.incrementAndGet() <= max) {
+				try {
+					d = factory.call();
+					additional.add(d);
+					return d;
+				} catch (Exception e) {
+					// Sessions already open (at least the main one) pick up the slack
+					logger.warn("[Visit] Could not open an additional session: {}", e.getMessage());
+					canOpen = false;
 				}
+			}
+			if (canOpen)
+				open.decrementAndGet();
+			return idle.take();
+		}
+
+		void release(WebDriver d) {
+			idle.add(d);
+		}
+
+		@Override
+		public void close() {
+			for (WebDriver d : additional)
+				DriverFactory.releaseSession(d, "passed", "Additional article visitor session");
+		}
+	}
+
+	// ------------------------------------------------------------------
+	// Build an Article from extracted page fields (HTTP engine or in-browser
+	// script). Its image is downloaded by the pipeline's "images" stage.
+	// ------------------------------------------------------------------
+	private Article articleFromExtract(HttpArticleFetcher.PageExtract ex) {
+		Article a = new Article(ex.url);
+		a.titleEs = ex.title;
+		a.firstParagraph = ex.firstParagraph;
+		a.content = ex.body;
+		logger.info("Title (ES): {}", a.titleEs.isBlank() ? "(not found)" : a.titleEs);
+		logger.info("First paragraph (ES): {}", ex.firstParagraph.isBlank() ? "(not found)" : ex.firstParagraph);
+		logBody(a.content);
+
+		String imgUrl = ex.imageUrl();
+		logger.info("Image URL: {}", imgUrl == null ? "(none)" : imgUrl);
+
+		a.imageUrl = imgUrl;
+		return a;
+	}
+
+	// ------------------------------------------------------------------
+	// Visit a single article page and extract title, first paragraph and
+	// header image. Returns null if the page could not be processed.
+	// ------------------------------------------------------------------
+	private Article visitArticle(WebDriver driver, String url, int idx, int total) {
+		logger.info("\n=== Article {}/{} ===", idx + 1, total);
+		logger.info("URL: {}", url);
+
+		Metrics.Span span = Metrics.time("article.page");
+		try {
+			PageReadiness.of(driver).navigate(url);
+
+			// Preferred: read every field with one in-browser script call
+			if ("script".equals(EXTRACTION_MODE)) {
+				HttpArticleFetcher.PageExtract ex = extractWithScript(driver, url);
+				if (ex != null)
+					return articleFromExtract(ex);
+			}
 
-				// Analyze combined English titles for repeated words > 2 occurrences
-				List<String> englishTitles = new ArrayList<>();
-				for (Article a : articles)
-					englishTitles.add(a.titleEn == null ? "" : a.titleEn);
+			Article a = new Article(url);
 
-				TextAnalyzer analyzer = new TextAnalyzer();
-				Map<String, Integer> repeated = analyzer.repeatedWords(englishTitles, 2);
+			// 7.1 Title (//h1)
+			WebElement titleEl = waitForElement(driver, ElPaisElements.ARTICLE_TITLE_CHAIN, 6);
+			a.titleEs = (titleEl != null) ? titleEl.getText() : "";
+			logger.info("Title (ES): {}", a.titleEs.isBlank() ? "(not found)" : a.titleEs);
 
-				logger.info("\n=== Words repeated more than twice across all English titles ===");
-				if (repeated.isEmpty()) {
-					logger.info("None found.");
+			// 7.2 First paragraph for translation (print only)
+			WebElement p1 = waitForElement(driver, ElPaisElements.FIRST_PARAGRAPH_CHAIN, 5);
+			String firstPara = (p1 != null) ? p1.getText() : "";
+			a.firstParagraph = firstPara;
+			logger.info("First paragraph (ES): {}", firstPara.isBlank() ? "(not found)" : firstPara);
+
+			// 7.2b Full body (every paragraph) for body translation
+			List<String> paragraphs = new ArrayList<>();
+			for (WebElement p : ElPaisElements.BODY_PARAGRAPHS_CHAIN.findAll(driver))
+				paragraphs.add(p.getText());
+			a.content = HttpArticleFetcher.joinParagraphs(paragraphs);
+			logBody(a.content);
+
+			// 7.3 Image url (//article/header//img); downloaded by the "images" stage
+			String imgUrl = null;
+			try {
+				WebElement img = waitForElement(driver, ElPaisElements.ARTICLE_IMAGE_CHAIN, 4);
+				if (img != null) {
+					// Smallest picture/srcset candidate covering the target width, else
+					// src, data-src or data-lazy-src
+					String src = firstNonBlank(img.getAttribute("src"), img.getAttribute("data-src"),
+							img.getAttribute("data-lazy-src"));
+					String srcset = firstNonBlank(img.getAttribute("srcset"), img.getAttribute("data-srcset"));
+					List<SrcsetSelector.Source> sources = new ArrayList<>();
+					for (WebElement s : img.findElements(By.xpath("parent::picture/source"))) {
+						sources.add(new SrcsetSelector.Source(firstNonBlank(s.getAttribute("srcset"),
+								s.getAttribute("data-srcset")), s.getAttribute("type"), s.getAttribute("media")));
+					}
+					imgUrl = HttpArticleFetcher.resolve(url,
+							SrcsetSelector.select(sources, srcset, src, SrcsetSelector.TARGET_WIDTH));
+
+					logger.info("Image URL: {}", imgUrl == null ? "(none)" : imgUrl);
 				} else {
-					repeated.forEach((w, c) -> logger.info("  {} -> {}", w, c));
+					logger.info("Image URL: (none)");
 				}
-
-			} catch (Exception e) {
-				logger.error("Translation step failed: {}", e.getMessage(), e);
-				throw e; // rethrow so the failure is visible to TestNG and listener
+			} catch (Exception ex) {
+				logger.warn("Image: error while retrieving: {}", ex.getMessage());
 			}
-		} else {
-			logger.info("[Translations] No titles available to translate.");
+
+			a.imageUrl = imgUrl;
+			return a;
+
+		} catch (Exception e) {
+			logger.error("Error processing article {}: {}", url, e.getMessage(), e);
+			logger.info("(Error processing this article; continuing to next.)");
+			return null;
+
+		} finally {
+			span.close();
+			// separation line for console readability
+			logger.info("=========================================");
 		}
+	}
 
-	} // end startScraper
+	// ------------------------------------------------------------------
+	// Run the single-call extraction script. If the title is not rendered yet,
+	// wait for it once and re-run. Returns null when the script cannot run or
+	// the title never appears, so the caller falls back to per-element lookups.
+	// ------------------------------------------------------------------
+	private HttpArticleFetcher.PageExtract extractWithScript(WebDriver driver, String url) {
+		try {
+			HttpArticleFetcher.PageExtract ex = SCRIPT_EXTRACTOR.extract(driver, url);
+			if (ex.title.isBlank() && waitForElement(driver, ElPaisElements.ARTICLE_TITLE_CHAIN, 6) != null)
+				ex = SCRIPT_EXTRACTOR.extract(driver, url);
+			return ex.title.isBlank() ? null : ex;
+		} catch (Exception e) {
+			logger.debug("[Extract] Script extraction failed for {}: {}", url, e.getMessage());
+			return null;
+		}
+	}
+
+	// ------------------------------------------------------------------
+	// Fallback link collection with one WebDriver call per link, used when the
+	// harvesting script cannot run. Same filtering as LinkHarvester.
+	// ------------------------------------------------------------------
+	private List<String> collectLinksWithElements(WebDriver driver) {
+		logger.info("[Articles] <article> elements found on page: {}",
+				ElPaisElements.ALL_ARTICLES_CHAIN.findAll(driver).size());
+
+		List<String> hrefs = new ArrayList<>();
+		for (WebElement l : ElPaisElements.ARTICLE_LINKS_CHAIN.findAll(driver)) {
+			try {
+				hrefs.add(l.getAttribute("href"));
+			} catch (Exception ignored) {
+			}
+		}
+		return LinkHarvester.filter(hrefs, "/opinion/", MAX_ARTICLES);
+	}
 
 	// ------------------------------------------------------------------
 	// Accept cookie popup if present. Uses centralized selector.
 	// ------------------------------------------------------------------
 	private void acceptCookies(WebDriver driver) {
 		try {
-			// Wait for the cookie accept button and click it
-			WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
-			WebElement cookieBtn = wait.until(ExpectedConditions.elementToBeClickable(ElPaisElements.COOKIE_POPUP_BTN));
+			// Wait for the cookie accept button (or for the page to settle without it)
+			WebElement cookieBtn = waitForElement(driver, ElPaisElements.COOKIE_POPUP_BTN_CHAIN, 5);
+			if (cookieBtn == null) {
+				logger.debug("[Cookie] Cookie popup not shown.");
+				return;
+			}
 			cookieBtn.click();
-			wait.until(ExpectedConditions.invisibilityOf(cookieBtn));
+			new WebDriverWait(driver, Duration.ofSeconds(5)).until(ExpectedConditions.invisibilityOf(cookieBtn));
 			logger.info("[Cookie] Clicked cookie accept button.");
 		} catch (Exception e) {
 			// not fatal: continue without cookies accepted
@@ -270,28 +746,53 @@ public class ElPaisScraper extends DriverFactory {
 	}
 
 	// ------------------------------------------------------------------
-	// Wait for an element to become visible; returns null on timeout.
-	// Overloaded to accept WebDriver (works for local RemoteWebDriver).
+	// Wait for any selector of the chain to match a visible element; returns
+	// null on timeout or as soon as the page settles without it (see
+	// PageReadiness).
 	// ------------------------------------------------------------------
-	private WebElement waitForElement(WebDriver driver, By selector, int seconds) {
-		try {
-			WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(seconds));
-			return wait.until(ExpectedConditions.visibilityOfElementLocated(selector));
+	private WebElement waitForElement(WebDriver driver, SelectorChain chain, int seconds) {
+		try (Metrics.Span s = Metrics.time("element.wait")) {
+			SelectorChain.Alternative hit = PageReadiness.of(driver).waitFor(chain, Duration.ofSeconds(seconds));
+			if (hit == null) {
+				Metrics.count("element.wait.miss");
+				return null;
+			}
+			return driver.findElement(hit.by());
 		} catch (Exception e) {
+			Metrics.count("element.wait.miss");
 			return null;
 		}
 	}
 
 	// ------------------------------------------------------------------
-	// Wait until document.readyState == "complete"; gentle and reusable.
+	// Wait for the current navigation to load (DevTools load / network-idle
+	// events when available, document.readyState polling otherwise).
 	// ------------------------------------------------------------------
 	private void waitForPageLoad(WebDriver driver) {
-		try {
-			new WebDriverWait(driver, Duration.ofSeconds(10)).until(
-					wd -> ((JavascriptExecutor) wd).executeScript("return document.readyState").equals("complete"));
-		} catch (Exception ignored) {
-			// continue even if timed out
+		PageReadiness.of(driver).waitForLoad(Duration.ofSeconds(10));
+	}
+
+	// "images" stage: queue one image download and log its outcome when it
+	// finishes, without holding the stage worker for the download itself
+	private static void downloadImage(String imgUrl, ImageDownloadService images) {
+		if (imgUrl == null || imgUrl.isBlank())
+			return;
+		images.submit(imgUrl).thenAccept(savedPath -> {
+			if (savedPath != null) {
+				logger.info("Saved image to: {}", savedPath);
+			} else {
+				logger.warn("Saved image to: (download failed) {}", imgUrl);
+			}
+		});
+	}
+
+	// Log the size of an extracted article body
+	private static void logBody(String body) {
+		if (body == null || body.isBlank()) {
+			logger.info("Body (ES): (not found)");
+			return;
 		}
+		logger.info("Body (ES): {} paragraphs, {} characters", body.split("\n\n").length, body.length());
 	}
 
 	// Helper: return the first non-blank string among args
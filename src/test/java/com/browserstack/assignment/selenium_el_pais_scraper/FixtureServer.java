@@ -0,0 +1,531 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.reflect.TypeToken;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Record/replay server for running the whole scraper offline.
+ *
+ * In RECORD mode the server is a caching reverse proxy: requests for the
+ * origin (https://elpais.com by default) are served at the server root, other
+ * *.elpais.com hosts (images, static assets) under /_ext/&lt;host&gt;/, and
+ * Google Translate calls at the StubTranslateServer path. Every response is
+ * fetched upstream, stored in the fixture bundle and returned. In REPLAY mode
+ * the same URLs are answered from the bundle only (unknown URLs get 404), with
+ * an optional injected latency per response.
+ *
+ * Absolute *.elpais.com URLs in text responses (HTML, CSS, JS, JSON) are
+ * rewritten to the server when served, so links, srcsets and images found by
+ * the scraper point back at the fixtures. Translations are stored per text,
+ * so a replay answers any batching of the recorded titles.
+ *
+ * Bundle layout: index.json (URL -&gt; status, content type, validators, body
+ * file), bodies/&lt;sha256&gt; and translations.json.
+ *
+ * Usage notes: - -Dfixtures=record|replay starts the shared server before the
+ * suite (see DriverFactory) and points -DelpaisBaseUrl and -DtranslateEndpoint
+ * at it. - -DfixtureDir (default ~/elpaisscraper/fixtures/default),
+ * -DfixturePort (0 = free port), -DfixtureLatencyMillis (replay only),
+ * -DfixtureOrigin. - While fixtures are active the article store, selector
+ * stats and image store live under &lt;fixtureDir&gt;/cache (see cacheDir())
+ * and translations are cached in memory only, so a record/replay run never
+ * reads or writes the caches of live runs. - Also runnable from the command
+ * line: FixtureServer record|replay &lt;dir&gt; [port] [latencyMillis].
+ */
+public class FixtureServer implements AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(FixtureServer.class);
+
+	public enum Mode {
+		RECORD, REPLAY
+	}
+
+	/** Path prefix for hosts other than the origin: /_ext/&lt;host&gt;/&lt;path&gt;. */
+	public static final String EXT_PREFIX = "/_ext/";
+
+	private static final String DEFAULT_ORIGIN = "https://elpais.com";
+	private static final String DEFAULT_TRANSLATE_UPSTREAM = "https://translation.googleapis.com/language/translate/v2";
+
+	/** Absolute or protocol-relative URLs of elpais.com hosts. */
+	private static final Pattern ELPAIS_URL = Pattern.compile("(?:https?:)?//((?:[a-z0-9-]+\\.)*elpais\\.com)\\b",
+			Pattern.CASE_INSENSITIVE);
+
+	private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+	private static final Gson WIRE = new Gson();
+
+	private static FixtureServer shared;
+
+	/** One recorded response. */
+	static final class Entry {
+		String url;
+		int status;
+		String contentType;
+		String etag;
+		String lastModified;
+		String body;
+	}
+
+	private final Mode mode;
+	private final Path dir;
+	private final String origin;
+	private final String originHost;
+	private final String translateUpstream;
+	private final HttpServer server;
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+	private final HttpClient client;
+
+	private final Map<String, Entry> index = new ConcurrentHashMap<>();
+	private final Map<String, String> translations = new ConcurrentHashMap<>();
+
+	private final AtomicInteger requests = new AtomicInteger();
+	private final AtomicInteger misses = new AtomicInteger();
+	private final AtomicInteger recorded = new AtomicInteger();
+
+	private volatile long latencyMillis;
+
+	/**
+	 * Start the server on the given port (0 = any free port).
+	 *
+	 * @param mode              RECORD fetches upstream and stores; REPLAY serves
+	 *                          the bundle only.
+	 * @param dir               fixture bundle folder (created when recording).
+	 * @param origin            site served at the server root, e.g.
+	 *                          "https://elpais.com".
+	 * @param translateUpstream Translate endpoint used when recording.
+	 * @param latencyMillis     delay added before every replayed response.
+	 */
+	public FixtureServer(Mode mode, Path dir, int port, String origin, String translateUpstream, long latencyMillis)
+			throws IOException {
+		this.mode = mode;
+		this.dir = dir.toAbsolutePath().normalize();
+		this.origin = origin.endsWith("/") ? origin.substring(0, origin.length() - 1) : origin;
+		this.originHost = URI.create(this.origin).getHost().toLowerCase(Locale.ROOT);
+		this.translateUpstream = translateUpstream;
+		this.latencyMillis = latencyMillis;
+		load();
+
+		this.client = mode == Mode.RECORD
+				? HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NORMAL)
+						.connectTimeout(Duration.ofSeconds(10)).build()
+				: null;
+		this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+		this.server.createContext("/", this::handle);
+		this.server.createContext(StubTranslateServer.PATH, this::handleTranslate);
+		this.server.setExecutor(executor);
+		this.server.start();
+		logger.info("[Fixtures] {} {} at {} ({} responses, {} translations, latency={} ms)", mode, this.dir,
+				baseUrl(), index.size(), translations.size(), latencyMillis);
+	}
+
+	/** Value for -DelpaisBaseUrl, e.g. "http://127.0.0.1:54321". */
+	public String baseUrl() {
+		return "http://127.0.0.1:" + server.getAddress().getPort();
+	}
+
+	/** Value for -DtranslateEndpoint. */
+	public String translateEndpoint() {
+		return baseUrl() + StubTranslateServer.PATH;
+	}
+
+	public void setLatencyMillis(long latencyMillis) {
+		this.latencyMillis = latencyMillis;
+	}
+
+	/** Total requests received. */
+	public int requestCount() {
+		return requests.get();
+	}
+
+	/** Replay requests with no recorded response (404) or untranslated texts. */
+	public int missCount() {
+		return misses.get();
+	}
+
+	// ------------------------------------------------------------------
+	// Shared instance driven by system properties
+	// ------------------------------------------------------------------
+
+	/**
+	 * Start the shared server when -Dfixtures=record|replay is set and point the
+	 * scraper at it (-DelpaisBaseUrl, -DtranslateEndpoint). Idempotent.
+	 */
+	public static synchronized FixtureServer startShared() throws IOException {
+		if (shared != null || !isActive())
+			return shared;
+
+		String m = System.getProperty("fixtures").trim().toLowerCase(Locale.ROOT);
+		Path dir = fixtureDir();
+		String upstream = System.getProperty("translateEndpoint", DEFAULT_TRANSLATE_UPSTREAM);
+		shared = new FixtureServer(Mode.valueOf(m.toUpperCase(Locale.ROOT)), dir, Integer.getInteger("fixturePort", 0),
+				System.getProperty("fixtureOrigin", DEFAULT_ORIGIN), upstream, Long.getLong("fixtureLatencyMillis", 0));
+		System.setProperty("elpaisBaseUrl", shared.baseUrl());
+		System.setProperty("translateEndpoint", shared.translateEndpoint());
+		return shared;
+	}
+
+	/** True when -Dfixtures=record|replay is set for this JVM. */
+	public static boolean isActive() {
+		String m = System.getProperty("fixtures", "").trim().toLowerCase(Locale.ROOT);
+		return m.equals("record") || m.equals("replay");
+	}
+
+	/** Fixture bundle folder (-DfixtureDir). */
+	public static Path fixtureDir() {
+		return Path.of(System.getProperty("fixtureDir",
+				Path.of(System.getProperty("user.home"), "elpaisscraper", "fixtures", "default").toString()));
+	}
+
+	/**
+	 * Default location of the persistent cache 'name' (a folder or file):
+	 * ~/elpaisscraper/cache/&lt;name&gt;, or &lt;fixtureDir&gt;/cache/&lt;name&gt;
+	 * while fixtures are active. Read at class initialization by the stores, so
+	 * it only depends on -Dfixtures / -DfixtureDir, not on startShared().
+	 */
+	public static Path cacheDir(String name) {
+		Path root = isActive() ? fixtureDir() : Path.of(System.getProperty("user.home"), "elpaisscraper");
+		return root.resolve("cache").resolve(name);
+	}
+
+	/** Stop the shared server (saving the bundle when recording). */
+	public static synchronized void stopShared() {
+		if (shared != null) {
+			shared.close();
+			shared = null;
+		}
+	}
+
+	// ------------------------------------------------------------------
+	// Page, image and asset requests
+	// ------------------------------------------------------------------
+	private void handle(HttpExchange ex) throws IOException {
+		try {
+			requests.incrementAndGet();
+			String method = ex.getRequestMethod();
+			if (!"GET".equals(method) && !"HEAD".equals(method)) {
+				respond(ex, 405, "text/plain", "Method not allowed".getBytes(StandardCharsets.UTF_8), null, null);
+				return;
+			}
+
+			String url = upstreamUrl(ex.getRequestURI().getRawPath(), ex.getRequestURI().getRawQuery());
+			if (url == null) {
+				respond(ex, 404, "text/plain", new byte[0], null, null);
+				return;
+			}
+
+			Entry e = index.get(url);
+			if (e == null && mode == Mode.RECORD)
+				e = record(url, ex);
+			if (e == null) {
+				misses.incrementAndGet();
+				logger.debug("[Fixtures] No recording for {}", url);
+				respond(ex, 404, "text/plain", new byte[0], null, null);
+				return;
+			}
+
+			if (mode == Mode.REPLAY && latencyMillis > 0)
+				Thread.sleep(latencyMillis);
+
+			String inm = ex.getRequestHeaders().getFirst("If-None-Match");
+			if (e.etag != null && e.etag.equals(inm)) {
+				respond(ex, 304, null, null, e.etag, e.lastModified);
+				return;
+			}
+			byte[] body = Files.readAllBytes(dir.resolve("bodies").resolve(e.body));
+			if (isText(e.contentType))
+				body = rewrite(new String(body, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+			respond(ex, e.status, e.contentType, "HEAD".equals(method) ? null : body, e.etag, e.lastModified);
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (Exception e) {
+			logger.warn("[Fixtures] Request {} failed: {}", ex.getRequestURI(), e.getMessage());
+			respond(ex, 502, "text/plain", String.valueOf(e.getMessage()).getBytes(StandardCharsets.UTF_8), null,
+					null);
+		} finally {
+			ex.close();
+		}
+	}
+
+	/** Origin URL for a local path: /_ext/&lt;host&gt;/... or the origin itself. */
+	private String upstreamUrl(String path, String query) {
+		String q = query == null ? "" : "?" + query;
+		if (path.startsWith(EXT_PREFIX)) {
+			String rest = path.substring(EXT_PREFIX.length());
+			int slash = rest.indexOf('/');
+			String host = (slash < 0 ? rest : rest.substring(0, slash)).toLowerCase(Locale.ROOT);
+			if (!(host.equals("elpais.com") || host.endsWith(".elpais.com")))
+				return null;
+			return "https://" + host + (slash < 0 ? "/" : rest.substring(slash)) + q;
+		}
+		return origin + path + q;
+	}
+
+	/** Fetch a URL upstream and store it (RECORD mode). Errors are not stored. */
+	private Entry record(String url, HttpExchange ex) throws Exception {
+		HttpRequest.Builder rb = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET();
+		for (String h : new String[] { "User-Agent", "Accept", "Accept-Language" }) {
+			String v = ex.getRequestHeaders().getFirst(h);
+			if (v != null)
+				rb.header(h, v);
+		}
+		HttpResponse<byte[]> resp = client.send(rb.build(), HttpResponse.BodyHandlers.ofByteArray());
+		if (resp.statusCode() >= 500) {
+			logger.warn("[Fixtures] {} answered {}; not recorded", url, resp.statusCode());
+			return null;
+		}
+
+		Entry e = new Entry();
+		e.url = url;
+		e.status = resp.statusCode();
+		e.contentType = resp.headers().firstValue("Content-Type").orElse("application/octet-stream");
+		e.etag = resp.headers().firstValue("ETag").orElse(null);
+		e.lastModified = resp.headers().firstValue("Last-Modified").orElse(null);
+		e.body = storeBody(resp.body());
+		index.put(url, e);
+		recorded.incrementAndGet();
+		return e;
+	}
+
+	// ------------------------------------------------------------------
+	// Translate requests: recorded per text, replayed for any batching
+	// ------------------------------------------------------------------
+	private void handleTranslate(HttpExchange ex) throws IOException {
+		try {
+			requests.incrementAndGet();
+			if (!"POST".equals(ex.getRequestMethod())) {
+				respond(ex, 405, "text/plain", "Method not allowed".getBytes(StandardCharsets.UTF_8), null, null);
+				return;
+			}
+			byte[] requestBody;
+			try (InputStream in = ex.getRequestBody()) {
+				requestBody = in.readAllBytes();
+			}
+			JsonObject body = WIRE.fromJson(new String(requestBody, StandardCharsets.UTF_8), JsonObject.class);
+			JsonArray q = body != null && body.has("q") ? body.getAsJsonArray("q") : new JsonArray();
+
+			boolean complete = true;
+			for (JsonElement t : q)
+				complete &= translations.containsKey(t.getAsString());
+			if (mode == Mode.RECORD && !complete) {
+				forwardTranslate(ex, requestBody, q);
+				return;
+			}
+
+			if (mode == Mode.REPLAY && latencyMillis > 0)
+				Thread.sleep(latencyMillis);
+			JsonArray out = new JsonArray();
+			for (JsonElement t : q) {
+				String translated = translations.get(t.getAsString());
+				if (translated == null) {
+					misses.incrementAndGet();
+					translated = "[en] " + t.getAsString();
+				}
+				JsonObject o = new JsonObject();
+				o.addProperty("translatedText", translated);
+				out.add(o);
+			}
+			JsonObject data = new JsonObject();
+			data.add("translations", out);
+			JsonObject resp = new JsonObject();
+			resp.add("data", data);
+			respond(ex, 200, "application/json; charset=UTF-8", WIRE.toJson(resp).getBytes(StandardCharsets.UTF_8),
+					null, null);
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (Exception e) {
+			respond(ex, 502, "text/plain", String.valueOf(e.getMessage()).getBytes(StandardCharsets.UTF_8), null,
+					null);
+		} finally {
+			ex.close();
+		}
+	}
+
+	/** Send a translate call upstream (API key in the query), store and relay the answer. */
+	private void forwardTranslate(HttpExchange ex, byte[] requestBody, JsonArray q) throws Exception {
+		String query = ex.getRequestURI().getRawQuery();
+		HttpRequest req = HttpRequest.newBuilder(URI.create(translateUpstream + (query == null ? "" : "?" + query)))
+				.timeout(Duration.ofSeconds(30)).header("Content-Type", "application/json; charset=UTF-8")
+				.header("Accept-Encoding", "gzip").POST(HttpRequest.BodyPublishers.ofByteArray(requestBody)).build();
+		HttpResponse<InputStream> resp = client.send(req, HttpResponse.BodyHandlers.ofInputStream());
+		byte[] bytes;
+		String encoding = resp.headers().firstValue("Content-Encoding").orElse("");
+		try (InputStream in = "gzip".equalsIgnoreCase(encoding.trim()) ? new GZIPInputStream(resp.body())
+				: resp.body()) {
+			bytes = in.readAllBytes();
+		}
+
+		// Only successful answers are recorded; errors are relayed for the client's retry logic
+		if (resp.statusCode() == 200) {
+			JsonArray out = WIRE.fromJson(new String(bytes, StandardCharsets.UTF_8), JsonObject.class)
+					.getAsJsonObject("data").getAsJsonArray("translations");
+			for (int i = 0; i < Math.min(q.size(), out.size()); i++)
+				translations.put(q.get(i).getAsString(),
+						out.get(i).getAsJsonObject().get("translatedText").getAsString());
+		}
+		resp.headers().firstValue("Retry-After").ifPresent(v -> ex.getResponseHeaders().set("Retry-After", v));
+		respond(ex, resp.statusCode(), "application/json; charset=UTF-8", bytes, null, null);
+	}
+
+	// ------------------------------------------------------------------
+	// Helpers
+	// ------------------------------------------------------------------
+
+	/** Point elpais.com URLs at this server (origin at the root, others under /_ext/). */
+	String rewrite(String text) {
+		Matcher m = ELPAIS_URL.matcher(text);
+		StringBuilder sb = new StringBuilder(text.length());
+		while (m.find()) {
+			String host = m.group(1).toLowerCase(Locale.ROOT);
+			String local = host.equals(originHost) ? baseUrl() : baseUrl() + EXT_PREFIX + host;
+			m.appendReplacement(sb, Matcher.quoteReplacement(local));
+		}
+		m.appendTail(sb);
+		return sb.toString();
+	}
+
+	private static boolean isText(String contentType) {
+		if (contentType == null)
+			return false;
+		String t = contentType.toLowerCase(Locale.ROOT);
+		return t.startsWith("text/") || t.contains("javascript") || t.contains("json") || t.contains("xml");
+	}
+
+	/** Store a body under its SHA-256 (identical bodies are kept once). */
+	private String storeBody(byte[] bytes) throws Exception {
+		String name = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+		Path file = dir.resolve("bodies").resolve(name);
+		if (!Files.exists(file)) {
+			Files.createDirectories(file.getParent());
+			Path tmp = Files.createTempFile(file.getParent(), name, ".tmp");
+			Files.write(tmp, bytes);
+			Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		return name;
+	}
+
+	private static void respond(HttpExchange ex, int status, String contentType, byte[] body, String etag,
+			String lastModified) throws IOException {
+		if (contentType != null)
+			ex.getResponseHeaders().set("Content-Type", contentType);
+		if (etag != null)
+			ex.getResponseHeaders().set("ETag", etag);
+		if (lastModified != null)
+			ex.getResponseHeaders().set("Last-Modified", lastModified);
+		ex.getResponseHeaders().set("Cache-Control", "no-cache");
+		if (body == null || status == 304) {
+			ex.sendResponseHeaders(status, -1);
+			return;
+		}
+		ex.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+		try (OutputStream os = ex.getResponseBody()) {
+			os.write(body);
+		}
+	}
+
+	private void load() throws IOException {
+		Path indexFile = dir.resolve("index.json");
+		Path translationsFile = dir.resolve("translations.json");
+		if (Files.exists(indexFile)) {
+			try (Reader r = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+				Map<String, Entry> m = GSON.fromJson(r, new TypeToken<Map<String, Entry>>() {
+				}.getType());
+				if (m != null)
+					index.putAll(m);
+			}
+		}
+		if (Files.exists(translationsFile)) {
+			try (Reader r = Files.newBufferedReader(translationsFile, StandardCharsets.UTF_8)) {
+				Map<String, String> m = GSON.fromJson(r, new TypeToken<Map<String, String>>() {
+				}.getType());
+				if (m != null)
+					translations.putAll(m);
+			}
+		}
+		if (mode == Mode.REPLAY && index.isEmpty())
+			logger.warn("[Fixtures] No recordings in {}; every request will miss", dir);
+	}
+
+	private void save() throws IOException {
+		Files.createDirectories(dir);
+		writeJson(dir.resolve("index.json"), new TreeMap<>(index));
+		writeJson(dir.resolve("translations.json"), new TreeMap<>(translations));
+	}
+
+	private static void writeJson(Path file, Object value) throws IOException {
+		Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+		try (Writer w = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+			GSON.toJson(value, w);
+		}
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+		if (mode == Mode.RECORD) {
+			try {
+				save();
+				logger.info("[Fixtures] Recorded {} new responses ({} total, {} translations) to {}", recorded.get(),
+						index.size(), translations.size(), dir);
+			} catch (IOException e) {
+				logger.warn("[Fixtures] Could not save fixture bundle {}: {}", dir, e.getMessage());
+			}
+		} else {
+			logger.info("[Fixtures] Replayed {} requests from {} ({} misses)", requests.get(), dir, misses.get());
+		}
+	}
+
+	/** Command-line entry point: run until the JVM is stopped (Ctrl+C saves a recording). */
+	public static void main(String[] args) throws Exception {
+		if (args.length < 2) {
+			System.err.println("Usage: FixtureServer record|replay <dir> [port] [latencyMillis]");
+			System.exit(2);
+		}
+		Mode mode = Mode.valueOf(args[0].toUpperCase(Locale.ROOT));
+		int port = args.length > 2 ? Integer.parseInt(args[2]) : 8091;
+		long latency = args.length > 3 ? Long.parseLong(args[3]) : 0;
+		FixtureServer s = new FixtureServer(mode, Path.of(args[1]), port,
+				System.getProperty("fixtureOrigin", DEFAULT_ORIGIN),
+				System.getProperty("translateEndpoint", DEFAULT_TRANSLATE_UPSTREAM), latency);
+		Runtime.getRuntime().addShutdownHook(new Thread(s::close));
+	}
+}
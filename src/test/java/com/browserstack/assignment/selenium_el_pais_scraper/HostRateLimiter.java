@@ -0,0 +1,72 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-host token bucket limiter for polite crawling.
+ *
+ * Each host gets a bucket refilled at 'ratePerSecond' tokens per second, up to
+ * 'burst' tokens. acquire() reserves a token and sleeps until it is due, so
+ * concurrent workers hitting the same host are spaced out evenly while workers
+ * on other hosts are not held back.
+ */
+public class HostRateLimiter {
+
+	private final double ratePerSecond;
+	private final double burst;
+	private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+	private static final class Bucket {
+		double tokens;
+		long lastRefillNanos;
+
+		Bucket(double tokens) {
+			this.tokens = tokens;
+			this.lastRefillNanos = System.nanoTime();
+		}
+	}
+
+	/**
+	 * @param ratePerSecond sustained requests per second per host.
+	 * @param burst         requests allowed back to back after an idle period.
+	 */
+	public HostRateLimiter(double ratePerSecond, int burst) {
+		if (ratePerSecond <= 0)
+			throw new IllegalArgumentException("ratePerSecond must be > 0");
+		this.ratePerSecond = ratePerSecond;
+		this.burst = Math.max(1, burst);
+	}
+
+	/** Block until a request to the URL's host is allowed. */
+	public void acquire(String url) throws InterruptedException {
+		long waitNanos = reserve(hostOf(url));
+		if (waitNanos > 0)
+			Thread.sleep(waitNanos / 1_000_000L, (int) (waitNanos % 1_000_000L));
+	}
+
+	/**
+	 * Take one token (possibly going negative) and return how long the caller
+	 * must wait for it to be covered by refills.
+	 */
+	private long reserve(String host) {
+		Bucket b = buckets.computeIfAbsent(host, h -> new Bucket(burst));
+		synchronized (b) {
+			long now = System.nanoTime();
+			b.tokens = Math.min(burst, b.tokens + (now - b.lastRefillNanos) * ratePerSecond / 1e9);
+			b.lastRefillNanos = now;
+			b.tokens -= 1;
+			return b.tokens >= 0 ? 0 : (long) (-b.tokens / ratePerSecond * 1e9);
+		}
+	}
+
+	static String hostOf(String url) {
+		try {
+			String host = URI.create(url).getHost();
+			return host == null ? "" : host.toLowerCase();
+		} catch (IllegalArgumentException e) {
+			return "";
+		}
+	}
+}
@@ -0,0 +1,407 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Minimal, forgiving HTML parser used by the HTTP fetch engine.
+ *
+ * It builds a lightweight element tree (tags, attributes and text) that is
+ * good enough to evaluate the handful of selectors in ElPaisElements without a
+ * browser. It is not a full HTML5 parser: unknown constructs are skipped,
+ * unclosed elements are closed implicitly when a matching ancestor closes, and
+ * script/style bodies are ignored.
+ */
+public class HtmlDocument {
+
+	/** Elements that never have children or a closing tag. */
+	private static final Set<String> VOID_TAGS = Set.of("area", "base", "br", "col", "embed", "hr", "img", "input",
+			"link", "meta", "param", "source", "track", "wbr");
+
+	/** Elements whose content is raw text and must not be parsed as markup. */
+	private static final Set<String> RAW_TEXT_TAGS = Set.of("script", "style", "noscript", "template");
+
+	/** Elements closed implicitly when another block starts (e.g. {@code <p>}). */
+	private static final Set<String> CLOSES_P = Set.of("p", "div", "ul", "ol", "h1", "h2", "h3", "h4", "h5", "h6",
+			"header", "footer", "section", "article", "figure", "table", "blockquote");
+
+	private final Element root = new Element("#root", null);
+
+	private HtmlDocument() {
+	}
+
+	/** Root of the element tree (a synthetic element without a tag name). */
+	public Element root() {
+		return root;
+	}
+
+	/**
+	 * Parse an HTML string into a document. Never throws on malformed input.
+	 *
+	 * @param html page source; null is treated as an empty document.
+	 */
+	public static HtmlDocument parse(String html) {
+		HtmlDocument doc = new HtmlDocument();
+		if (html == null || html.isEmpty())
+			return doc;
+
+		List<Element> stack = new ArrayList<>();
+		stack.add(doc.root);
+		int len = html.length();
+		int i = 0;
+		while (i < len) {
+			int lt = html.indexOf('<', i);
+			if (lt < 0) {
+				appendText(stack, html, i, len);
+				break;
+			}
+			if (lt > i)
+				appendText(stack, html, i, lt);
+
+			// Comments, doctype and processing instructions are skipped
+			if (html.startsWith("<!--", lt)) {
+				int end = html.indexOf("-->", lt + 4);
+				i = end < 0 ? len : end + 3;
+				continue;
+			}
+			if (lt + 1 < len && (html.charAt(lt + 1) == '!' || html.charAt(lt + 1) == '?')) {
+				int end = html.indexOf('>', lt);
+				i = end < 0 ? len : end + 1;
+				continue;
+			}
+
+			// Closing tag
+			if (lt + 1 < len && html.charAt(lt + 1) == '/') {
+				int end = html.indexOf('>', lt);
+				if (end < 0)
+					break;
+				String name = html.substring(lt + 2, end).trim().toLowerCase(Locale.ROOT);
+				closeElement(stack, name);
+				i = end + 1;
+				continue;
+			}
+
+			// Opening tag: must start with a letter, otherwise treat '<' as text
+			if (lt + 1 >= len || !Character.isLetter(html.charAt(lt + 1))) {
+				appendText(stack, html, lt, lt + 1);
+				i = lt + 1;
+				continue;
+			}
+
+			int[] endPos = new int[1];
+			Element el = parseStartTag(html, lt + 1, endPos);
+			i = endPos[0];
+
+			if ("p".equals(el.tag) || CLOSES_P.contains(el.tag))
+				implicitlyCloseParagraph(stack);
+
+			Element parent = stack.get(stack.size() - 1);
+			el.parent = parent;
+			parent.children.add(el);
+
+			if (RAW_TEXT_TAGS.contains(el.tag)) {
+				// Skip raw content up to the matching closing tag
+				int close = indexOfIgnoreCase(html, "</" + el.tag, i);
+				if (close < 0) {
+					i = len;
+				} else {
+					int end = html.indexOf('>', close);
+					i = end < 0 ? len : end + 1;
+				}
+			} else if (!el.selfClosing && !VOID_TAGS.contains(el.tag)) {
+				stack.add(el);
+			}
+		}
+		return doc;
+	}
+
+	// ------------------------------------------------------------------
+	// Parse "<tag attr=value ...>" starting just after '<'. endPos[0] receives
+	// the index after the closing '>'.
+	// ------------------------------------------------------------------
+	private static Element parseStartTag(String html, int pos, int[] endPos) {
+		int len = html.length();
+		int i = pos;
+		while (i < len && !Character.isWhitespace(html.charAt(i)) && html.charAt(i) != '>' && html.charAt(i) != '/')
+			i++;
+		Element el = new Element(html.substring(pos, i).toLowerCase(Locale.ROOT), null);
+
+		while (i < len) {
+			char c = html.charAt(i);
+			if (c == '>') {
+				i++;
+				break;
+			}
+			if (c == '/') {
+				el.selfClosing = i + 1 < len && html.charAt(i + 1) == '>';
+				i++;
+				continue;
+			}
+			if (Character.isWhitespace(c)) {
+				i++;
+				continue;
+			}
+
+			// Attribute name
+			int nameStart = i;
+			while (i < len && !Character.isWhitespace(html.charAt(i)) && html.charAt(i) != '='
+					&& html.charAt(i) != '>' && html.charAt(i) != '/')
+				i++;
+			String name = html.substring(nameStart, i).toLowerCase(Locale.ROOT);
+			while (i < len && Character.isWhitespace(html.charAt(i)))
+				i++;
+
+			String value = "";
+			if (i < len && html.charAt(i) == '=') {
+				i++;
+				while (i < len && Character.isWhitespace(html.charAt(i)))
+					i++;
+				if (i < len && (html.charAt(i) == '"' || html.charAt(i) == '\'')) {
+					char quote = html.charAt(i);
+					int close = html.indexOf(quote, i + 1);
+					if (close < 0)
+						close = len;
+					value = html.substring(i + 1, close);
+					i = Math.min(len, close + 1);
+				} else {
+					int valStart = i;
+					while (i < len && !Character.isWhitespace(html.charAt(i)) && html.charAt(i) != '>')
+						i++;
+					value = html.substring(valStart, i);
+				}
+			}
+			if (!name.isEmpty())
+				el.attributes.putIfAbsent(name, decodeEntities(value));
+		}
+		endPos[0] = i;
+		return el;
+	}
+
+	private static void appendText(List<Element> stack, String html, int from, int to) {
+		String text = html.substring(from, to);
+		if (!text.isEmpty())
+			stack.get(stack.size() - 1).children.add(decodeEntities(text));
+	}
+
+	/** Pop the stack up to (and including) the nearest open element named 'name'. */
+	private static void closeElement(List<Element> stack, String name) {
+		for (int k = stack.size() - 1; k > 0; k--) {
+			if (stack.get(k).tag.equals(name)) {
+				while (stack.size() > k)
+					stack.remove(stack.size() - 1);
+				return;
+			}
+		}
+		// Stray closing tag without an open element: ignore
+	}
+
+	/** An open {@code <p>} is closed by the start of another block element. */
+	private static void implicitlyCloseParagraph(List<Element> stack) {
+		Element top = stack.get(stack.size() - 1);
+		if ("p".equals(top.tag))
+			stack.remove(stack.size() - 1);
+	}
+
+	private static int indexOfIgnoreCase(String s, String needle, int from) {
+		int max = s.length() - needle.length();
+		for (int i = from; i <= max; i++) {
+			if (s.regionMatches(true, i, needle, 0, needle.length()))
+				return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Decode the character references that matter for titles and paragraphs:
+	 * numeric references plus the most common named entities.
+	 */
+	static String decodeEntities(String s) {
+		int amp = s.indexOf('&');
+		if (amp < 0)
+			return s;
+
+		StringBuilder sb = new StringBuilder(s.length());
+		int i = 0;
+		while (amp >= 0) {
+			sb.append(s, i, amp);
+			int semi = s.indexOf(';', amp);
+			String decoded = null;
+			if (semi > amp + 1 && semi - amp <= 10) {
+				String ref = s.substring(amp + 1, semi);
+				decoded = decodeReference(ref);
+			}
+			if (decoded != null) {
+				sb.append(decoded);
+				i = semi + 1;
+			} else {
+				sb.append('&');
+				i = amp + 1;
+			}
+			amp = s.indexOf('&', i);
+		}
+		sb.append(s, i, s.length());
+		return sb.toString();
+	}
+
+	private static String decodeReference(String ref) {
+		if (ref.startsWith("#")) {
+			try {
+				int cp = (ref.length() > 1 && (ref.charAt(1) == 'x' || ref.charAt(1) == 'X'))
+						? Integer.parseInt(ref.substring(2), 16)
+						: Integer.parseInt(ref.substring(1));
+				return Character.isValidCodePoint(cp) ? new String(Character.toChars(cp)) : null;
+			} catch (NumberFormatException e) {
+				return null;
+			}
+		}
+		switch (ref) {
+		case "amp":
+			return "&";
+		case "lt":
+			return "<";
+		case "gt":
+			return ">";
+		case "quot":
+			return "\"";
+		case "apos":
+			return "'";
+		case "nbsp":
+			return " ";
+		case "laquo":
+			return "«";
+		case "raquo":
+			return "»";
+		case "ldquo":
+			return "“";
+		case "rdquo":
+			return "”";
+		case "lsquo":
+			return "‘";
+		case "rsquo":
+			return "’";
+		case "mdash":
+			return "—";
+		case "ndash":
+			return "–";
+		case "hellip":
+			return "…";
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * A parsed element. Children are either nested Elements or decoded text
+	 * Strings, in document order.
+	 */
+	public static class Element {
+
+		/** Lower-case tag name. */
+		public final String tag;
+
+		/** Attributes in source order (names lower-cased, values decoded). */
+		public final Map<String, String> attributes = new LinkedHashMap<>();
+
+		/** Child nodes: Element or String (text). */
+		public final List<Object> children = new ArrayList<>();
+
+		Element parent;
+		boolean selfClosing;
+
+		Element(String tag, Element parent) {
+			this.tag = tag;
+			this.parent = parent;
+		}
+
+		/** Attribute value or null when absent. */
+		public String attr(String name) {
+			return attributes.get(name);
+		}
+
+		public Element parent() {
+			return parent;
+		}
+
+		/** Element children only (text nodes skipped). */
+		public List<Element> childElements() {
+			List<Element> out = new ArrayList<>();
+			for (Object c : children) {
+				if (c instanceof Element)
+					out.add((Element) c);
+			}
+			return out;
+		}
+
+		/** Element siblings that follow this element under the same parent. */
+		public List<Element> followingSiblings() {
+			List<Element> out = new ArrayList<>();
+			if (parent == null)
+				return out;
+			boolean seen = false;
+			for (Object c : parent.children) {
+				if (c == this)
+					seen = true;
+				else if (seen && c instanceof Element)
+					out.add((Element) c);
+			}
+			return out;
+		}
+
+		/** First descendant with the given tag (document order), or null. */
+		public Element first(String tagName) {
+			for (Object c : children) {
+				if (c instanceof Element) {
+					Element e = (Element) c;
+					if (e.tag.equals(tagName))
+						return e;
+					Element found = e.first(tagName);
+					if (found != null)
+						return found;
+				}
+			}
+			return null;
+		}
+
+		/** All descendants with the given tag in document order. */
+		public List<Element> findAll(String tagName) {
+			List<Element> out = new ArrayList<>();
+			collect(tagName, out);
+			return out;
+		}
+
+		private void collect(String tagName, List<Element> out) {
+			for (Object c : children) {
+				if (c instanceof Element) {
+					Element e = (Element) c;
+					if (e.tag.equals(tagName))
+						out.add(e);
+					e.collect(tagName, out);
+				}
+			}
+		}
+
+		/** Concatenated descendant text with whitespace collapsed and trimmed. */
+		public String text() {
+			StringBuilder sb = new StringBuilder();
+			appendText(sb);
+			return sb.toString().replaceAll("[\\s ]+", " ").trim();
+		}
+
+		private void appendText(StringBuilder sb) {
+			for (Object c : children) {
+				if (c instanceof String)
+					sb.append((String) c);
+				else {
+					Element e = (Element) c;
+					if ("br".equals(e.tag))
+						sb.append(' ');
+					e.appendText(sb);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,385 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Selenium-free fetch engine for article pages.
+ *
+ * El País article pages are server-rendered, so title, body paragraphs and
+ * header image can be read from the raw HTML. This class downloads pages with
+ * a shared java.net.http.HttpClient (HTTP/2 with HTTP/1.1 keep-alive fallback)
+ * and evaluates the ElPaisElements selectors against an HtmlDocument.
+ *
+ * Usage notes: - fetchAll() fetches many pages concurrently (bounded by
+ * -DhttpFetchConcurrency, default 16) and returns results in input order. -
+ * A PageExtract that is not complete() should be re-visited with WebDriver. -
+ * Passing known SeenArticleStore records makes the requests conditional
+ * (If-None-Match / If-Modified-Since); a 304 answer yields notModified.
+ */
+public class HttpArticleFetcher {
+
+	private static final Logger logger = LoggerFactory.getLogger(HttpArticleFetcher.class);
+
+	/** Browser-like user agent; some CDNs serve reduced markup to unknown clients. */
+	private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 "
+			+ "(KHTML, like Gecko) Chrome/141.0 Safari/537.36";
+
+	/** Maximum number of page requests in flight at once. */
+	static final int MAX_IN_FLIGHT = Math.max(1, Integer.getInteger("httpFetchConcurrency", 16));
+
+	/**
+	 * The alternatives of the title, first-paragraph and body chains in
+	 * ElPaisElements, evaluated against a parsed page (by Alternative.key()).
+	 */
+	private static final Map<String, Function<HtmlDocument.Element, List<HtmlDocument.Element>>> ALTERNATIVES = Map.of(
+			"css:article header h1", HttpArticleFetcher::articleHeaderTitles,
+			"css:h1", root -> root.findAll("h1"),
+			"xpath:" + ElPaisElements.ARTICLE_TITLE_XPATH, root -> root.findAll("h1"),
+			"css:article .a_c > p", HttpArticleFetcher::articleBodyParagraphs,
+			"css:header ~ div > p", HttpArticleFetcher::paragraphsAfterHeader,
+			"xpath:" + ElPaisElements.BODY_PARAGRAPHS_XPATH, HttpArticleFetcher::paragraphsAfterHeader,
+			"xpath:" + ElPaisElements.FIRST_PARAGRAPH_XPATH, root -> {
+				List<HtmlDocument.Element> all = paragraphsAfterHeader(root);
+				return all.isEmpty() ? all : all.subList(0, 1);
+			});
+
+	/** One client per JVM so connections (and HTTP/2 streams) are reused. */
+	private static final HttpClient CLIENT = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2)
+			.followRedirects(HttpClient.Redirect.NORMAL).connectTimeout(Duration.ofSeconds(10)).build();
+
+	/**
+	 * Fields extracted from one article page. Fields that could not be found are
+	 * empty strings (image candidates may be null).
+	 */
+	public static class PageExtract {
+		public final String url;
+		public String title = "";
+		public String firstParagraph = "";
+		/** Every body paragraph, separated by blank lines. */
+		public String body = "";
+		public String imgSrc;
+		public String imgDataSrc;
+		public String imgLazySrc;
+		public String imgSrcset;
+		/** &lt;source&gt; elements when the image is inside a &lt;picture&gt;. */
+		public List<SrcsetSelector.Source> imgSources;
+
+		/** Response validators (null when absent or not fetched over HTTP). */
+		public String etag;
+		public String lastModified;
+
+		/** True when a conditional request was answered with 304 Not Modified. */
+		public boolean notModified;
+
+		public PageExtract(String url) {
+			this.url = url;
+		}
+
+		/** True when all required fields (title and first paragraph) were found. */
+		public boolean isComplete() {
+			return !title.isBlank() && !firstParagraph.isBlank();
+		}
+
+		/**
+		 * Image URL to download: the smallest picture/srcset candidate of at least
+		 * SrcsetSelector.TARGET_WIDTH, else src, data-src or data-lazy-src (resolved
+		 * against the page URL); null if there is none.
+		 */
+		public String imageUrl() {
+			String src = null;
+			for (String candidate : new String[] { imgSrc, imgDataSrc, imgLazySrc }) {
+				if (candidate != null && !candidate.isBlank()) {
+					src = candidate;
+					break;
+				}
+			}
+			return resolve(url, SrcsetSelector.select(imgSources, imgSrcset, src, SrcsetSelector.TARGET_WIDTH));
+		}
+	}
+
+	/**
+	 * Fetch and extract a single page. Returns an empty (incomplete) extract on
+	 * any network or HTTP error.
+	 */
+	public PageExtract fetch(String url) {
+		return fetchAsync(url, null).join();
+	}
+
+	/**
+	 * Like fetch(url), but conditional on the ETag / Last-Modified of 'known'
+	 * (may be null).
+	 */
+	public PageExtract fetch(String url, SeenArticleStore.Record known) {
+		return fetchAsync(url, known).join();
+	}
+
+	/**
+	 * Fetch and parse any HTML page (e.g. a section listing). Returns null on any
+	 * network or HTTP error.
+	 */
+	public HtmlDocument fetchDocument(String url) {
+		try {
+			HttpResponse<String> resp = CLIENT.send(newRequest(url).GET().build(),
+					HttpResponse.BodyHandlers.ofString());
+			if (resp.statusCode() < 200 || resp.statusCode() >= 300) {
+				logger.warn("[HttpFetch] HTTP {} for {}", resp.statusCode(), url);
+				return null;
+			}
+			return HtmlDocument.parse(resp.body());
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			return null;
+		} catch (Exception e) {
+			logger.warn("[HttpFetch] Request failed for {}: {}", url, e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Fetch and extract all pages concurrently. The result list has the same size
+	 * and order as the input.
+	 */
+	public List<PageExtract> fetchAll(List<String> urls) {
+		return fetchAll(urls, Map.of());
+	}
+
+	/**
+	 * Like fetchAll(urls), but URLs with a record in 'known' are requested
+	 * conditionally using the stored ETag / Last-Modified.
+	 */
+	public List<PageExtract> fetchAll(List<String> urls, Map<String, SeenArticleStore.Record> known) {
+		Semaphore permits = new Semaphore(MAX_IN_FLIGHT);
+		List<CompletableFuture<PageExtract>> futures = new ArrayList<>();
+		for (String url : urls) {
+			permits.acquireUninterruptibly();
+			futures.add(fetchAsync(url, known.get(url)).whenComplete((r, t) -> permits.release()));
+		}
+
+		List<PageExtract> out = new ArrayList<>();
+		for (CompletableFuture<PageExtract> f : futures)
+			out.add(f.join());
+		return out;
+	}
+
+	private CompletableFuture<PageExtract> fetchAsync(String url, SeenArticleStore.Record known) {
+		HttpRequest request;
+		try {
+			HttpRequest.Builder b = newRequest(url);
+			if (known != null && known.etag != null)
+				b.header("If-None-Match", known.etag);
+			if (known != null && known.lastModified != null)
+				b.header("If-Modified-Since", known.lastModified);
+			request = b.GET().build();
+		} catch (IllegalArgumentException e) {
+			logger.warn("[HttpFetch] Invalid URL {}: {}", url, e.getMessage());
+			return CompletableFuture.completedFuture(new PageExtract(url));
+		}
+
+		return CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofString()).handle((resp, err) -> {
+			if (err != null) {
+				logger.warn("[HttpFetch] Request failed for {}: {}", url, err.getMessage());
+				return new PageExtract(url);
+			}
+			if (resp.statusCode() == 304) {
+				PageExtract unchanged = new PageExtract(url);
+				unchanged.notModified = true;
+				unchanged.etag = resp.headers().firstValue("ETag").orElse(known == null ? null : known.etag);
+				unchanged.lastModified = resp.headers().firstValue("Last-Modified")
+						.orElse(known == null ? null : known.lastModified);
+				return unchanged;
+			}
+			if (resp.statusCode() < 200 || resp.statusCode() >= 300) {
+				logger.warn("[HttpFetch] HTTP {} for {}", resp.statusCode(), url);
+				return new PageExtract(url);
+			}
+			PageExtract ex = extract(url, HtmlDocument.parse(resp.body()));
+			ex.etag = resp.headers().firstValue("ETag").orElse(null);
+			ex.lastModified = resp.headers().firstValue("Last-Modified").orElse(null);
+			return ex;
+		});
+	}
+
+	private static HttpRequest.Builder newRequest(String url) {
+		return HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(20)).header("User-Agent", USER_AGENT)
+				.header("Accept", "text/html,application/xhtml+xml").header("Accept-Language", "es-ES,es;q=0.9");
+	}
+
+	/**
+	 * Evaluate the article selectors from ElPaisElements against a parsed page.
+	 * Title, first paragraph and body go through ARTICLE_TITLE_CHAIN,
+	 * FIRST_PARAGRAPH_CHAIN and BODY_PARAGRAPHS_CHAIN in their current order, as
+	 * the browser engines do, so every engine reads the same paragraphs (and
+	 * SeenArticleStore.contentHash matches). image = //article/header//img.
+	 * Relative image URLs are resolved against the page URL.
+	 */
+	public static PageExtract extract(String url, HtmlDocument doc) {
+		PageExtract out = new PageExtract(url);
+		HtmlDocument.Element root = doc.root();
+
+		List<HtmlDocument.Element> h1 = findAll(ElPaisElements.ARTICLE_TITLE_CHAIN, root);
+		if (!h1.isEmpty())
+			out.title = h1.get(0).text();
+
+		List<HtmlDocument.Element> first = findAll(ElPaisElements.FIRST_PARAGRAPH_CHAIN, root);
+		if (!first.isEmpty())
+			out.firstParagraph = first.get(0).text();
+
+		List<String> paragraphs = new ArrayList<>();
+		for (HtmlDocument.Element p : findAll(ElPaisElements.BODY_PARAGRAPHS_CHAIN, root))
+			paragraphs.add(p.text());
+		out.body = joinParagraphs(paragraphs);
+
+		outer: for (HtmlDocument.Element article : root.findAll("article")) {
+			for (HtmlDocument.Element header : article.childElements()) {
+				if (!"header".equals(header.tag))
+					continue;
+				HtmlDocument.Element img = header.first("img");
+				if (img != null) {
+					out.imgSrc = resolve(url, img.attr("src"));
+					out.imgDataSrc = resolve(url, img.attr("data-src"));
+					out.imgLazySrc = resolve(url, img.attr("data-lazy-src"));
+					out.imgSrcset = img.attr("srcset") != null ? img.attr("srcset") : img.attr("data-srcset");
+					out.imgSources = pictureSources(img);
+					break outer;
+				}
+			}
+		}
+		return out;
+	}
+
+	/**
+	 * Elements of the first alternative of 'chain' (current order) that matches
+	 * anything, like SelectorChain.findAll does in the browser; an empty list if
+	 * none does.
+	 */
+	static List<HtmlDocument.Element> findAll(SelectorChain chain, HtmlDocument.Element root) {
+		for (SelectorChain.Alternative a : chain.ordered()) {
+			Function<HtmlDocument.Element, List<HtmlDocument.Element>> evaluate = ALTERNATIVES.get(a.key());
+			if (evaluate == null) {
+				logger.debug("[HttpFetch] No HTML evaluator for {} of {}", a.key(), chain.name());
+				continue;
+			}
+			List<HtmlDocument.Element> found = evaluate.apply(root);
+			if (!found.isEmpty())
+				return found;
+		}
+		return List.of();
+	}
+
+	/**
+	 * Article body from paragraph texts, as every engine builds it: trimmed,
+	 * blank ones dropped, separated by blank lines.
+	 */
+	static String joinParagraphs(List<String> texts) {
+		StringBuilder body = new StringBuilder();
+		for (String text : texts) {
+			if (text != null && !text.isBlank())
+				body.append(body.length() == 0 ? "" : "\n\n").append(text.trim());
+		}
+		return body.toString();
+	}
+
+	/** True if the HTTP engine can evaluate the alternative (see ALTERNATIVES). */
+	static boolean supports(SelectorChain.Alternative a) {
+		return ALTERNATIVES.containsKey(a.key());
+	}
+
+	// article header h1
+	private static List<HtmlDocument.Element> articleHeaderTitles(HtmlDocument.Element root) {
+		List<HtmlDocument.Element> out = new ArrayList<>();
+		for (HtmlDocument.Element h1 : root.findAll("h1")) {
+			HtmlDocument.Element header = ancestor(h1, "header");
+			if (header != null && ancestor(header, "article") != null)
+				out.add(h1);
+		}
+		return out;
+	}
+
+	// article .a_c > p
+	private static List<HtmlDocument.Element> articleBodyParagraphs(HtmlDocument.Element root) {
+		List<HtmlDocument.Element> out = new ArrayList<>();
+		for (HtmlDocument.Element p : root.findAll("p")) {
+			HtmlDocument.Element parent = p.parent();
+			if (parent != null && hasClass(parent, "a_c") && ancestor(parent, "article") != null)
+				out.add(p);
+		}
+		return out;
+	}
+
+	// header ~ div > p, i.e. //header/following-sibling::div/p (document order, each p once)
+	private static List<HtmlDocument.Element> paragraphsAfterHeader(HtmlDocument.Element root) {
+		List<HtmlDocument.Element> out = new ArrayList<>();
+		for (HtmlDocument.Element p : root.findAll("p")) {
+			HtmlDocument.Element div = p.parent();
+			if (div == null || !"div".equals(div.tag) || div.parent() == null)
+				continue;
+			for (HtmlDocument.Element sibling : div.parent().childElements()) {
+				if (sibling == div)
+					break;
+				if ("header".equals(sibling.tag)) {
+					out.add(p);
+					break;
+				}
+			}
+		}
+		return out;
+	}
+
+	private static HtmlDocument.Element ancestor(HtmlDocument.Element e, String tag) {
+		for (HtmlDocument.Element a = e.parent(); a != null; a = a.parent()) {
+			if (tag.equals(a.tag))
+				return a;
+		}
+		return null;
+	}
+
+	private static boolean hasClass(HtmlDocument.Element e, String name) {
+		String cls = e.attr("class");
+		if (cls == null)
+			return false;
+		for (String c : cls.trim().split("\\s+")) {
+			if (c.equals(name))
+				return true;
+		}
+		return false;
+	}
+
+	/** The &lt;source&gt; elements of the img's parent &lt;picture&gt;, or null. */
+	private static List<SrcsetSelector.Source> pictureSources(HtmlDocument.Element img) {
+		HtmlDocument.Element parent = img.parent();
+		if (parent == null || !"picture".equals(parent.tag))
+			return null;
+		List<SrcsetSelector.Source> sources = new ArrayList<>();
+		for (HtmlDocument.Element child : parent.childElements()) {
+			if ("source".equals(child.tag)) {
+				String srcset = child.attr("srcset") != null ? child.attr("srcset") : child.attr("data-srcset");
+				sources.add(new SrcsetSelector.Source(srcset, child.attr("type"), child.attr("media")));
+			}
+		}
+		return sources;
+	}
+
+	/** Resolve a possibly relative URL against the page URL. */
+	static String resolve(String base, String ref) {
+		if (ref == null || ref.isBlank())
+			return ref;
+		try {
+			return URI.create(base).resolve(ref.trim()).toString();
+		} catch (IllegalArgumentException e) {
+			return ref;
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for the HTTP fetch engine against saved pages served by
+ * LocalPageServer (field extraction, validators, 304 revalidation, errors).
+ * Runs without a browser or network:
+ * mvn test -Dconfig.file=config/unit-tests.xml
+ */
+public class HttpArticleFetcherTest {
+
+	private static final String ARTICLE = "<!DOCTYPE html><html><body><article><header>"
+			+ "<h1>Un título de opinión</h1>"
+			+ "<picture><source type=\"image/webp\" srcset=\"/img/a-400.webp 400w, /img/a-800.webp 800w\">"
+			+ "<img src=\"/img/a.jpg\" srcset=\"/img/a-400.jpg 400w\"></picture>"
+			+ "</header><div><p>Primer párrafo.</p><p>  Segundo\n párrafo. </p><p></p><p>Tercero.</p></div>"
+			+ "</article></body></html>";
+
+	private static final String NO_BODY = "<html><body><article><header><h1>Solo título</h1></header>"
+			+ "</article></body></html>";
+
+	/** Body in div.a_c plus a related-stories div: the body alternatives disagree here. */
+	private static final String TWO_BODIES = "<html><body><article><header><h1>Tribuna</h1></header>"
+			+ "<div class=\"a_c\"><p>Uno.</p><p> </p><p>Dos.</p></div>"
+			+ "<div class=\"related\"><p>Relacionado.</p></div></article></body></html>";
+
+	private Path root;
+	private LocalPageServer server;
+	private final HttpArticleFetcher fetcher = new HttpArticleFetcher();
+
+	@BeforeClass
+	public void startServer() throws Exception {
+		root = Files.createTempDirectory("saved-pages");
+		Files.createDirectories(root.resolve("opinion"));
+		Files.writeString(root.resolve("opinion/articulo.html"), ARTICLE, StandardCharsets.UTF_8);
+		Files.writeString(root.resolve("opinion/sin-cuerpo.html"), NO_BODY, StandardCharsets.UTF_8);
+		server = new LocalPageServer(root, 0);
+	}
+
+	@AfterClass(alwaysRun = true)
+	public void stopServer() throws IOException {
+		server.close();
+		try (Stream<Path> walk = Files.walk(root)) {
+			for (Path p : walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList()))
+				Files.deleteIfExists(p);
+		}
+	}
+
+	private String url(String path) {
+		return server.baseUrl() + path;
+	}
+
+	@Test
+	public void extractsArticleFieldsFromSavedPage() {
+		HttpArticleFetcher.PageExtract ex = fetcher.fetch(url("/opinion/articulo.html"));
+
+		assertTrue(ex.isComplete());
+		assertFalse(ex.notModified);
+		assertEquals(ex.title, "Un título de opinión");
+		assertEquals(ex.firstParagraph, "Primer párrafo.");
+		assertEquals(ex.body, "Primer párrafo.\n\nSegundo párrafo.\n\nTercero.");
+		assertEquals(ex.imageUrl(), url("/img/a-400.webp"));
+		assertNotNull(ex.etag);
+		assertNotNull(ex.lastModified);
+	}
+
+	@Test
+	public void revalidatesKnownPagesWithConditionalRequests() {
+		HttpArticleFetcher.PageExtract first = fetcher.fetch(url("/opinion/articulo.html"));
+
+		SeenArticleStore.Record byEtag = new SeenArticleStore.Record();
+		byEtag.etag = first.etag;
+		HttpArticleFetcher.PageExtract again = fetcher.fetch(url("/opinion/articulo.html"), byEtag);
+		assertTrue(again.notModified, "If-None-Match should get 304");
+		assertEquals(again.etag, first.etag);
+		assertEquals(again.title, "");
+
+		SeenArticleStore.Record byDate = new SeenArticleStore.Record();
+		byDate.lastModified = first.lastModified;
+		assertTrue(fetcher.fetch(url("/opinion/articulo.html"), byDate).notModified,
+				"If-Modified-Since should get 304");
+
+		SeenArticleStore.Record stale = new SeenArticleStore.Record();
+		stale.etag = "\"stale\"";
+		HttpArticleFetcher.PageExtract changed = fetcher.fetch(url("/opinion/articulo.html"), stale);
+		assertFalse(changed.notModified);
+		assertTrue(changed.isComplete());
+	}
+
+	@Test
+	public void missingFieldsAndErrorsYieldIncompleteExtracts() {
+		HttpArticleFetcher.PageExtract noBody = fetcher.fetch(url("/opinion/sin-cuerpo.html"));
+		assertEquals(noBody.title, "Solo título");
+		assertFalse(noBody.isComplete());
+
+		HttpArticleFetcher.PageExtract missing = fetcher.fetch(url("/opinion/no-existe.html"));
+		assertFalse(missing.isComplete());
+		assertFalse(missing.notModified);
+	}
+
+	@Test
+	public void evaluatesEveryArticleSelectorAlternative() {
+		for (SelectorChain chain : List.of(ElPaisElements.ARTICLE_TITLE_CHAIN, ElPaisElements.FIRST_PARAGRAPH_CHAIN,
+				ElPaisElements.BODY_PARAGRAPHS_CHAIN)) {
+			for (SelectorChain.Alternative a : chain.ordered())
+				assertTrue(HttpArticleFetcher.supports(a), chain.name() + ": no HTML evaluator for " + a);
+		}
+	}
+
+	@Test
+	public void hashesLikeTheBrowserEngines() {
+		// What the browser's lookup of each alternative returns on TWO_BODIES
+		Map<String, List<String>> inBrowser = Map.of(
+				"css:article .a_c > p", List.of("Uno.", "", "Dos."),
+				"css:header ~ div > p", List.of("Uno.", "", "Dos.", "Relacionado."),
+				"xpath:" + ElPaisElements.BODY_PARAGRAPHS_XPATH, List.of("Uno.", "", "Dos.", "Relacionado."));
+		// Both engines take the first alternative of the chain's current order that matches
+		List<String> paragraphs = inBrowser.get(ElPaisElements.BODY_PARAGRAPHS_CHAIN.ordered().get(0).key());
+		String browserHash = SeenArticleStore.contentHash("Tribuna", "Uno.",
+				HttpArticleFetcher.joinParagraphs(paragraphs));
+
+		HttpArticleFetcher.PageExtract ex = HttpArticleFetcher.extract(url("/opinion/tribuna.html"),
+				HtmlDocument.parse(TWO_BODIES));
+
+		assertEquals(ex.firstParagraph, "Uno.");
+		assertEquals(ex.body, HttpArticleFetcher.joinParagraphs(paragraphs));
+		assertEquals(SeenArticleStore.contentHash(ex.title, ex.firstParagraph, ex.body), browserHash);
+	}
+
+	@Test
+	public void fetchAllKeepsInputOrder() {
+		List<String> urls = List.of(url("/opinion/sin-cuerpo.html"), url("/opinion/no-existe.html"),
+				url("/opinion/articulo.html"));
+		SeenArticleStore.Record known = new SeenArticleStore.Record();
+		known.etag = fetcher.fetch(url("/opinion/articulo.html")).etag;
+
+		List<HttpArticleFetcher.PageExtract> out = fetcher.fetchAll(urls, Map.of(urls.get(2), known));
+
+		assertEquals(out.size(), 3);
+		for (int i = 0; i < urls.size(); i++)
+			assertEquals(out.get(i).url, urls.get(i));
+		assertEquals(out.get(0).title, "Solo título");
+		assertTrue(out.get(2).notModified);
+	}
+}
@@ -0,0 +1,209 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Asynchronous image download service for one scraper run.
+ *
+ * submit() returns immediately with a future of the saved path (null on
+ * failure), so image I/O overlaps with page navigation instead of blocking the
+ * browser. Downloads run through DownloadUtil (shared HttpClient) on virtual
+ * threads when the JVM supports them (Java 21+), otherwise on a pool of
+ * 'maxConcurrent' platform threads; in both cases at most 'maxConcurrent'
+ * downloads are active at once.
+ *
+ * With the ImageStore enabled (default), images are fetched through the
+ * content-addressed store and the run folder only receives hard links to the
+ * stored blobs; awaitAll() also writes manifest.json (URL, file, SHA-256,
+ * size) into the folder.
+ *
+ * Call awaitAll() before reading the results folder, and close() when done.
+ */
+public class ImageDownloadService implements AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(ImageDownloadService.class);
+
+	/** Default concurrency cap (-DimageDownloadConcurrency=N). */
+	public static final int DEFAULT_MAX_CONCURRENT = Math.max(1, Integer.getInteger("imageDownloadConcurrency", 4));
+
+	private final Path folder;
+	private final Semaphore permits;
+	private final ExecutorService executor;
+	private final List<CompletableFuture<String>> pending = new CopyOnWriteArrayList<>();
+	private final List<ManifestEntry> manifest = new CopyOnWriteArrayList<>();
+
+	private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+
+	/** One image of the run folder's manifest.json. */
+	private static class ManifestEntry {
+		String url;
+		/** Hard link in the run folder, or the blob path when links are unsupported. */
+		String file;
+		String sha256;
+		long size;
+	}
+
+	/**
+	 * @param folder        target folder for downloaded images.
+	 * @param maxConcurrent maximum number of downloads in flight.
+	 */
+	public ImageDownloadService(Path folder, int maxConcurrent) {
+		this.folder = folder;
+		this.permits = new Semaphore(Math.max(1, maxConcurrent));
+		this.executor = newExecutor("image-download", Math.max(1, maxConcurrent));
+	}
+
+	/**
+	 * Queue a download. The future completes with the saved path, or null when the
+	 * URL is blank or the download failed (failures are logged by DownloadUtil).
+	 */
+	public CompletableFuture<String> submit(String url) {
+		if (url == null || url.isBlank())
+			return CompletableFuture.completedFuture(null);
+
+		// Pool threads have no capability of their own; tag with the submitter's
+		String capability = Metrics.capability();
+		CompletableFuture<String> f = CompletableFuture.supplyAsync(() -> {
+			permits.acquireUninterruptibly();
+			try (Metrics.Span s = Metrics.time("image.download", capability)) {
+				String saved = ImageStore.shared().isEnabled() ? storeAndLink(url)
+						: DownloadUtil.downloadImage(url, folder.toString());
+				if (saved == null)
+					Metrics.count("images.failed", capability, 1);
+				return saved;
+			} finally {
+				permits.release();
+			}
+		}, executor);
+		pending.add(f);
+		return f;
+	}
+
+	/**
+	 * Block until every submitted download has finished (successfully or not).
+	 *
+	 * @return number of images saved successfully.
+	 */
+	public int awaitAll() {
+		int saved = 0;
+		for (CompletableFuture<String> f : pending) {
+			try {
+				if (f.join() != null)
+					saved++;
+			} catch (Exception e) {
+				logger.warn("[Images] Download task failed: {}", e.getMessage());
+			}
+		}
+		writeManifest();
+		return saved;
+	}
+
+	/** Number of downloads submitted so far. */
+	public int submittedCount() {
+		return pending.size();
+	}
+
+	// Fetch through the content-addressed store and link the blob into the run
+	// folder under the URL's file name.
+	private String storeAndLink(String url) {
+		try {
+			ImageStore.StoredImage image = ImageStore.shared().get(url);
+			if (image == null)
+				return null;
+			Path file = ImageStore.shared().linkInto(image, folder, DownloadUtil.fileNameFor(url));
+
+			ManifestEntry e = new ManifestEntry();
+			e.url = url;
+			e.file = file.startsWith(folder) ? folder.relativize(file).toString() : file.toString();
+			e.sha256 = image.entry.sha256;
+			e.size = image.entry.size;
+			manifest.add(e);
+			return file.toString();
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			logger.warn("[Images] Interrupted while downloading image: {}", url);
+			return null;
+		} catch (Exception e) {
+			logger.warn("[Images] Failed to store image {}: {}", url, e.getMessage());
+			return null;
+		}
+	}
+
+	private void writeManifest() {
+		if (manifest.isEmpty())
+			return;
+		try {
+			Files.createDirectories(folder);
+			Path tmp = Files.createTempFile(folder, ".manifest-", ".tmp");
+			try (Writer w = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+				GSON.toJson(new ArrayList<>(manifest), w);
+			}
+			Files.move(tmp, folder.resolve("manifest.json"), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (Exception e) {
+			logger.warn("[Images] Could not write manifest in {}: {}", folder, e.getMessage());
+		}
+	}
+
+	@Override
+	public void close() {
+		executor.shutdown();
+		try {
+			if (!executor.awaitTermination(30, TimeUnit.SECONDS))
+				executor.shutdownNow();
+		} catch (InterruptedException e) {
+			executor.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	// Use a virtual-thread-per-task executor when running on Java 21+ (the build
+	// targets 17, so it is looked up reflectively); fall back to at most
+	// 'maxThreads' daemon threads, queueing further tasks. Threads are named
+	// 'threadName-N' either way. Also used by ScrapePipeline and TranslatorV2.
+	static ExecutorService newExecutor(String threadName, int maxThreads) {
+		try {
+			Class<?> builder = Class.forName("java.lang.Thread$Builder");
+			Object virtual = builder.getMethod("name", String.class, long.class)
+					.invoke(Thread.class.getMethod("ofVirtual").invoke(null), threadName + "-", 1L);
+			ThreadFactory factory = (ThreadFactory) builder.getMethod("factory").invoke(virtual);
+			return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+					.invoke(null, factory);
+		} catch (ReflectiveOperationException e) {
+			AtomicInteger n = new AtomicInteger();
+			ThreadFactory factory = r -> {
+				Thread t = new Thread(r, threadName + "-" + n.incrementAndGet());
+				t.setDaemon(true);
+				return t;
+			};
+			if (maxThreads == Integer.MAX_VALUE)
+				return Executors.newCachedThreadPool(factory);
+			ThreadPoolExecutor pool = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+					new LinkedBlockingQueue<>(), factory);
+			pool.allowCoreThreadTimeOut(true);
+			return pool;
+		}
+	}
+}
@@ -0,0 +1,342 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Content-addressed store for downloaded images, shared across runs.
+ *
+ * Image bytes are kept once under blobs/&lt;2-char prefix&gt;/&lt;sha256&gt;.&lt;ext&gt;,
+ * keyed by the SHA-256 of the content. An index (index/&lt;2-char
+ * prefix&gt;/&lt;sha256(url)&gt;.json) maps each image URL to its blob hash and
+ * the HTTP validators of the last download. Known URLs are revalidated with a
+ * conditional GET (If-None-Match / If-Modified-Since); on 304 nothing is
+ * transferred. New downloads are streamed to a temp file while hashing and
+ * atomically renamed to the blob name; a blob that already exists (same image
+ * under another URL) is not written again.
+ *
+ * Within one JVM each URL is fetched at most once: concurrent requests for it
+ * share one download (SingleFlight) and later ones reuse the result without
+ * revalidating, so the parallel &lt;test&gt; blocks of a suite cost one set of
+ * image requests.
+ *
+ * Per-run folders get a hard link to the blob (no copy); when the file system
+ * does not support hard links the blob path itself is returned, and
+ * ImageDownloadService records the mapping in the run's manifest.json.
+ *
+ * Usage notes: - Use shared() (ImageDownloadService does). - Override the folder with
+ * -DimageStoreDir (default ~/elpaisscraper/cache/images). - -DimageStore=false
+ * restores plain per-run downloads.
+ */
+public class ImageStore {
+
+	private static final Logger logger = LoggerFactory.getLogger(ImageStore.class);
+
+	private static final ImageStore SHARED = new ImageStore(
+			Path.of(System.getProperty("imageStoreDir", FixtureServer.cacheDir("images").toString())),
+			Boolean.parseBoolean(System.getProperty("imageStore", "true")));
+
+	private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+
+	/** Upper bound for a single image request (headers + body). */
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+	/** Index entry: what is known about one image URL. */
+	public static class Entry {
+		public String url;
+		/** SHA-256 of the image bytes (blob name). */
+		public String sha256;
+		public String extension;
+		public long size;
+		public String etag;
+		public String lastModified;
+		/** ISO-8601 instant of the last download or revalidation. */
+		public String lastChecked;
+	}
+
+	/** Result of get(): the blob and the entry describing it. */
+	public static class StoredImage {
+		public final Path blob;
+		public final Entry entry;
+
+		StoredImage(Path blob, Entry entry) {
+			this.blob = blob;
+			this.entry = entry;
+		}
+	}
+
+	private final Path root;
+	private final boolean enabled;
+
+	/** Images fetched or revalidated by this JVM, by URL. */
+	private final Map<String, StoredImage> fetched = new ConcurrentHashMap<>();
+	private final SingleFlight<String, StoredImage> inFlight = new SingleFlight<>("imageStore");
+
+	private final AtomicInteger downloaded = new AtomicInteger();
+	private final AtomicInteger reused = new AtomicInteger();
+	private final AtomicInteger notModified = new AtomicInteger();
+	private final AtomicInteger deduplicated = new AtomicInteger();
+	private final AtomicLong bytesDownloaded = new AtomicLong();
+
+	/**
+	 * @param root    store folder (blobs/ and index/ are created below it).
+	 * @param enabled when false callers should use plain downloads.
+	 */
+	public ImageStore(Path root, boolean enabled) {
+		this.root = root;
+		this.enabled = enabled;
+	}
+
+	/** JVM-wide store shared by all test threads. */
+	public static ImageStore shared() {
+		return SHARED;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Return the stored image for 'url', downloading or revalidating it first
+	 * unless this JVM already did. Returns null when the image cannot be fetched
+	 * and is not in the store.
+	 */
+	public StoredImage get(String url) throws Exception {
+		StoredImage done = reuse(url);
+		if (done != null)
+			return done;
+		return inFlight.execute(url, () -> {
+			// Another thread may have finished fetching it since the check above
+			StoredImage again = reuse(url);
+			if (again != null)
+				return again;
+			StoredImage image = fetch(url);
+			if (image != null)
+				fetched.put(url, image);
+			return image;
+		});
+	}
+
+	// Result of an earlier fetch in this JVM, if its blob is still there
+	private StoredImage reuse(String url) {
+		StoredImage image = fetched.get(url);
+		if (image == null || !Files.isRegularFile(image.blob))
+			return null;
+		reused.incrementAndGet();
+		return image;
+	}
+
+	private StoredImage fetch(String url) throws Exception {
+		Entry known = readEntry(url);
+		Path knownBlob = known == null ? null : blobPath(known.sha256, known.extension);
+		if (knownBlob != null && !Files.isRegularFile(knownBlob)) {
+			known = null;
+			knownBlob = null;
+		}
+
+		HttpRequest.Builder rb = HttpRequest.newBuilder(URI.create(url)).timeout(REQUEST_TIMEOUT).GET();
+		if (known != null) {
+			if (known.etag != null)
+				rb.header("If-None-Match", known.etag);
+			if (known.lastModified != null)
+				rb.header("If-Modified-Since", known.lastModified);
+		}
+
+		HttpResponse<InputStream> response = DownloadUtil.CLIENT.send(rb.build(),
+				HttpResponse.BodyHandlers.ofInputStream());
+		try (InputStream in = response.body()) {
+			int status = response.statusCode();
+			if (status == 304 && known != null) {
+				notModified.incrementAndGet();
+				known.lastChecked = Instant.now().toString();
+				writeEntry(known);
+				return new StoredImage(knownBlob, known);
+			}
+			if (status < 200 || status >= 300) {
+				logger.warn("[ImageStore] HTTP {} while downloading {}", status, url);
+				return known == null ? null : new StoredImage(knownBlob, known);
+			}
+
+			Entry entry = new Entry();
+			entry.url = url;
+			entry.extension = extensionFor(response.headers().firstValue("Content-Type").orElse(null), url);
+			entry.etag = response.headers().firstValue("ETag").orElse(null);
+			entry.lastModified = response.headers().firstValue("Last-Modified").orElse(null);
+			entry.lastChecked = Instant.now().toString();
+			Path blob = storeBlob(in, entry);
+			writeEntry(entry);
+			downloaded.incrementAndGet();
+			return new StoredImage(blob, entry);
+		}
+	}
+
+	/**
+	 * Make the image available in 'folder' under 'fileName' as a hard link to its
+	 * blob. If the name is taken by a different image, the hash prefix is added to
+	 * the name. Returns the blob path itself when links are not supported.
+	 *
+	 * The name is only ever checked through createLink(), so two different images
+	 * racing for the same name (parallel tests share a run folder) cannot end up
+	 * with the same file.
+	 */
+	public Path linkInto(StoredImage image, Path folder, String fileName) throws Exception {
+		Files.createDirectories(folder);
+		int dot = fileName.lastIndexOf('.');
+		String stem = dot > 0 ? fileName.substring(0, dot) : fileName;
+		String ext = dot > 0 ? fileName.substring(dot) : "." + image.entry.extension;
+		Path[] candidates = { folder.resolve(fileName),
+				folder.resolve(stem + "-" + image.entry.sha256.substring(0, 12) + ext) };
+		for (Path target : candidates) {
+			try {
+				return Files.createLink(target, image.blob);
+			} catch (FileAlreadyExistsException e) {
+				if (Files.isSameFile(target, image.blob))
+					return target;
+				// Taken by a different image: try the hash-suffixed name
+			} catch (UnsupportedOperationException | IOException e) {
+				logger.debug("[ImageStore] Hard link not possible in {} ({}); using blob path", folder, e.getMessage());
+				return image.blob;
+			}
+		}
+		logger.debug("[ImageStore] {} and its hash-suffixed name are taken in {}; using blob path", fileName, folder);
+		return image.blob;
+	}
+
+	/** One-line run summary, e.g. for the end-of-test log. */
+	public String summary() {
+		return String.format(
+				"%d downloaded (%d KB, %d already stored under another URL), %d not modified, %d reused in this JVM",
+				downloaded.get(), bytesDownloaded.get() / 1024, deduplicated.get(), notModified.get(), reused.get());
+	}
+
+	/** Stream the body into a temp file while hashing it, then move it to its blob name. */
+	private Path storeBlob(InputStream in, Entry entry) throws Exception {
+		Path blobs = root.resolve("blobs");
+		Files.createDirectories(blobs);
+		Path tmp = Files.createTempFile(blobs, ".download-", ".tmp");
+		try {
+			MessageDigest md = MessageDigest.getInstance("SHA-256");
+			try (DigestInputStream din = new DigestInputStream(in, md)) {
+				entry.size = Files.copy(din, tmp, StandardCopyOption.REPLACE_EXISTING);
+			}
+			bytesDownloaded.addAndGet(entry.size);
+			entry.sha256 = hex(md.digest());
+
+			Path blob = blobPath(entry.sha256, entry.extension);
+			if (Files.isRegularFile(blob)) {
+				deduplicated.incrementAndGet();
+				return blob;
+			}
+			Files.createDirectories(blob.getParent());
+			Files.move(tmp, blob, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			return blob;
+		} finally {
+			Files.deleteIfExists(tmp);
+		}
+	}
+
+	private Entry readEntry(String url) {
+		Path file = indexPath(url);
+		if (!Files.isRegularFile(file))
+			return null;
+		try (Reader r = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			Entry e = GSON.fromJson(r, Entry.class);
+			return e != null && url.equals(e.url) && e.sha256 != null ? e : null;
+		} catch (Exception e) {
+			logger.debug("[ImageStore] Could not read {}: {}", file, e.getMessage());
+			return null;
+		}
+	}
+
+	private void writeEntry(Entry entry) {
+		Path file = indexPath(entry.url);
+		try {
+			Files.createDirectories(file.getParent());
+			Path tmp = Files.createTempFile(file.getParent(), "entry", ".tmp");
+			try (Writer w = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+				GSON.toJson(entry, w);
+			}
+			Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (Exception e) {
+			logger.debug("[ImageStore] Could not write {}: {}", file, e.getMessage());
+		}
+	}
+
+	private Path blobPath(String sha256, String extension) {
+		return root.resolve("blobs").resolve(sha256.substring(0, 2)).resolve(sha256 + "." + extension);
+	}
+
+	private Path indexPath(String url) {
+		String hash = hex(sha256(url));
+		return root.resolve("index").resolve(hash.substring(0, 2)).resolve(hash + ".json");
+	}
+
+	/** File extension from the Content-Type, else from the URL, else "img". */
+	static String extensionFor(String contentType, String url) {
+		if (contentType != null) {
+			String type = contentType.split(";")[0].trim().toLowerCase(Locale.ROOT);
+			switch (type) {
+			case "image/jpeg":
+				return "jpg";
+			case "image/png":
+				return "png";
+			case "image/webp":
+				return "webp";
+			case "image/gif":
+				return "gif";
+			case "image/avif":
+				return "avif";
+			case "image/svg+xml":
+				return "svg";
+			default:
+				break;
+			}
+		}
+		String name = DownloadUtil.fileNameFor(url);
+		int dot = name.lastIndexOf('.');
+		if (dot > 0 && name.length() - dot <= 5)
+			return name.substring(dot + 1).toLowerCase(Locale.ROOT);
+		return "img";
+	}
+
+	private static byte[] sha256(String s) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(s.getBytes(StandardCharsets.UTF_8));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
+	private static String hex(byte[] bytes) {
+		StringBuilder sb = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes)
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		return sb.toString();
+	}
+}
@@ -0,0 +1,118 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for ImageStore against images served by LocalPageServer
+ * (content deduplication, 304 revalidation, file name collisions).
+ * Runs without a browser or network:
+ * mvn test -Dconfig.file=config/unit-tests.xml
+ */
+public class ImageStoreTest {
+
+	private static final byte[] RED = { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 'r', 'e', 'd' };
+	private static final byte[] BLUE = { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 'b', 'l', 'u', 'e' };
+
+	private Path dir;
+	private Path storeRoot;
+	private LocalPageServer server;
+
+	@BeforeMethod
+	public void startServer() throws IOException {
+		dir = Files.createTempDirectory("image-store");
+		Path site = Files.createDirectories(dir.resolve("site/img"));
+		Files.write(site.resolve("red.jpg"), RED);
+		Files.write(site.resolve("red-copy.jpg"), RED);
+		Files.write(site.resolve("blue.jpg"), BLUE);
+		storeRoot = dir.resolve("store");
+		server = new LocalPageServer(dir.resolve("site"), 0);
+	}
+
+	@AfterMethod(alwaysRun = true)
+	public void stopServer() throws IOException {
+		server.close();
+		try (Stream<Path> walk = Files.walk(dir)) {
+			for (Path p : walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList()))
+				Files.deleteIfExists(p);
+		}
+	}
+
+	private String url(String path) {
+		return server.baseUrl() + path;
+	}
+
+	private List<Path> blobs() throws IOException {
+		try (Stream<Path> files = Files.walk(storeRoot.resolve("blobs"))) {
+			return files.filter(Files::isRegularFile).collect(Collectors.toList());
+		}
+	}
+
+	@Test
+	public void storesTheSameBytesFromTwoUrlsOnce() throws Exception {
+		ImageStore store = new ImageStore(storeRoot, true);
+
+		ImageStore.StoredImage first = store.get(url("/img/red.jpg"));
+		ImageStore.StoredImage second = store.get(url("/img/red-copy.jpg"));
+
+		assertNotNull(first);
+		assertNotNull(second);
+		assertEquals(second.blob, first.blob);
+		assertEquals(second.entry.sha256, first.entry.sha256);
+		assertEquals(first.entry.extension, "jpg");
+		assertEquals(blobs(), List.of(first.blob));
+		assertTrue(store.summary().startsWith("2 downloaded (0 KB, 1 already stored under another URL)"),
+				store.summary());
+	}
+
+	@Test
+	public void reusesTheStoredFileOnNotModified() throws Exception {
+		ImageStore.StoredImage stored = new ImageStore(storeRoot, true).get(url("/img/red.jpg"));
+		assertNotNull(stored.entry.etag);
+
+		// A new store on the same folder stands for a later run: it revalidates
+		ImageStore nextRun = new ImageStore(storeRoot, true);
+		ImageStore.StoredImage again = nextRun.get(url("/img/red.jpg"));
+
+		assertEquals(again.blob, stored.blob);
+		assertEquals(again.entry.sha256, stored.entry.sha256);
+		assertEquals(Files.readAllBytes(again.blob), RED);
+		assertEquals(blobs().size(), 1);
+		assertTrue(nextRun.summary().startsWith("0 downloaded (0 KB, 0 already stored under another URL), "
+				+ "1 not modified"), nextRun.summary());
+	}
+
+	@Test
+	public void givesACollidingFileNameADistinctFile() throws Exception {
+		ImageStore store = new ImageStore(storeRoot, true);
+		ImageStore.StoredImage red = store.get(url("/img/red.jpg"));
+		ImageStore.StoredImage blue = store.get(url("/img/blue.jpg"));
+		Path run = dir.resolve("run");
+
+		Path redFile = store.linkInto(red, run, "photo.jpg");
+		Path blueFile = store.linkInto(blue, run, "photo.jpg");
+
+		assertEquals(redFile, run.resolve("photo.jpg"));
+		assertNotEquals(blueFile, redFile);
+		assertEquals(blueFile, run.resolve("photo-" + blue.entry.sha256.substring(0, 12) + ".jpg"));
+		assertEquals(Files.readAllBytes(redFile), RED);
+		assertEquals(Files.readAllBytes(blueFile), BLUE);
+
+		// The same image under its own name again is the existing link
+		assertEquals(store.linkInto(red, run, "photo.jpg"), redFile);
+	}
+}
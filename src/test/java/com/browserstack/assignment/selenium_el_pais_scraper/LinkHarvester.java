@@ -0,0 +1,97 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Harvests article links from a listing page in a single WebDriver round trip.
+ *
+ * One executeScript call counts the ElPaisElements.ALL_ARTICLES_CHAIN nodes
+ * and returns the resolved href of every ElPaisElements.ARTICLE_LINKS_CHAIN
+ * anchor.
+ * Filtering and de-duplication then happen in the JVM with an insertion-ordered
+ * hash set, so the whole harvest is O(n) with one remote call instead of one
+ * getAttribute call per link plus a linear contains() scan.
+ */
+public class LinkHarvester {
+
+	/**
+	 * Arguments: articles and links selector chains (SelectorChain.scriptArg).
+	 * Returns the article count, the link hrefs and both chain lookups.
+	 */
+	private static final String SCRIPT = String.join("\n", SelectorChain.FIND_JS,
+			"var articles = selFind(arguments[0], true);",
+			"var links = selFind(arguments[1], true);",
+			"var hrefs = [];",
+			"for (var i = 0; i < links.value.length; i++) {",
+			"  var href = links.value[i].href;",
+			"  if (href) hrefs.push(href);",
+			"}",
+			"return { articleCount: articles.value.length, hrefs: hrefs,",
+			"  lookups: [{ index: articles.index, micros: articles.micros },",
+			"            { index: links.index, micros: links.micros }] };");
+
+	/** Result of one harvest. */
+	public static class Harvest {
+		/** Number of article elements on the page (informational). */
+		public final int articleCount;
+
+		/** Distinct matching links in page order. */
+		public final List<String> links;
+
+		Harvest(int articleCount, List<String> links) {
+			this.articleCount = articleCount;
+			this.links = links;
+		}
+	}
+
+	/**
+	 * Harvest up to 'max' distinct links containing 'mustContain' from the current
+	 * page.
+	 *
+	 * @throws org.openqa.selenium.WebDriverException if the script cannot run.
+	 */
+	public Harvest harvest(WebDriver driver, String mustContain, int max) {
+		List<SelectorChain.Alternative> articleOrder = ElPaisElements.ALL_ARTICLES_CHAIN.ordered();
+		List<SelectorChain.Alternative> linkOrder = ElPaisElements.ARTICLE_LINKS_CHAIN.ordered();
+		Object raw = ((JavascriptExecutor) driver).executeScript(SCRIPT, SelectorChain.scriptArg(articleOrder),
+				SelectorChain.scriptArg(linkOrder));
+
+		int count = 0;
+		List<?> hrefs = List.of();
+		if (raw instanceof Map) {
+			Map<?, ?> m = (Map<?, ?>) raw;
+			if (m.get("lookups") instanceof List && ((List<?>) m.get("lookups")).size() == 2) {
+				ElPaisElements.ALL_ARTICLES_CHAIN.record(articleOrder, ((List<?>) m.get("lookups")).get(0));
+				ElPaisElements.ARTICLE_LINKS_CHAIN.record(linkOrder, ((List<?>) m.get("lookups")).get(1));
+			}
+			if (m.get("articleCount") instanceof Number)
+				count = ((Number) m.get("articleCount")).intValue();
+			if (m.get("hrefs") instanceof List)
+				hrefs = (List<?>) m.get("hrefs");
+		}
+		return new Harvest(count, filter(hrefs, mustContain, max));
+	}
+
+	/**
+	 * Keep hrefs containing 'mustContain', drop duplicates (first occurrence
+	 * wins) and stop after 'max' links.
+	 */
+	static List<String> filter(List<?> hrefs, String mustContain, int max) {
+		Set<String> seen = new LinkedHashSet<>();
+		for (Object o : hrefs) {
+			if (o == null)
+				continue;
+			String href = o.toString();
+			if (href.contains(mustContain) && seen.add(href) && seen.size() >= max)
+				break;
+		}
+		return new ArrayList<>(seen);
+	}
+}
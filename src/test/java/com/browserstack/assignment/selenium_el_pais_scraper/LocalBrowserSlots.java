@@ -0,0 +1,177 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Admission control for local browsers: at most N local sessions (one per
+ * slot) run at once, and every browser gets its own throw-away profile folder.
+ *
+ * N is -DlocalSessions, either a number or "auto". "auto" sizes N from the
+ * machine: half the available processors, capped by free physical memory
+ * divided by -DlocalSessionMemoryMb (default 700 MB per browser), at least 1.
+ * A &lt;test&gt; that finds every slot taken waits for one to be released, so
+ * a five-test suite on a three-slot machine runs three browsers, then two.
+ *
+ * Usage notes: - acquire() / release(slot) bracket one &lt;test&gt;'s
+ * session (DriverFactory.initialize / tearDown). - openAdditional(open)
+ * starts an additional visitor session in a free slot without waiting;
+ * releaseSession(session) gives that slot back when the session is quit. -
+ * newProfileDir(slot) returns
+ * a fresh folder under -DlocalProfileDir (default
+ * &lt;tmp&gt;/elpaisscraper-profiles); all folders handed out are deleted
+ * at JVM exit. - Driver ports need no slot: every local driver service is
+ * started on a free port.
+ */
+public final class LocalBrowserSlots {
+
+	private static final Logger logger = LoggerFactory.getLogger(LocalBrowserSlots.class);
+
+	private static final long MB = 1024L * 1024L;
+
+	private final int size;
+	private final Path profileRoot;
+
+	/** Opens a session (e.g. a local WebDriver) in the given slot. */
+	public interface SlotSession<T> {
+		T open(int slot) throws Exception;
+	}
+
+	// Guarded by 'this'
+	private final Deque<Integer> free = new ArrayDeque<>();
+	private final Map<Object, Integer> additional = new IdentityHashMap<>();
+
+	private final List<Path> profiles = new CopyOnWriteArrayList<>();
+
+	/**
+	 * @param size        number of slots (at least 1).
+	 * @param profileRoot parent folder of the per-browser profile folders.
+	 */
+	public LocalBrowserSlots(int size, Path profileRoot) {
+		this.size = Math.max(1, size);
+		this.profileRoot = profileRoot;
+		for (int i = 1; i <= this.size; i++)
+			free.add(i);
+		Runtime.getRuntime().addShutdownHook(new Thread(this::deleteProfiles, "local-profile-cleanup"));
+	}
+
+	/** Slots configured by -DlocalSessions (auto-sized when "auto"). */
+	public static LocalBrowserSlots fromProperties() {
+		String configured = System.getProperty("localSessions", "auto").trim();
+		int n = "auto".equalsIgnoreCase(configured) ? autoSize() : Integer.parseInt(configured);
+		Path root = Path.of(System.getProperty("localProfileDir",
+				Path.of(System.getProperty("java.io.tmpdir"), "elpaisscraper-profiles").toString()));
+		logger.info("[LocalSlots] {} local browser slot(s) ({}), profiles under {}", Math.max(1, n), configured, root);
+		return new LocalBrowserSlots(n, root);
+	}
+
+	/**
+	 * Half the processors, capped by free memory / localSessionMemoryMb; at
+	 * least 1.
+	 */
+	static int autoSize() {
+		int byCpu = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+		long perBrowser = Math.max(1, Long.getLong("localSessionMemoryMb", 700)) * MB;
+		long freeBytes = -1;
+		if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean)
+			freeBytes = ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean())
+					.getFreeMemorySize();
+		int byMemory = freeBytes > 0 ? (int) Math.max(1, freeBytes / perBrowser) : byCpu;
+		return Math.max(1, Math.min(byCpu, byMemory));
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/** Take a slot, waiting until one is free. Returns the slot number (1..N). */
+	public synchronized int acquire() throws InterruptedException {
+		while (free.isEmpty())
+			wait();
+		return free.poll();
+	}
+
+	/** Take a slot if one is free right now. Returns the slot number, or -1. */
+	public synchronized int tryAcquire() {
+		Integer slot = free.poll();
+		return slot == null ? -1 : slot;
+	}
+
+	/**
+	 * Open an additional session in a slot of its own, without waiting: throws
+	 * IllegalStateException when every slot is taken. The slot is held until
+	 * releaseSession(session), or given back at once if opening fails.
+	 */
+	public <T> T openAdditional(SlotSession<T> open) throws Exception {
+		int slot = tryAcquire();
+		if (slot < 0)
+			throw new IllegalStateException("All " + size + " local browser slots are in use");
+		T session;
+		try {
+			session = open.open(slot);
+		} catch (Exception | Error e) {
+			release(slot);
+			throw e;
+		}
+		synchronized (this) {
+			additional.put(session, slot);
+		}
+		return session;
+	}
+
+	/** True if 'session' was opened by openAdditional() and still holds its slot. */
+	public synchronized boolean holdsSlot(Object session) {
+		return additional.containsKey(session);
+	}
+
+	/** Give back the slot of a session opened by openAdditional(); no-op for others. */
+	public synchronized void releaseSession(Object session) {
+		Integer slot = additional.remove(session);
+		if (slot != null)
+			release(slot);
+	}
+
+	/** Slots free right now. */
+	public synchronized int available() {
+		return free.size();
+	}
+
+	/** Return a slot taken with acquire() or tryAcquire(). */
+	public synchronized void release(int slot) {
+		if (slot < 1 || slot > size || free.contains(slot))
+			return;
+		free.push(slot);
+		notifyAll();
+	}
+
+	/** Fresh, empty profile folder for a browser started in the given slot. */
+	public Path newProfileDir(int slot) throws IOException {
+		Files.createDirectories(profileRoot);
+		Path dir = Files.createTempDirectory(profileRoot, "slot" + slot + "-");
+		profiles.add(dir);
+		return dir;
+	}
+
+	private void deleteProfiles() {
+		for (Path dir : profiles) {
+			try (Stream<Path> walk = Files.walk(dir)) {
+				walk.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+			} catch (IOException | RuntimeException ignored) {
+				// best effort: a browser may still hold files on Windows
+			}
+		}
+	}
+}
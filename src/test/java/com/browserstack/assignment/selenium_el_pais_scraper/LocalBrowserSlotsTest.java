@@ -0,0 +1,120 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for LocalBrowserSlots (slot limit, additional sessions released on
+ * quit and on failure). Runs without a browser or network:
+ * mvn test -Dconfig.file=config/unit-tests.xml
+ */
+public class LocalBrowserSlotsTest {
+
+	private static LocalBrowserSlots slots(int size) {
+		return new LocalBrowserSlots(size, Path.of(System.getProperty("java.io.tmpdir"), "slots-test"));
+	}
+
+	@Test
+	public void additionalSessionsStopAtTheSlotLimit() throws Exception {
+		LocalBrowserSlots slots = slots(3);
+		int main = slots.acquire();
+
+		Object first = slots.openAdditional(slot -> "visitor-" + slot);
+		Object second = slots.openAdditional(slot -> "visitor-" + slot);
+		assertEquals(slots.available(), 0);
+		try {
+			slots.openAdditional(slot -> "visitor-" + slot);
+			fail("opened a session without a free slot");
+		} catch (IllegalStateException expected) {
+			// all three slots taken
+		}
+
+		slots.releaseSession(first);
+		assertFalse(slots.holdsSlot(first));
+		assertEquals(slots.available(), 1);
+		slots.releaseSession(first);
+		assertEquals(slots.available(), 1, "released the same session twice");
+
+		slots.releaseSession(second);
+		slots.release(main);
+		assertEquals(slots.available(), 3);
+	}
+
+	@Test
+	public void failedSessionGivesItsSlotBack() throws Exception {
+		LocalBrowserSlots slots = slots(2);
+		try {
+			slots.openAdditional(slot -> {
+				throw new IllegalArgumentException("driver did not start");
+			});
+			fail("expected the factory's exception");
+		} catch (IllegalArgumentException expected) {
+			// passed through unchanged
+		}
+		assertEquals(slots.available(), 2);
+	}
+
+	@Test
+	public void releaseSessionIgnoresUnknownSessions() {
+		LocalBrowserSlots slots = slots(2);
+		slots.releaseSession(new Object());
+		slots.releaseSession(null);
+		assertEquals(slots.available(), 2);
+	}
+
+	@Test(timeOut = 30_000)
+	public void everySlotComesBackUnderConcurrentUse() throws Exception {
+		LocalBrowserSlots slots = slots(3);
+		AtomicInteger open = new AtomicInteger();
+		AtomicInteger maxOpen = new AtomicInteger();
+		AtomicInteger opened = new AtomicInteger();
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> runs = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				runs.add(pool.submit(() -> {
+					for (int i = 0; i < 200; i++) {
+						Object session;
+						try {
+							session = slots.openAdditional(slot -> {
+								if (ThreadLocalRandom.current().nextInt(4) == 0)
+									throw new IllegalStateException("driver did not start");
+								maxOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+								return new Object();
+							});
+						} catch (IllegalStateException e) {
+							continue;
+						}
+						opened.incrementAndGet();
+						assertTrue(slots.holdsSlot(session));
+						Thread.yield();
+						open.decrementAndGet();
+						slots.releaseSession(session);
+					}
+					return null;
+				}));
+			}
+			for (Future<?> f : runs)
+				f.get();
+		} finally {
+			pool.shutdownNow();
+		}
+
+		assertTrue(opened.get() > 0);
+		assertTrue(maxOpen.get() <= 3, "sessions open at once: " + maxOpen.get());
+		assertEquals(slots.available(), 3);
+	}
+}
@@ -0,0 +1,141 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Embedded HTTP server that serves saved pages from a local directory.
+ *
+ * Used to exercise the HTTP fetch engine without network access: save article
+ * pages (e.g. "opinion/2025-01-01/some-article.html") under a folder, start the
+ * server on that folder and point HttpArticleFetcher at baseUrl() + path.
+ *
+ * Usage notes: - Port 0 picks a free port. - Unknown paths return 404. -
+ * Responses carry ETag / Last-Modified derived from the file's modification
+ * time and size; matching conditional requests get 304. - The
+ * server can also be started from the command line: LocalPageServer
+ * &lt;folder&gt; [port].
+ */
+public class LocalPageServer implements AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(LocalPageServer.class);
+
+	private final Path root;
+	private final HttpServer server;
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+
+	/**
+	 * Start serving files from 'root' on the given port (0 = any free port).
+	 */
+	public LocalPageServer(Path root, int port) throws IOException {
+		this.root = root.toAbsolutePath().normalize();
+		this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+		this.server.createContext("/", this::handle);
+		this.server.setExecutor(executor);
+		this.server.start();
+		logger.info("[LocalPageServer] Serving {} at {}", this.root, baseUrl());
+	}
+
+	/** Base URL of the server, e.g. "http://127.0.0.1:54321". */
+	public String baseUrl() {
+		return "http://127.0.0.1:" + server.getAddress().getPort();
+	}
+
+	private void handle(HttpExchange ex) throws IOException {
+		try {
+			String path = ex.getRequestURI().getPath();
+			Path file = root.resolve(path.startsWith("/") ? path.substring(1) : path).normalize();
+			if (Files.isDirectory(file))
+				file = file.resolve("index.html");
+
+			// Never serve anything outside the root folder
+			if (!file.startsWith(root) || !Files.isRegularFile(file)) {
+				ex.sendResponseHeaders(404, -1);
+				return;
+			}
+
+			// Validators from the file's mtime and size (enough to exercise revalidation)
+			Instant mtime = Files.getLastModifiedTime(file).toInstant().truncatedTo(ChronoUnit.SECONDS);
+			String etag = "\"" + Long.toHexString(mtime.getEpochSecond()) + "-" + Long.toHexString(Files.size(file))
+					+ "\"";
+			String lastModified = DateTimeFormatter.RFC_1123_DATE_TIME.format(mtime.atOffset(ZoneOffset.UTC));
+			ex.getResponseHeaders().set("ETag", etag);
+			ex.getResponseHeaders().set("Last-Modified", lastModified);
+			if (notModified(ex, etag, mtime)) {
+				ex.sendResponseHeaders(304, -1);
+				return;
+			}
+
+			byte[] body = Files.readAllBytes(file);
+			ex.getResponseHeaders().set("Content-Type", contentType(file));
+			ex.sendResponseHeaders(200, body.length);
+			try (OutputStream os = ex.getResponseBody()) {
+				os.write(body);
+			}
+		} finally {
+			ex.close();
+		}
+	}
+
+	/** If-None-Match takes precedence over If-Modified-Since (RFC 9110). */
+	private static boolean notModified(HttpExchange ex, String etag, Instant mtime) {
+		String ifNoneMatch = ex.getRequestHeaders().getFirst("If-None-Match");
+		if (ifNoneMatch != null)
+			return ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*");
+		String ifModifiedSince = ex.getRequestHeaders().getFirst("If-Modified-Since");
+		if (ifModifiedSince == null)
+			return false;
+		try {
+			Instant since = Instant.from(DateTimeFormatter.RFC_1123_DATE_TIME.parse(ifModifiedSince.trim()));
+			return !mtime.isAfter(since);
+		} catch (Exception e) {
+			return false;
+		}
+	}
+
+	private static String contentType(Path file) {
+		String name = file.getFileName().toString().toLowerCase();
+		if (name.endsWith(".html") || name.endsWith(".htm"))
+			return "text/html; charset=UTF-8";
+		if (name.endsWith(".json"))
+			return "application/json; charset=UTF-8";
+		if (name.endsWith(".jpg") || name.endsWith(".jpeg"))
+			return "image/jpeg";
+		if (name.endsWith(".png"))
+			return "image/png";
+		if (name.endsWith(".webp"))
+			return "image/webp";
+		return "application/octet-stream";
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	/** Command-line entry point: serve a folder until the JVM is stopped. */
+	public static void main(String[] args) throws Exception {
+		if (args.length < 1) {
+			System.err.println("Usage: LocalPageServer <folder> [port]");
+			return;
+		}
+		int port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+		new LocalPageServer(Path.of(args[0]), port);
+	}
+}
@@ -0,0 +1,303 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JVM-wide registry of phase timers and event counters, tagged with the
+ * capability set (TestNG &lt;test&gt; name) of the session doing the work.
+ *
+ * Typical use:
+ *
+ * <pre>
+ * try (Metrics.Span s = Metrics.time("navigation.home")) {
+ * 	PageReadiness.of(driver).navigate(url);
+ * }
+ * Metrics.count("articles.scraped");
+ * </pre>
+ *
+ * The capability comes from a thread-local set by DriverFactory.initialize().
+ * Work handed to other threads (image downloads, extra visit sessions) should
+ * capture capability() when it is submitted and pass it to record()/count().
+ *
+ * Timers keep their samples (up to MAX_SAMPLES per timer, reservoir-sampled
+ * beyond that) so exact p50/p95/p99 can be computed at suite end;
+ * MetricsListener aggregates and exports them.
+ */
+public final class Metrics {
+
+	/** Capability tag used when no session context is set. */
+	public static final String NO_CAPABILITY = "none";
+
+	/** Capability tag of aggregates over all capabilities. */
+	public static final String ALL = "all";
+
+	private static final int MAX_SAMPLES = 100_000;
+
+	private static final ThreadLocal<String> CAPABILITY = new ThreadLocal<>();
+
+	private static final Map<Key, Timer> TIMERS = new ConcurrentHashMap<>();
+	private static final Map<Key, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+
+	private Metrics() {
+	}
+
+	/** Timer or counter identity: name + capability tag. */
+	private static final class Key {
+		final String name;
+		final String capability;
+
+		Key(String name, String capability) {
+			this.name = name;
+			this.capability = capability;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Key && ((Key) o).name.equals(name) && ((Key) o).capability.equals(capability);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(name, capability);
+		}
+	}
+
+	/** Durations of one phase; guarded by its own monitor. */
+	private static final class Timer {
+		long[] samples = new long[16];
+		int size;
+		long count;
+		long sumNanos;
+		long maxNanos;
+
+		synchronized void record(long nanos) {
+			count++;
+			sumNanos += nanos;
+			maxNanos = Math.max(maxNanos, nanos);
+			if (size < MAX_SAMPLES) {
+				if (size == samples.length)
+					samples = Arrays.copyOf(samples, Math.min(MAX_SAMPLES, size * 2));
+				samples[size++] = nanos;
+			} else {
+				long slot = ThreadLocalRandom.current().nextLong(count);
+				if (slot < MAX_SAMPLES)
+					samples[(int) slot] = nanos;
+			}
+		}
+
+		synchronized long[] sorted() {
+			long[] copy = Arrays.copyOf(samples, size);
+			Arrays.sort(copy);
+			return copy;
+		}
+	}
+
+	/** Open timing span; close() records the elapsed time. */
+	public static final class Span implements AutoCloseable {
+		private final String name;
+		private final String capability;
+		private final long start = System.nanoTime();
+		private boolean closed;
+
+		private Span(String name, String capability) {
+			this.name = name;
+			this.capability = capability;
+		}
+
+		@Override
+		public void close() {
+			if (closed)
+				return;
+			closed = true;
+			record(name, capability, System.nanoTime() - start);
+		}
+	}
+
+	/** Aggregated view of one timer (seconds). */
+	public static final class TimerSummary {
+		public final String name;
+		public final String capability;
+		public final long count;
+		public final double sumSeconds;
+		public final double maxSeconds;
+		public final double p50;
+		public final double p95;
+		public final double p99;
+
+		TimerSummary(String name, String capability, long count, double sumSeconds, double maxSeconds, long[] sorted) {
+			this.name = name;
+			this.capability = capability;
+			this.count = count;
+			this.sumSeconds = sumSeconds;
+			this.maxSeconds = maxSeconds;
+			this.p50 = percentile(sorted, 0.50);
+			this.p95 = percentile(sorted, 0.95);
+			this.p99 = percentile(sorted, 0.99);
+		}
+	}
+
+	/** Tag work on the current thread with a capability (null clears it). */
+	public static void setCapability(String capability) {
+		if (capability == null || capability.isBlank())
+			CAPABILITY.remove();
+		else
+			CAPABILITY.set(capability);
+	}
+
+	/** Capability of the current thread, or NO_CAPABILITY. */
+	public static String capability() {
+		String c = CAPABILITY.get();
+		return c == null ? NO_CAPABILITY : c;
+	}
+
+	/** Start timing a phase for the current thread's capability. */
+	public static Span time(String name) {
+		return new Span(name, capability());
+	}
+
+	/** Start timing a phase for an explicit capability (work on pool threads). */
+	public static Span time(String name, String capability) {
+		return new Span(name, capability == null ? NO_CAPABILITY : capability);
+	}
+
+	/** Record a duration measured elsewhere. */
+	public static void record(String name, String capability, long nanos) {
+		TIMERS.computeIfAbsent(new Key(name, capability == null ? NO_CAPABILITY : capability), k -> new Timer())
+				.record(Math.max(0, nanos));
+	}
+
+	public static void count(String name) {
+		count(name, capability(), 1);
+	}
+
+	public static void count(String name, long delta) {
+		count(name, capability(), delta);
+	}
+
+	public static void count(String name, String capability, long delta) {
+		COUNTERS.computeIfAbsent(new Key(name, capability == null ? NO_CAPABILITY : capability),
+				k -> new LongAdder()).add(delta);
+	}
+
+	/**
+	 * Timer summaries per (name, capability), plus one ALL row per name merging
+	 * every capability; sorted by name, ALL first.
+	 */
+	public static List<TimerSummary> timerSummaries() {
+		Map<String, List<Map.Entry<Key, Timer>>> byName = new TreeMap<>();
+		for (Map.Entry<Key, Timer> e : TIMERS.entrySet())
+			byName.computeIfAbsent(e.getKey().name, n -> new ArrayList<>()).add(e);
+
+		List<TimerSummary> out = new ArrayList<>();
+		for (Map.Entry<String, List<Map.Entry<Key, Timer>>> group : byName.entrySet()) {
+			group.getValue().sort((a, b) -> a.getKey().capability.compareTo(b.getKey().capability));
+			List<TimerSummary> rows = new ArrayList<>();
+			long count = 0;
+			long sum = 0;
+			long max = 0;
+			long[] merged = new long[0];
+			for (Map.Entry<Key, Timer> e : group.getValue()) {
+				Timer t = e.getValue();
+				long[] sorted = t.sorted();
+				long tCount;
+				long tSum;
+				long tMax;
+				synchronized (t) {
+					tCount = t.count;
+					tSum = t.sumNanos;
+					tMax = t.maxNanos;
+				}
+				rows.add(new TimerSummary(group.getKey(), e.getKey().capability, tCount, tSum / 1e9, tMax / 1e9,
+						sorted));
+				count += tCount;
+				sum += tSum;
+				max = Math.max(max, tMax);
+				int offset = merged.length;
+				merged = Arrays.copyOf(merged, offset + sorted.length);
+				System.arraycopy(sorted, 0, merged, offset, sorted.length);
+			}
+			Arrays.sort(merged);
+			out.add(new TimerSummary(group.getKey(), ALL, count, sum / 1e9, max / 1e9, merged));
+			out.addAll(rows);
+		}
+		return out;
+	}
+
+	/** Counter values: name -&gt; (capability -&gt; value), sorted by name. */
+	public static Map<String, Map<String, Long>> counterValues() {
+		Map<String, Map<String, Long>> out = new TreeMap<>();
+		for (Map.Entry<Key, LongAdder> e : COUNTERS.entrySet())
+			out.computeIfAbsent(e.getKey().name, n -> new TreeMap<>()).put(e.getKey().capability,
+					e.getValue().sum());
+		return out;
+	}
+
+	/** Drop everything recorded so far. */
+	public static void reset() {
+		TIMERS.clear();
+		COUNTERS.clear();
+	}
+
+	/** Prometheus text exposition format (timers as summaries, counters as counters). */
+	public static String toPrometheus() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("# HELP elpais_phase_seconds Time spent in a scraper phase.\n");
+		sb.append("# TYPE elpais_phase_seconds summary\n");
+		for (TimerSummary t : timerSummaries()) {
+			if (ALL.equals(t.capability))
+				continue;
+			String labels = "phase=\"" + escape(t.name) + "\",capability=\"" + escape(t.capability) + "\"";
+			sb.append("elpais_phase_seconds{").append(labels).append(",quantile=\"0.5\"} ").append(num(t.p50))
+					.append('\n');
+			sb.append("elpais_phase_seconds{").append(labels).append(",quantile=\"0.95\"} ").append(num(t.p95))
+					.append('\n');
+			sb.append("elpais_phase_seconds{").append(labels).append(",quantile=\"0.99\"} ").append(num(t.p99))
+					.append('\n');
+			sb.append("elpais_phase_seconds_sum{").append(labels).append("} ").append(num(t.sumSeconds)).append('\n');
+			sb.append("elpais_phase_seconds_count{").append(labels).append("} ").append(t.count).append('\n');
+		}
+		sb.append("# HELP elpais_events_total Scraper events.\n");
+		sb.append("# TYPE elpais_events_total counter\n");
+		for (Map.Entry<String, Map<String, Long>> c : counterValues().entrySet()) {
+			for (Map.Entry<String, Long> v : c.getValue().entrySet()) {
+				sb.append("elpais_events_total{event=\"").append(escape(c.getKey())).append("\",capability=\"")
+						.append(escape(v.getKey())).append("\"} ").append(v.getValue()).append('\n');
+			}
+		}
+		return sb.toString();
+	}
+
+	/** JSON-friendly snapshot: {"timers": [...], "counters": {...}}. */
+	public static Map<String, Object> snapshot() {
+		Map<String, Object> out = new LinkedHashMap<>();
+		out.put("timers", timerSummaries());
+		out.put("counters", counterValues());
+		return out;
+	}
+
+	/** Nearest-rank percentile of sorted nanosecond samples, in seconds. */
+	private static double percentile(long[] sorted, double p) {
+		if (sorted.length == 0)
+			return 0;
+		int rank = (int) Math.ceil(p * sorted.length);
+		return sorted[Math.min(sorted.length, Math.max(1, rank)) - 1] / 1e9;
+	}
+
+	private static String num(double v) {
+		return String.format(Locale.ROOT, "%.6f", v);
+	}
+
+	private static String escape(String s) {
+		return s.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+	}
+}
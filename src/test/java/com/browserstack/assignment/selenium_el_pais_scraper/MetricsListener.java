@@ -0,0 +1,99 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Map;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * TestNG listener that reports the Metrics registry at suite end.
+ *
+ * Each test method's duration is recorded as the "test" phase and its outcome
+ * counted (tests.passed / tests.failed / tests.skipped), tagged with the
+ * &lt;test&gt; name (capability set). When the suite finishes, p50/p95/p99 per
+ * phase, over all capabilities and per capability, are logged as a table and
+ * written to ~/elpaisscraper/metrics/metrics-&lt;timestamp&gt;.json and .prom
+ * (Prometheus text format).
+ *
+ * Usage notes: - Registered in config/testng.xml next to
+ * BrowserStackTestStatusListener. - Override the folder with -DmetricsDir.
+ */
+public class MetricsListener implements ITestListener, ISuiteListener {
+
+	private static final Logger logger = LoggerFactory.getLogger(MetricsListener.class);
+
+	private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+
+	private void recordTest(ITestResult result, String outcome) {
+		String capability = result.getTestContext() != null ? result.getTestContext().getName() : null;
+		Metrics.record("test", capability, Math.max(0, result.getEndMillis() - result.getStartMillis()) * 1_000_000L);
+		Metrics.count("tests." + outcome, capability, 1);
+	}
+
+	@Override
+	public void onTestSuccess(ITestResult result) {
+		recordTest(result, "passed");
+	}
+
+	@Override
+	public void onTestFailure(ITestResult result) {
+		recordTest(result, "failed");
+	}
+
+	@Override
+	public void onTestSkipped(ITestResult result) {
+		recordTest(result, "skipped");
+	}
+
+	@Override
+	public void onFinish(ISuite suite) {
+		logger.info("\n=== Phase timings (seconds) for suite '{}' ===\n{}", suite.getName(), table());
+
+		Path dir = Path.of(System.getProperty("metricsDir",
+				Path.of(System.getProperty("user.home"), "elpaisscraper", "metrics").toString()));
+		String ts = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+		try {
+			Files.createDirectories(dir);
+			Path json = dir.resolve("metrics-" + ts + ".json");
+			try (Writer w = Files.newBufferedWriter(json, StandardCharsets.UTF_8)) {
+				GSON.toJson(Metrics.snapshot(), w);
+			}
+			Path prom = dir.resolve("metrics-" + ts + ".prom");
+			Files.writeString(prom, Metrics.toPrometheus(), StandardCharsets.UTF_8);
+			logger.info("[Metrics] Written to {} and {}", json, prom);
+		} catch (Exception e) {
+			logger.warn("[Metrics] Could not write metrics to {}: {}", dir, e.getMessage());
+		}
+	}
+
+	/** Fixed-width table of the timer summaries followed by the counters. */
+	static String table() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format(Locale.ROOT, "%-22s %-32s %7s %9s %9s %9s %9s %10s%n", "phase", "capability",
+				"count", "p50", "p95", "p99", "max", "total"));
+		for (Metrics.TimerSummary t : Metrics.timerSummaries()) {
+			sb.append(String.format(Locale.ROOT, "%-22s %-32s %7d %9.3f %9.3f %9.3f %9.3f %10.3f%n", t.name,
+					t.capability, t.count, t.p50, t.p95, t.p99, t.maxSeconds, t.sumSeconds));
+		}
+		for (Map.Entry<String, Map<String, Long>> c : Metrics.counterValues().entrySet()) {
+			long total = c.getValue().values().stream().mapToLong(Long::longValue).sum();
+			sb.append(String.format(Locale.ROOT, "%-22s %s%n", c.getKey(), total + " " + c.getValue()));
+		}
+		return sb.toString();
+	}
+}
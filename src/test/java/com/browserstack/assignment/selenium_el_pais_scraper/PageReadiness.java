@@ -0,0 +1,394 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Event-driven page readiness for one WebDriver session.
+ *
+ * On Chromium sessions a DevTools connection tracks Page.domContentEventFired,
+ * Page.loadEventFired and the set of in-flight network requests, so load waits
+ * return on the browser's own signal instead of polling document.readyState.
+ * Selector waits run one async script that resolves as soon as any
+ * alternative of a SelectorChain matches a visible element, or once the DOM has been quiet for
+ * SETTLE_MILLIS (and, with DevTools, the network is idle). Absent optional
+ * elements therefore cost one settle period instead of a full timeout.
+ *
+ * Usage notes: - Get the instance with of(driver); it is created once per
+ * session and must be dropped with detach(driver) when the session is quit. -
+ * Call expectNavigation() before clicks that navigate, or use navigate(url). -
+ * Without DevTools (Firefox, -DreadinessMode=polling, or a failed connection)
+ * load waits fall back to readyState polling; selector waits still use the
+ * in-page observer. - Implicit waits must be 0, otherwise every lookup of a
+ * missing element still blocks for the implicit timeout.
+ */
+public class PageReadiness {
+
+	private static final Logger logger = LoggerFactory.getLogger(PageReadiness.class);
+
+	/** "devtools" (default) or "polling" (-DreadinessMode). */
+	private static final String MODE = System.getProperty("readinessMode", "devtools").trim().toLowerCase();
+
+	/** Quiet period after which the DOM / network counts as settled (-DdomSettleMillis). */
+	static final long SETTLE_MILLIS = Math.max(50, Long.getLong("domSettleMillis", 500));
+
+	/** Requests still allowed in flight when the network counts as idle (beacons, long polls). */
+	private static final int IDLE_MAX_IN_FLIGHT = 2;
+
+	/** Upper bound for a single async wait (stays below the default 30 s script timeout). */
+	private static final long MAX_SCRIPT_WAIT_MILLIS = 25_000;
+
+	/**
+	 * Arguments: selector chain (SelectorChain.scriptArg), timeout ms, settle ms,
+	 * callback. Resolves {state, index, micros}: state "found" when an alternative
+	 * matches a visible element, "settled" when no nodes were added/removed for
+	 * the settle period after readyState became complete, "timeout" otherwise;
+	 * index and micros describe the last lookup (see SelectorChain.FIND_JS).
+	 */
+	private static final String WAIT_SCRIPT = String.join("\n", SelectorChain.FIND_JS,
+			"var chain = arguments[0], timeout = arguments[1], quiet = arguments[2];",
+			"var done = arguments[arguments.length - 1];",
+			"var shown = function(el) {",
+			"  return !!(el.offsetWidth || el.offsetHeight || el.getClientRects().length);",
+			"};",
+			"var last = null;",
+			"var visible = function() {",
+			"  last = selFind(chain, false, shown);",
+			"  return last.index >= 0;",
+			"};",
+			"var reply = function(state) {",
+			"  done({ state: state, index: last.index, micros: last.micros });",
+			"};",
+			"if (visible()) { reply('found'); return; }",
+			"if (timeout <= 0) { reply('timeout'); return; }",
+			"var finished = false, settleTimer = null, deadline = null, obs = null;",
+			"var finish = function(r) {",
+			"  if (finished) return;",
+			"  finished = true;",
+			"  if (obs) obs.disconnect();",
+			"  clearTimeout(settleTimer);",
+			"  clearTimeout(deadline);",
+			"  reply(r);",
+			"};",
+			"var armSettle = function() {",
+			"  clearTimeout(settleTimer);",
+			"  settleTimer = setTimeout(function() {",
+			"    if (document.readyState === 'complete') finish(visible() ? 'found' : 'settled');",
+			"    else armSettle();",
+			"  }, quiet);",
+			"};",
+			"obs = new MutationObserver(function(records) {",
+			"  if (visible()) { finish('found'); return; }",
+			"  for (var i = 0; i < records.length; i++) {",
+			"    if (records[i].type === 'childList') { armSettle(); return; }",
+			"  }",
+			"});",
+			"obs.observe(document.documentElement || document, { childList: true, subtree: true, attributes: true });",
+			"deadline = setTimeout(function() { finish(visible() ? 'found' : 'timeout'); }, timeout);",
+			"armSettle();");
+
+	private static final Map<WebDriver, PageReadiness> ATTACHED = new ConcurrentHashMap<>();
+
+	private final WebDriver driver;
+	private final DevTools devTools;
+
+	// Page/network state reported by DevTools; guarded by 'this'
+	private boolean domContentFired;
+	private boolean loadFired;
+	private final Set<String> inFlight = new HashSet<>();
+	private long lastNetworkChange = System.nanoTime();
+
+	/** Readiness tracker for the session, attaching DevTools on first use. */
+	public static PageReadiness of(WebDriver driver) {
+		return ATTACHED.computeIfAbsent(driver, PageReadiness::new);
+	}
+
+	/** Drop the tracker of a session that is being quit. */
+	public static void detach(WebDriver driver) {
+		if (driver == null)
+			return;
+		PageReadiness r = ATTACHED.remove(driver);
+		if (r != null)
+			r.close();
+	}
+
+	private PageReadiness(WebDriver driver) {
+		this.driver = driver;
+		this.devTools = connect(driver);
+		if (devTools != null) {
+			// Attached to an already loaded page: take its state from readyState once
+			boolean complete = isReadyStateComplete();
+			synchronized (this) {
+				domContentFired = complete;
+				loadFired = complete;
+			}
+		}
+	}
+
+	/** True when load and network signals come from DevTools events. */
+	public boolean isEventDriven() {
+		return devTools != null;
+	}
+
+	/** The session's DevTools connection, or null when not event-driven. */
+	DevTools devTools() {
+		return devTools;
+	}
+
+	/** Reset the load signals; call right before an action that navigates. */
+	public synchronized void expectNavigation() {
+		domContentFired = false;
+		loadFired = false;
+		inFlight.clear();
+		lastNetworkChange = System.nanoTime();
+	}
+
+	/** Navigate and wait (up to 10 s) for the page to load. */
+	public void navigate(String url) {
+		expectNavigation();
+		driver.get(url);
+		waitForLoad(Duration.ofSeconds(10));
+	}
+
+	/**
+	 * Wait until the current navigation has fired its load event, or DOM content
+	 * is loaded and the network is idle, whichever comes first.
+	 *
+	 * @return false on timeout (callers continue regardless).
+	 */
+	public boolean waitForLoad(Duration timeout) {
+		if (devTools == null)
+			return pollReadyState(timeout);
+
+		long deadline = System.nanoTime() + timeout.toNanos();
+		synchronized (this) {
+			try {
+				while (!loadFired && !(domContentFired && networkIdle())) {
+					long left = millisUntil(deadline);
+					if (left <= 0)
+						break;
+					// Network idleness is time-based, so re-check at least every settle period
+					wait(Math.min(left, SETTLE_MILLIS));
+				}
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+			if (loadFired || (domContentFired && networkIdle()))
+				return true;
+		}
+		// Events can be missed (e.g. navigation without expectNavigation); ask the page
+		return isReadyStateComplete();
+	}
+
+	/**
+	 * Wait until the XPath matches a visible element.
+	 *
+	 * @return true if found; false when the page settled without it or the
+	 *         timeout elapsed.
+	 */
+	public boolean waitForXPath(String xpath, Duration timeout) {
+		return waitFor(SelectorChain.ofXPath(xpath), timeout) != null;
+	}
+
+	/**
+	 * Wait until any alternative of the chain matches a visible element. All
+	 * alternatives are checked on every DOM change, in the chain's current order,
+	 * so a selector that no longer matches costs no timeout; the outcome is fed
+	 * back to the chain's statistics.
+	 *
+	 * @return the alternative that matched; null when the page settled without a
+	 *         match or the timeout elapsed.
+	 */
+	public SelectorChain.Alternative waitFor(SelectorChain chain, Duration timeout) {
+		long deadline = System.nanoTime() + timeout.toNanos();
+		List<SelectorChain.Alternative> order = chain.ordered();
+		try {
+			while (true) {
+				Object result = runWaitScript(order, millisUntil(deadline));
+				String state = result instanceof Map ? String.valueOf(((Map<?, ?>) result).get("state")) : "";
+				if ("found".equals(state) || !"settled".equals(state) || devTools == null || isNetworkIdle())
+					return chain.record(order, result);
+
+				// DOM is quiet but requests are still pending: they may render the element
+				if (!awaitNetworkIdle(deadline))
+					return chain.record(order, runWaitScript(order, 0));
+			}
+		} catch (Exception e) {
+			// Script failed (e.g. the page navigated underneath it): plain polling
+			logger.debug("[Readiness] Wait script failed ({}); polling for {}", e.getMessage(), chain.name());
+			return pollFor(order, millisUntil(deadline));
+		}
+	}
+
+	// ------------------------------------------------------------------
+	// DevTools wiring
+	// ------------------------------------------------------------------
+
+	private DevTools connect(WebDriver d) {
+		if (!"devtools".equals(MODE) || !isChromium(d))
+			return null;
+		try {
+			WebDriver target = (d instanceof HasDevTools) ? d : new Augmenter().augment(d);
+			if (!(target instanceof HasDevTools))
+				return null;
+
+			DevTools dt = ((HasDevTools) target).getDevTools();
+			dt.createSessionIfThereIsNotOne();
+			dt.addListener(new Event<Void>("Page.domContentEventFired", PageReadiness::ignoreParams),
+					e -> onPageEvent(false));
+			dt.addListener(new Event<Void>("Page.loadEventFired", PageReadiness::ignoreParams),
+					e -> onPageEvent(true));
+			dt.addListener(paramsEvent("Network.requestWillBeSent"), p -> onRequest(p, true));
+			dt.addListener(paramsEvent("Network.loadingFinished"), p -> onRequest(p, false));
+			dt.addListener(paramsEvent("Network.loadingFailed"), p -> onRequest(p, false));
+			dt.send(new Command<Void>("Page.enable", Map.of()));
+			dt.send(new Command<Void>("Network.enable", Map.of()));
+			logger.info("[Readiness] DevTools page/network events attached.");
+			return dt;
+		} catch (Exception e) {
+			logger.info("[Readiness] DevTools unavailable ({}); using readyState polling.", e.getMessage());
+			return null;
+		}
+	}
+
+	private static boolean isChromium(WebDriver d) {
+		if (!(d instanceof HasCapabilities))
+			return false;
+		String name = String.valueOf(((HasCapabilities) d).getCapabilities().getBrowserName()).toLowerCase();
+		return name.contains("chrome") || name.contains("edge") || name.contains("chromium");
+	}
+
+	private static Void ignoreParams(JsonInput input) {
+		input.skipValue();
+		return null;
+	}
+
+	/** Event whose parameters are delivered as a plain map. */
+	static Event<Map<String, Object>> paramsEvent(String method) {
+		return new Event<Map<String, Object>>(method, input -> input.read(Json.MAP_TYPE));
+	}
+
+	private synchronized void onPageEvent(boolean load) {
+		domContentFired = true;
+		if (load)
+			loadFired = true;
+		notifyAll();
+	}
+
+	private synchronized void onRequest(Map<String, Object> params, boolean started) {
+		Object id = params == null ? null : params.get("requestId");
+		if (id == null)
+			return;
+		if (started)
+			inFlight.add(id.toString());
+		else
+			inFlight.remove(id.toString());
+		lastNetworkChange = System.nanoTime();
+		notifyAll();
+	}
+
+	/** Caller holds the lock. */
+	private boolean networkIdle() {
+		return inFlight.size() <= IDLE_MAX_IN_FLIGHT
+				&& System.nanoTime() - lastNetworkChange >= SETTLE_MILLIS * 1_000_000L;
+	}
+
+	private synchronized boolean isNetworkIdle() {
+		return networkIdle();
+	}
+
+	private synchronized boolean awaitNetworkIdle(long deadline) {
+		try {
+			while (!networkIdle()) {
+				long left = millisUntil(deadline);
+				if (left <= 0)
+					return false;
+				wait(Math.min(left, SETTLE_MILLIS));
+			}
+			return true;
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private void close() {
+		if (devTools == null)
+			return;
+		try {
+			devTools.clearListeners();
+			devTools.close();
+		} catch (Exception e) {
+			logger.debug("[Readiness] Closing DevTools failed: {}", e.getMessage());
+		}
+	}
+
+	// ------------------------------------------------------------------
+	// Script helpers and polling fallbacks
+	// ------------------------------------------------------------------
+
+	private Object runWaitScript(List<SelectorChain.Alternative> order, long timeoutMillis) {
+		long t = Math.max(0, Math.min(timeoutMillis, MAX_SCRIPT_WAIT_MILLIS));
+		return ((JavascriptExecutor) driver).executeAsyncScript(WAIT_SCRIPT, SelectorChain.scriptArg(order), t,
+				SETTLE_MILLIS);
+	}
+
+	private boolean isReadyStateComplete() {
+		try {
+			return "complete".equals(((JavascriptExecutor) driver).executeScript("return document.readyState"));
+		} catch (Exception e) {
+			return false;
+		}
+	}
+
+	private boolean pollReadyState(Duration timeout) {
+		try {
+			new WebDriverWait(driver, timeout).until(
+					wd -> ((JavascriptExecutor) wd).executeScript("return document.readyState").equals("complete"));
+			return true;
+		} catch (Exception ignored) {
+			// continue even if timed out
+			return false;
+		}
+	}
+
+	private SelectorChain.Alternative pollFor(List<SelectorChain.Alternative> order, long timeoutMillis) {
+		try {
+			return new WebDriverWait(driver, Duration.ofMillis(Math.max(1, timeoutMillis))).until(wd -> {
+				for (SelectorChain.Alternative a : order) {
+					for (WebElement el : wd.findElements(a.by())) {
+						if (el.isDisplayed())
+							return a;
+					}
+				}
+				return null;
+			});
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	private static long millisUntil(long deadlineNanos) {
+		return (deadlineNanos - System.nanoTime()) / 1_000_000L;
+	}
+}
@@ -0,0 +1,187 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Embedded HTTP server that generates a paginated, El País-shaped section.
+ *
+ * /opinion/ and /opinion/&lt;n&gt;/ are listing pages with 'perPage' article
+ * teasers (//article//h2/a) and pagination links (previous, next and a few
+ * neighbouring pages, so pages are linked more than once). Every fifth listing
+ * also links the first article of the previous page again, to exercise
+ * de-duplication. Every listing also has a "most read" sidebar whose
+ * MOST_READ articles are linked nowhere else, and not from an h2, so a crawler
+ * must recognise articles by URL rather than by where the link sits. Article
+ * pages under /opinion/&lt;date&gt;/&lt;slug&gt;.html have
+ * the header/h1/img and first paragraph structure the extractors expect.
+ *
+ * Used to test SectionCrawler offline. requestCount() reports how often each
+ * path was served.
+ *
+ * Usage notes: - Port 0 picks a free port. - Command line: PaginatedSiteServer
+ * [pages] [perPage] [port].
+ */
+public class PaginatedSiteServer implements AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(PaginatedSiteServer.class);
+
+	private static final Pattern LISTING = Pattern.compile("^/opinion/(?:(\\d+)/?)?$");
+	private static final Pattern ARTICLE = Pattern.compile("^/opinion/2025-01-\\d{2}/articulo-(\\d+)\\.html$");
+
+	/** Articles linked only from the "most read" sidebar, after the paginated ones. */
+	static final int MOST_READ = 3;
+
+	private final int pages;
+	private final int perPage;
+	private final HttpServer server;
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+	private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+
+	/**
+	 * @param pages   number of listing pages.
+	 * @param perPage articles per listing page.
+	 * @param port    port to bind (0 = any free port).
+	 */
+	public PaginatedSiteServer(int pages, int perPage, int port) throws IOException {
+		this.pages = pages;
+		this.perPage = perPage;
+		this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+		this.server.createContext("/", this::handle);
+		this.server.setExecutor(executor);
+		this.server.start();
+		logger.info("[PaginatedSite] {} pages x {} articles at {}/opinion/", pages, perPage, baseUrl());
+	}
+
+	/** Base URL of the server, e.g. "http://127.0.0.1:54321". */
+	public String baseUrl() {
+		return "http://127.0.0.1:" + server.getAddress().getPort();
+	}
+
+	/** Total number of articles linked from the listings (sidebar included). */
+	public int articleCount() {
+		return pages * perPage + MOST_READ;
+	}
+
+	/** How many times the given path was requested. */
+	public int requestCount(String path) {
+		AtomicInteger c = requests.get(path);
+		return c == null ? 0 : c.get();
+	}
+
+	/** Number of article pages requested (repeats included). */
+	public int articleRequestCount() {
+		return requests.entrySet().stream().filter(e -> ARTICLE.matcher(e.getKey()).matches())
+				.mapToInt(e -> e.getValue().get()).sum();
+	}
+
+	/** Number of paths requested more than once. */
+	public int duplicateRequestCount() {
+		return (int) requests.values().stream().filter(c -> c.get() > 1).count();
+	}
+
+	private void handle(HttpExchange ex) throws IOException {
+		try {
+			String path = ex.getRequestURI().getPath();
+			requests.computeIfAbsent(path, p -> new AtomicInteger()).incrementAndGet();
+
+			String html = null;
+			Matcher m = LISTING.matcher(path);
+			if (m.matches()) {
+				int page = m.group(1) == null ? 1 : Integer.parseInt(m.group(1));
+				if (page >= 1 && page <= pages)
+					html = listing(page);
+			} else if ((m = ARTICLE.matcher(path)).matches()) {
+				int id = Integer.parseInt(m.group(1));
+				if (id >= 0 && id < articleCount())
+					html = article(id);
+			}
+
+			if (html == null) {
+				ex.sendResponseHeaders(404, -1);
+				return;
+			}
+			byte[] body = html.getBytes(StandardCharsets.UTF_8);
+			ex.getResponseHeaders().set("Content-Type", "text/html; charset=UTF-8");
+			ex.sendResponseHeaders(200, body.length);
+			try (OutputStream os = ex.getResponseBody()) {
+				os.write(body);
+			}
+		} finally {
+			ex.close();
+		}
+	}
+
+	private static String articlePath(int id) {
+		return String.format("/opinion/2025-01-%02d/articulo-%d.html", 1 + id % 28, id);
+	}
+
+	private static String listingPath(int page) {
+		return page == 1 ? "/opinion/" : "/opinion/" + page + "/";
+	}
+
+	private String listing(int page) {
+		StringBuilder sb = new StringBuilder("<!DOCTYPE html><html lang=\"es\"><head><title>Opinión | EL PAÍS</title>")
+				.append("</head><body><header><h1><a href=\"/opinion/\">Opinión</a></h1></header><main>");
+		int first = (page - 1) * perPage;
+		for (int id = first; id < first + perPage; id++) {
+			sb.append("<article><figure><a href=\"").append(articlePath(id)).append("\"><img src=\"/img/")
+					.append(id).append(".jpg\"></a></figure><h2><a href=\"").append(articlePath(id))
+					.append("\">Artículo número ").append(id).append("</a></h2></article>");
+		}
+		if (page % 5 == 0 && page > 1) {
+			int repeated = (page - 2) * perPage;
+			sb.append("<article><h2><a href=\"").append(articlePath(repeated)).append("#comentarios\">Lo más leído")
+					.append("</a></h2></article>");
+		}
+		sb.append("</main><aside class=\"most-read\"><h3>Lo más visto</h3><ol>");
+		for (int id = pages * perPage; id < articleCount(); id++)
+			sb.append("<li><a href=\"").append(articlePath(id)).append("\">Más leído ").append(id)
+					.append("</a></li>");
+		sb.append("</ol></aside><nav class=\"pagination\">");
+		for (int p = Math.max(1, page - 2); p <= Math.min(pages, page + 2); p++) {
+			if (p != page)
+				sb.append("<a href=\"").append(listingPath(p)).append("\">").append(p).append("</a>");
+		}
+		sb.append("<a href=\"https://example.com/elsewhere/\">Externo</a>");
+		sb.append("</nav></body></html>");
+		return sb.toString();
+	}
+
+	private static String article(int id) {
+		return "<!DOCTYPE html><html lang=\"es\"><head><title>Artículo " + id + "</title></head><body><main>"
+				+ "<article><header><h1>Artículo número " + id + "</h1><figure><img src=\"/img/" + id
+				+ ".jpg\" srcset=\"/img/" + id + "-414.jpg 414w, /img/" + id + "-1200.jpg 1200w\"></figure>"
+				+ "</header><div class=\"a_c\"><p>Primer párrafo del artículo " + id + ".</p><p>Segundo párrafo.</p>"
+				+ "</div></article></main></body></html>";
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	/** Command-line entry point: serve the generated site until the JVM is stopped. */
+	public static void main(String[] args) throws Exception {
+		int pages = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+		int perPage = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+		int port = args.length > 2 ? Integer.parseInt(args[2]) : 8081;
+		new PaginatedSiteServer(pages, perPage, port);
+	}
+}
@@ -0,0 +1,180 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * DevTools resource blocking profile for Chromium sessions.
+ *
+ * The scraper only needs the h1, the first paragraph and one image URL per
+ * page, so ads, analytics, consent scripts, fonts, video and the images
+ * themselves (downloaded separately by ImageDownloadService) are blocked in
+ * the browser:
+ *
+ * - URL-pattern rules go to Network.setBlockedURLs (wildcards, matched inside
+ * Chromium without a round trip). - Resource-type rules pause matching
+ * requests with Fetch.enable and fail them with BlockedByClient.
+ *
+ * Configuration (-D): blockProfile=default|off, blockUrlPatterns=comma list
+ * (replaces the default patterns), blockResourceTypes=comma list of CDP
+ * resource types (default Image,Media,Font).
+ *
+ * Counts of blocked requests per type are kept for the whole run, together
+ * with the bytes actually transferred. Bytes saved are an estimate from
+ * typical sizes per resource type, since blocked responses are never seen.
+ */
+public class ResourceBlocker {
+
+	private static final Logger logger = LoggerFactory.getLogger(ResourceBlocker.class);
+
+	private static final String PROFILE = System.getProperty("blockProfile", "default").trim().toLowerCase();
+
+	/** Third-party hosts and players that never carry article content. */
+	private static final List<String> DEFAULT_URL_PATTERNS = List.of(
+			// Ads
+			"*doubleclick.net*", "*googlesyndication.com*", "*googletagservices.com*", "*adservice.google.*",
+			"*amazon-adsystem.com*", "*criteo.*", "*smartadserver.com*", "*taboola.com*", "*outbrain.com*",
+			// Analytics / tag managers
+			"*google-analytics.com*", "*googletagmanager.com*", "*chartbeat.*", "*scorecardresearch.com*",
+			"*facebook.net*", "*connect.facebook.*", "*hotjar.com*", "*newrelic.com*", "*nr-data.net*",
+			// Consent management
+			"*privacy-center.org*", "*didomi.io*",
+			// Video players
+			"*jwplayer*", "*jwpcdn.com*", "*dailymotion.com*", "*youtube.com/embed*");
+
+	private static final List<String> URL_PATTERNS = parseList(System.getProperty("blockUrlPatterns"),
+			DEFAULT_URL_PATTERNS);
+
+	private static final List<String> RESOURCE_TYPES = parseList(System.getProperty("blockResourceTypes"),
+			List.of("Image", "Media", "Font"));
+
+	/**
+	 * Typical transfer size per resource type (bytes), used to estimate savings.
+	 */
+	private static final Map<String, Long> TYPICAL_BYTES = Map.of("Image", 60_000L, "Media", 500_000L, "Font",
+			40_000L, "Script", 30_000L, "Stylesheet", 20_000L, "XHR", 5_000L, "Fetch", 5_000L, "Document", 50_000L);
+	private static final long TYPICAL_BYTES_OTHER = 10_000L;
+
+	// Run-wide statistics
+	private static final Map<String, LongAdder> BLOCKED_BY_TYPE = new ConcurrentHashMap<>();
+	private static final LongAdder ESTIMATED_BYTES_SAVED = new LongAdder();
+	private static final LongAdder TRANSFERRED_BYTES = new LongAdder();
+	private static final LongAdder LOADED_REQUESTS = new LongAdder();
+	private static final AtomicBoolean USED = new AtomicBoolean();
+
+	/**
+	 * Apply the blocking profile to a newly created session (no-op when the
+	 * profile is off or DevTools is unavailable).
+	 *
+	 * @return the same driver, for use in session factories.
+	 */
+	public static WebDriver install(WebDriver driver) {
+		if ("off".equals(PROFILE) || (URL_PATTERNS.isEmpty() && RESOURCE_TYPES.isEmpty()))
+			return driver;
+		DevTools dt = PageReadiness.of(driver).devTools();
+		if (dt == null)
+			return driver;
+
+		try {
+			dt.addListener(PageReadiness.paramsEvent("Network.loadingFailed"), ResourceBlocker::onLoadingFailed);
+			dt.addListener(PageReadiness.paramsEvent("Network.loadingFinished"), ResourceBlocker::onLoadingFinished);
+			if (!URL_PATTERNS.isEmpty())
+				dt.send(new Command<Void>("Network.setBlockedURLs", Map.of("urls", URL_PATTERNS)));
+
+			if (!RESOURCE_TYPES.isEmpty()) {
+				List<Map<String, Object>> patterns = new ArrayList<>();
+				for (String type : RESOURCE_TYPES)
+					patterns.add(Map.of("urlPattern", "*", "resourceType", type, "requestStage", "Request"));
+				dt.addListener(PageReadiness.paramsEvent("Fetch.requestPaused"), p -> onRequestPaused(dt, p));
+				dt.send(new Command<Void>("Fetch.enable", Map.of("patterns", patterns)));
+			}
+			USED.set(true);
+			logger.info("[Blocking] Profile '{}' applied: {} URL patterns, resource types {}", PROFILE,
+					URL_PATTERNS.size(), RESOURCE_TYPES);
+		} catch (Exception e) {
+			logger.warn("[Blocking] Could not apply blocking profile: {}", e.getMessage());
+		}
+		return driver;
+	}
+
+	/** Run-wide summary, or null if no session used the profile. */
+	public static String summary() {
+		if (!USED.get())
+			return null;
+		Map<String, Long> byType = new TreeMap<>();
+		long total = 0;
+		for (Map.Entry<String, LongAdder> e : BLOCKED_BY_TYPE.entrySet()) {
+			byType.put(e.getKey(), e.getValue().sum());
+			total += e.getValue().sum();
+		}
+		return String.format("blocked=%d %s, estimatedSaved=%.1f MB, loaded=%d requests / %.1f MB transferred",
+				total, byType, ESTIMATED_BYTES_SAVED.sum() / 1e6, LOADED_REQUESTS.sum(),
+				TRANSFERRED_BYTES.sum() / 1e6);
+	}
+
+	/** Blocked request counts per resource type, in a stable order. */
+	public static Map<String, Long> blockedCounts() {
+		Map<String, Long> out = new LinkedHashMap<>();
+		new TreeMap<>(BLOCKED_BY_TYPE).forEach((k, v) -> out.put(k, v.sum()));
+		return out;
+	}
+
+	// ------------------------------------------------------------------
+	// Event handlers (called on the DevTools event thread)
+	// ------------------------------------------------------------------
+
+	private static void onRequestPaused(DevTools dt, Map<String, Object> params) {
+		Object id = params.get("requestId");
+		if (id == null)
+			return;
+		try {
+			dt.send(new Command<Void>("Fetch.failRequest",
+					Map.of("requestId", id, "errorReason", "BlockedByClient")));
+			countBlocked(String.valueOf(params.get("resourceType")));
+		} catch (Exception e) {
+			// The page may have navigated away; nothing left to block
+		}
+	}
+
+	private static void onLoadingFailed(Map<String, Object> params) {
+		// Requests blocked by setBlockedURLs fail with blockedReason "inspector"
+		if ("inspector".equals(params.get("blockedReason")))
+			countBlocked(String.valueOf(params.get("type")));
+	}
+
+	private static void onLoadingFinished(Map<String, Object> params) {
+		Object len = params.get("encodedDataLength");
+		LOADED_REQUESTS.increment();
+		if (len instanceof Number)
+			TRANSFERRED_BYTES.add(((Number) len).longValue());
+	}
+
+	private static void countBlocked(String type) {
+		BLOCKED_BY_TYPE.computeIfAbsent(type, t -> new LongAdder()).increment();
+		ESTIMATED_BYTES_SAVED.add(TYPICAL_BYTES.getOrDefault(type, TYPICAL_BYTES_OTHER));
+	}
+
+	private static List<String> parseList(String value, List<String> fallback) {
+		if (value == null)
+			return fallback;
+		List<String> out = new ArrayList<>();
+		for (String s : Arrays.asList(value.split(","))) {
+			if (!s.isBlank())
+				out.add(s.trim());
+		}
+		return out;
+	}
+}
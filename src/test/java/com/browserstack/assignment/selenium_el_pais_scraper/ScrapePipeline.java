@@ -0,0 +1,273 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Staged work pipeline for one scraper run.
+ *
+ * Each Stage has a bounded queue and its own number of workers. put() blocks
+ * while the queue is full, so a slow stage holds back the stages feeding it
+ * (backpressure) instead of letting work pile up in memory. Workers run on
+ * virtual threads when the JVM supports them (see
+ * ImageDownloadService.newExecutor) and are tagged with the capability of the
+ * thread that built the pipeline, so Metrics spans stay per &lt;test&gt;.
+ *
+ * A stage finishes once all of its producers are done and its queue is
+ * drained; feeds() makes a stage a producer of another one, and
+ * openInput()/closeInput() bracket items put from outside the pipeline.
+ * Batch stages hand their handler up to 'batchSize' items, waiting at most
+ * 'lingerMillis' for a batch to fill.
+ *
+ * Queue depths are available from queueDepths() and logged every
+ * -DpipelineReportMillis (default 5000, 0 disables); per-stage totals are
+ * logged and counted in Metrics when the pipeline is closed.
+ */
+public class ScrapePipeline implements AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(ScrapePipeline.class);
+
+	/** Interval of the queue depth log line (-DpipelineReportMillis). */
+	private static final long REPORT_MILLIS = Math.max(0, Long.getLong("pipelineReportMillis", 5_000));
+
+	/** How often idle workers re-check whether their input is closed. */
+	private static final long POLL_MILLIS = 100;
+
+	/** Work done on one item (or batch) of a stage. */
+	@FunctionalInterface
+	public interface Handler<T> {
+		void accept(T item) throws Exception;
+	}
+
+	/** One step of the pipeline: bounded queue, workers, counters. */
+	public final class Stage<T> {
+		private final String name;
+		private final BlockingQueue<T> queue;
+		private final int batchSize;
+		private final long lingerNanos;
+		private final Handler<List<T>> handler;
+
+		private final AtomicInteger producers = new AtomicInteger();
+		private final AtomicInteger running;
+		private final List<Stage<?>> downstream = new CopyOnWriteArrayList<>();
+		private final CompletableFuture<Void> done = new CompletableFuture<>();
+		private volatile boolean inputClosed;
+
+		private final AtomicInteger busy = new AtomicInteger();
+		private final AtomicInteger maxDepth = new AtomicInteger();
+		private final AtomicLong processed = new AtomicLong();
+		private final AtomicLong failed = new AtomicLong();
+
+		private Stage(String name, int capacity, int workers, int batchSize, long lingerMillis,
+				Handler<List<T>> handler) {
+			this.name = name;
+			this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+			this.batchSize = Math.max(1, batchSize);
+			this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, lingerMillis));
+			this.handler = handler;
+			this.running = new AtomicInteger(Math.max(1, workers));
+		}
+
+		/** Queue an item, blocking while the queue is full. */
+		public void put(T item) throws InterruptedException {
+			queue.put(item);
+			maxDepth.accumulateAndGet(queue.size(), Math::max);
+		}
+
+		/** Make this stage a producer of 'next': 'next' finishes after this one. */
+		public Stage<T> feeds(Stage<?> next) {
+			next.producers.incrementAndGet();
+			downstream.add(next);
+			return this;
+		}
+
+		/** Register an external producer; pair with closeInput(). */
+		public void openInput() {
+			producers.incrementAndGet();
+		}
+
+		/** An external producer has put its last item. */
+		public void closeInput() {
+			if (producers.decrementAndGet() <= 0)
+				inputClosed = true;
+		}
+
+		public String name() {
+			return name;
+		}
+
+		/** Items waiting in the queue. */
+		public int depth() {
+			return queue.size();
+		}
+
+		/** Completes when every worker of this stage has exited. */
+		public CompletableFuture<Void> done() {
+			return done;
+		}
+
+		private void start(int workers) {
+			for (int w = 0; w < workers; w++)
+				executor.execute(this::work);
+		}
+
+		private void work() {
+			Metrics.setCapability(capability);
+			try {
+				while (true) {
+					T first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+					if (first == null) {
+						if (inputClosed && queue.isEmpty())
+							break;
+						continue;
+					}
+					List<T> batch = new ArrayList<>(batchSize);
+					batch.add(first);
+					fillBatch(batch);
+
+					busy.incrementAndGet();
+					try {
+						handler.accept(batch);
+					} catch (InterruptedException ie) {
+						Thread.currentThread().interrupt();
+						break;
+					} catch (Exception e) {
+						failed.addAndGet(batch.size());
+						logger.error("[Pipeline] Stage '{}' failed on {} item(s): {}", name, batch.size(),
+								e.getMessage(), e);
+					} finally {
+						busy.decrementAndGet();
+						processed.addAndGet(batch.size());
+					}
+				}
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+			} finally {
+				if (running.decrementAndGet() == 0) {
+					for (Stage<?> next : downstream)
+						next.closeInput();
+					done.complete(null);
+				}
+			}
+		}
+
+		// Wait up to the linger time for more items, unless the input is closed
+		private void fillBatch(List<T> batch) throws InterruptedException {
+			long deadline = System.nanoTime() + lingerNanos;
+			while (batch.size() < batchSize) {
+				queue.drainTo(batch, batchSize - batch.size());
+				long left = deadline - System.nanoTime();
+				if (batch.size() >= batchSize || left <= 0)
+					return;
+				long wait = Math.min(left, TimeUnit.MILLISECONDS.toNanos(POLL_MILLIS));
+				T next = queue.poll(wait, TimeUnit.NANOSECONDS);
+				if (next != null)
+					batch.add(next);
+				else if (inputClosed)
+					return;
+			}
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s %d/%d (%d busy)", name, queue.size(), queue.size() + queue.remainingCapacity(),
+					busy.get());
+		}
+	}
+
+	private final String capability = Metrics.capability();
+	// One long-running task per stage worker, so no cap here: the stages' worker
+	// counts bound the threads
+	private final ExecutorService executor = ImageDownloadService.newExecutor("scrape-pipeline", Integer.MAX_VALUE);
+	private final List<Stage<?>> stages = new CopyOnWriteArrayList<>();
+	private final ScheduledExecutorService reporter;
+
+	public ScrapePipeline() {
+		if (REPORT_MILLIS > 0) {
+			reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+				Thread t = new Thread(r, "scrape-pipeline-report");
+				t.setDaemon(true);
+				return t;
+			});
+			reporter.scheduleAtFixedRate(() -> logger.info("[Pipeline] {}", describe()), REPORT_MILLIS,
+					REPORT_MILLIS, TimeUnit.MILLISECONDS);
+		} else {
+			reporter = null;
+		}
+	}
+
+	/** Add a stage handling one item at a time on 'workers' workers. */
+	public <T> Stage<T> stage(String name, int capacity, int workers, Handler<T> handler) {
+		return batchStage(name, capacity, workers, 1, 0, batch -> {
+			for (T item : batch)
+				handler.accept(item);
+		});
+	}
+
+	/** Add a stage handing batches of up to 'batchSize' items to its handler. */
+	public <T> Stage<T> batchStage(String name, int capacity, int workers, int batchSize, long lingerMillis,
+			Handler<List<T>> handler) {
+		int n = Math.max(1, workers);
+		Stage<T> stage = new Stage<>(name, capacity, n, batchSize, lingerMillis, handler);
+		stages.add(stage);
+		stage.start(n);
+		return stage;
+	}
+
+	/** Block until every stage has finished. */
+	public void awaitAll() throws InterruptedException {
+		for (Stage<?> stage : stages) {
+			try {
+				stage.done().get();
+			} catch (ExecutionException e) {
+				// done() is only ever completed normally
+			}
+		}
+	}
+
+	/** Current queue depth per stage, in creation order. */
+	public Map<String, Integer> queueDepths() {
+		Map<String, Integer> out = new LinkedHashMap<>();
+		for (Stage<?> stage : stages)
+			out.put(stage.name, stage.depth());
+		return out;
+	}
+
+	/** One line: depth/capacity and busy workers of every stage. */
+	public String describe() {
+		StringBuilder sb = new StringBuilder();
+		for (Stage<?> stage : stages)
+			sb.append(sb.length() == 0 ? "" : " | ").append(stage);
+		return sb.toString();
+	}
+
+	/** Stop the workers and the reporter; logs and counts per-stage totals. */
+	@Override
+	public void close() {
+		if (reporter != null)
+			reporter.shutdownNow();
+		for (Stage<?> stage : stages) {
+			logger.info("[Pipeline] Stage '{}': {} items, {} failed, max queue depth {}", stage.name,
+					stage.processed.get(), stage.failed.get(), stage.maxDepth.get());
+			Metrics.count("pipeline." + stage.name + ".items", capability, stage.processed.get());
+			Metrics.count("pipeline." + stage.name + ".failed", capability, stage.failed.get());
+		}
+		executor.shutdownNow();
+	}
+}
@@ -0,0 +1,119 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for ScrapePipeline (completion through fan-out, batching, bounded
+ * queues). Runs without a browser or network:
+ * mvn test -Dconfig.file=config/unit-tests.xml
+ */
+public class ScrapePipelineTest {
+
+	@Test(timeOut = 20_000)
+	public void everyItemReachesTheLastStage() throws Exception {
+		List<Integer> out = new CopyOnWriteArrayList<>();
+		AtomicInteger side = new AtomicInteger();
+		try (ScrapePipeline pipeline = new ScrapePipeline()) {
+			ScrapePipeline.Stage<Integer> last = pipeline.stage("last", 2, 1, out::add);
+			ScrapePipeline.Stage<Integer> sideStage = pipeline.stage("side", 2, 3, i -> side.incrementAndGet());
+			ScrapePipeline.Stage<Integer> second = pipeline.stage("second", 2, 2, i -> {
+				sideStage.put(i);
+				last.put(i);
+			});
+			ScrapePipeline.Stage<Integer> first = pipeline.stage("first", 2, 4, i -> {
+				if (i % 2 == 0)
+					second.put(i);
+				else
+					last.put(i);
+			});
+			first.feeds(second).feeds(last);
+			second.feeds(sideStage).feeds(last);
+
+			first.openInput();
+			for (int i = 0; i < 50; i++)
+				first.put(i);
+			first.closeInput();
+			pipeline.awaitAll();
+		}
+
+		List<Integer> sorted = new ArrayList<>(out);
+		Collections.sort(sorted);
+		assertEquals(sorted.size(), 50);
+		for (int i = 0; i < 50; i++)
+			assertEquals(sorted.get(i).intValue(), i);
+		assertEquals(side.get(), 25);
+	}
+
+	@Test(timeOut = 20_000)
+	public void batchStageGroupsItems() throws Exception {
+		List<Integer> sizes = new CopyOnWriteArrayList<>();
+		try (ScrapePipeline pipeline = new ScrapePipeline()) {
+			ScrapePipeline.Stage<Integer> batches = pipeline.batchStage("batches", 32, 1, 8, 1_000,
+					batch -> sizes.add(batch.size()));
+			batches.openInput();
+			for (int i = 0; i < 20; i++)
+				batches.put(i);
+			batches.closeInput();
+			pipeline.awaitAll();
+		}
+
+		assertEquals(sizes.stream().mapToInt(Integer::intValue).sum(), 20);
+		assertTrue(sizes.stream().allMatch(n -> n <= 8), "batch larger than batchSize: " + sizes);
+		assertTrue(sizes.size() <= 4, "items were not batched: " + sizes);
+	}
+
+	@Test(timeOut = 20_000)
+	public void putBlocksWhileTheQueueIsFull() throws Exception {
+		CountDownLatch handling = new CountDownLatch(1);
+		CountDownLatch resume = new CountDownLatch(1);
+		AtomicInteger accepted = new AtomicInteger();
+		AtomicInteger handled = new AtomicInteger();
+		try (ScrapePipeline pipeline = new ScrapePipeline()) {
+			ScrapePipeline.Stage<Integer> paused = pipeline.stage("paused", 3, 1, i -> {
+				handling.countDown();
+				resume.await();
+				handled.incrementAndGet();
+			});
+			paused.openInput();
+			Thread producer = new Thread(() -> {
+				try {
+					for (int i = 0; i < 10; i++) {
+						paused.put(i);
+						accepted.incrementAndGet();
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}, "producer");
+			producer.start();
+
+			// The worker holds one item and the queue three more: the fifth put() must wait
+			assertTrue(handling.await(5, TimeUnit.SECONDS));
+			Thread.sleep(300);
+			assertEquals(accepted.get(), 4, "items accepted while the consumer was paused");
+			assertTrue(producer.isAlive(), "producer finished although the queue was full");
+			assertEquals(paused.depth(), 3);
+
+			resume.countDown();
+			producer.join(5_000);
+			assertFalse(producer.isAlive());
+			paused.closeInput();
+			pipeline.awaitAll();
+		}
+
+		assertEquals(accepted.get(), 10);
+		assertEquals(handled.get(), 10);
+	}
+}
@@ -0,0 +1,272 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deep crawl of a section (e.g. https://elpais.com/opinion/) over HTTP.
+ *
+ * Starting from the section page, every link under the same section path is
+ * followed. Links are classified by URL shape: article pages have a date
+ * segment and end in .html (/opinion/2025-01-05/slug.html) and are read with
+ * HttpArticleFetcher, wherever the link sits on the page (teaser headline,
+ * "most read" sidebar, related stories); any other link (pagination, archive)
+ * is parsed as a further listing page. Work is spread over a pool of workers
+ * sharing a CrawlFrontier; every request first takes a token from a per-host
+ * HostRateLimiter.
+ *
+ * The frontier is checkpointed periodically. If a checkpoint exists when a
+ * crawl starts, the crawl resumes from it; it is deleted when the crawl
+ * completes.
+ *
+ * Configuration (-D): crawlMaxArticles (1000), crawlMaxDepth (100),
+ * crawlWorkers (8), crawlRatePerHost (4 requests/s), crawlBurst (8),
+ * crawlCheckpointSeconds (15), crawlCheckpointDir
+ * (~/elpaisscraper/crawl).
+ */
+public class SectionCrawler {
+
+	private static final Logger logger = LoggerFactory.getLogger(SectionCrawler.class);
+
+	private static final Path CHECKPOINT_DIR = Path.of(System.getProperty("crawlCheckpointDir",
+			Path.of(System.getProperty("user.home"), "elpaisscraper", "crawl").toString()));
+
+	/** Path of an El País article: .../YYYY-MM-DD/slug.html */
+	private static final Pattern ARTICLE_PATH = Pattern.compile(".*/\\d{4}-\\d{2}-\\d{2}/[^/]+\\.html$");
+
+	private static final long CHECKPOINT_SECONDS = Math.max(1, Long.getLong("crawlCheckpointSeconds", 15));
+
+	/** Crawls in progress in this JVM, so parallel tests share one crawl per start URL. */
+	private static final Map<String, CompletableFuture<List<HttpArticleFetcher.PageExtract>>> SHARED = new ConcurrentHashMap<>();
+
+	private final int maxArticles;
+	private final int maxDepth;
+	private final int workers;
+	private final HostRateLimiter limiter;
+	private final Path checkpointFile;
+	private final HttpArticleFetcher fetcher = new HttpArticleFetcher();
+
+	private final AtomicInteger pagesFetched = new AtomicInteger();
+	private final AtomicInteger incompleteArticles = new AtomicInteger();
+
+	public SectionCrawler(int maxArticles, int maxDepth, int workers, HostRateLimiter limiter, Path checkpointFile) {
+		this.maxArticles = maxArticles;
+		this.maxDepth = maxDepth;
+		this.workers = Math.max(1, workers);
+		this.limiter = limiter;
+		this.checkpointFile = checkpointFile;
+	}
+
+	/** Crawler configured from system properties, checkpointing per start URL. */
+	public static SectionCrawler fromSystemProperties(String startUrl) {
+		return new SectionCrawler(Integer.getInteger("crawlMaxArticles", 1000), Integer.getInteger("crawlMaxDepth", 100),
+				Integer.getInteger("crawlWorkers", 8),
+				new HostRateLimiter(Double.parseDouble(System.getProperty("crawlRatePerHost", "4")),
+						Integer.getInteger("crawlBurst", 8)),
+				CHECKPOINT_DIR.resolve(checkpointName(startUrl)));
+	}
+
+	/**
+	 * Crawl 'startUrl' once per JVM with the system-property configuration;
+	 * concurrent callers with the same URL wait for and share the same result.
+	 */
+	public static List<HttpArticleFetcher.PageExtract> crawlShared(String startUrl) throws Exception {
+		CompletableFuture<List<HttpArticleFetcher.PageExtract>> mine = new CompletableFuture<>();
+		CompletableFuture<List<HttpArticleFetcher.PageExtract>> running = SHARED.putIfAbsent(startUrl, mine);
+		if (running != null)
+			return running.get();
+		try {
+			mine.complete(fromSystemProperties(startUrl).crawl(startUrl));
+		} catch (Exception e) {
+			mine.completeExceptionally(e);
+			SHARED.remove(startUrl, mine);
+			throw e;
+		}
+		return mine.get();
+	}
+
+	/**
+	 * Crawl the section below 'startUrl' and return the complete article extracts
+	 * (title and first paragraph found), in completion order.
+	 */
+	public List<HttpArticleFetcher.PageExtract> crawl(String startUrl) throws Exception {
+		CrawlFrontier frontier;
+		if (checkpointFile != null && Files.isRegularFile(checkpointFile)) {
+			frontier = CrawlFrontier.load(checkpointFile, maxDepth, maxArticles);
+			logger.info("[Crawl] Resuming from {}: {} articles done, {} URLs queued", checkpointFile,
+					frontier.results().size(), frontier.queuedCount());
+		} else {
+			frontier = new CrawlFrontier(maxDepth, maxArticles);
+			frontier.offer(startUrl, 0, false);
+		}
+
+		String host = HostRateLimiter.hostOf(startUrl);
+		String sectionPath = URI.create(startUrl).getPath();
+
+		ScheduledExecutorService checkpointer = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "crawl-checkpoint");
+			t.setDaemon(true);
+			return t;
+		});
+		checkpointer.scheduleAtFixedRate(() -> saveCheckpoint(frontier), CHECKPOINT_SECONDS, CHECKPOINT_SECONDS,
+				TimeUnit.SECONDS);
+
+		ExecutorService pool = Executors.newFixedThreadPool(workers);
+		long start = System.nanoTime();
+		boolean completed = false;
+		try {
+			List<Future<?>> running = new ArrayList<>();
+			for (int w = 0; w < workers; w++) {
+				running.add(pool.submit(() -> {
+					work(frontier, host, sectionPath);
+					return null;
+				}));
+			}
+			for (Future<?> f : running) {
+				try {
+					f.get();
+				} catch (ExecutionException ee) {
+					logger.error("[Crawl] Worker failed: {}", ee.getCause().getMessage(), ee.getCause());
+				}
+			}
+			completed = frontier.isFinished();
+		} finally {
+			pool.shutdownNow();
+			checkpointer.shutdownNow();
+			if (completed && checkpointFile != null)
+				Files.deleteIfExists(checkpointFile);
+			else
+				saveCheckpoint(frontier);
+		}
+
+		List<HttpArticleFetcher.PageExtract> results = frontier.results();
+		logger.info("[Crawl] Done in {} s: {} articles ({} incomplete skipped), {} pages fetched",
+				(System.nanoTime() - start) / 1_000_000_000L, results.size(), incompleteArticles.get(),
+				pagesFetched.get());
+		return results;
+	}
+
+	private void work(CrawlFrontier frontier, String host, String sectionPath) throws InterruptedException {
+		while (!Thread.currentThread().isInterrupted()) {
+			CrawlFrontier.Item item = frontier.take(1, TimeUnit.SECONDS);
+			if (item == null) {
+				if (frontier.isFinished())
+					return;
+				continue;
+			}
+
+			HttpArticleFetcher.PageExtract result = null;
+			try {
+				limiter.acquire(item.url);
+				pagesFetched.incrementAndGet();
+				if (item.article)
+					result = fetchArticle(item);
+				else
+					expandListing(frontier, item, host, sectionPath);
+			} catch (InterruptedException ie) {
+				throw ie;
+			} catch (Exception e) {
+				logger.warn("[Crawl] Failed to process {}: {}", item.url, e.getMessage());
+			} finally {
+				frontier.done(item, result);
+			}
+		}
+	}
+
+	private HttpArticleFetcher.PageExtract fetchArticle(CrawlFrontier.Item item) {
+		HttpArticleFetcher.PageExtract ex = fetcher.fetch(item.url);
+		if (ex.isComplete())
+			return ex;
+		incompleteArticles.incrementAndGet();
+		logger.debug("[Crawl] Required field missing for {}", item.url);
+		return null;
+	}
+
+	/** Queue the article links and further listing pages found on a listing page. */
+	private void expandListing(CrawlFrontier frontier, CrawlFrontier.Item item, String host, String sectionPath) {
+		HtmlDocument doc = fetcher.fetchDocument(item.url);
+		if (doc == null)
+			return;
+
+		for (HtmlDocument.Element a : doc.root().findAll("a")) {
+			String href = inSection(item.url, a, host, sectionPath);
+			if (href == null)
+				continue;
+			if (isArticleUrl(href))
+				frontier.offer(href, item.depth + 1, true);
+			else if (!frontier.isArticleLimitReached())
+				frontier.offer(href, item.depth + 1, false);
+		}
+	}
+
+	/** True if the URL's path has the shape of an article page. */
+	static boolean isArticleUrl(String url) {
+		try {
+			String path = URI.create(url).getPath();
+			return path != null && ARTICLE_PATH.matcher(path).matches();
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+	}
+
+	/** Absolute href of the anchor if it points into the crawled section, else null. */
+	private static String inSection(String pageUrl, HtmlDocument.Element a, String host, String sectionPath) {
+		String href = HttpArticleFetcher.resolve(pageUrl, a.attr("href"));
+		if (href == null || href.isBlank() || !(href.startsWith("http://") || href.startsWith("https://")))
+			return null;
+		try {
+			URI uri = URI.create(href);
+			if (!host.equals(HostRateLimiter.hostOf(href)) || uri.getPath() == null
+					|| !uri.getPath().startsWith(sectionPath))
+				return null;
+			return href;
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	private void saveCheckpoint(CrawlFrontier frontier) {
+		if (checkpointFile == null)
+			return;
+		try {
+			frontier.checkpoint(checkpointFile);
+			logger.info("[Crawl] Checkpoint: {} articles, {} URLs queued", frontier.results().size(),
+					frontier.queuedCount());
+		} catch (Exception e) {
+			logger.warn("[Crawl] Could not write checkpoint {}: {}", checkpointFile, e.getMessage());
+		}
+	}
+
+	/** File name of the checkpoint for a start URL (host + path, filesystem safe). */
+	private static String checkpointName(String startUrl) {
+		return "frontier-" + startUrl.replaceFirst("^https?://", "").replaceAll("[^A-Za-z0-9.-]+", "_") + ".json";
+	}
+
+	/** Command-line entry point: SectionCrawler &lt;startUrl&gt;. */
+	public static void main(String[] args) throws Exception {
+		if (args.length < 1) {
+			System.err.println("Usage: SectionCrawler <startUrl>");
+			return;
+		}
+		List<HttpArticleFetcher.PageExtract> results = fromSystemProperties(args[0]).crawl(args[0]);
+		for (HttpArticleFetcher.PageExtract ex : results)
+			System.out.println(ex.url + "\t" + ex.title);
+	}
+}
@@ -0,0 +1,127 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for SectionCrawler against the generated section served by
+ * PaginatedSiteServer (coverage, de-duplication, article limit, resume from a
+ * checkpoint). Runs without a browser or network:
+ * mvn test -Dconfig.file=config/unit-tests.xml
+ */
+public class SectionCrawlerTest {
+
+	private static final int PAGES = 15;
+	private static final int PER_PAGE = 20;
+
+	/** Checkpoint folder of the current test, if it made one. */
+	private Path dir;
+
+	@AfterMethod(alwaysRun = true)
+	public void deleteFolder() throws IOException {
+		if (dir == null)
+			return;
+		try (Stream<Path> walk = Files.walk(dir)) {
+			for (Path p : walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList()))
+				Files.deleteIfExists(p);
+		}
+		dir = null;
+	}
+
+	private static SectionCrawler crawler(int maxArticles, Path checkpointFile) {
+		return new SectionCrawler(maxArticles, 100, 8, new HostRateLimiter(1000, 100), checkpointFile);
+	}
+
+	private static Set<String> urls(List<HttpArticleFetcher.PageExtract> results) {
+		Set<String> urls = new HashSet<>();
+		for (HttpArticleFetcher.PageExtract ex : results)
+			urls.add(ex.url);
+		return urls;
+	}
+
+	@Test(timeOut = 60_000)
+	public void crawlsEveryArticleExactlyOnce() throws Exception {
+		try (PaginatedSiteServer site = new PaginatedSiteServer(PAGES, PER_PAGE, 0)) {
+			List<HttpArticleFetcher.PageExtract> results = crawler(1000, null).crawl(site.baseUrl() + "/opinion/");
+
+			assertEquals(results.size(), site.articleCount());
+			assertEquals(urls(results).size(), site.articleCount());
+			assertEquals(site.articleRequestCount(), site.articleCount());
+			assertEquals(site.duplicateRequestCount(), 0);
+			// Linked only from the sidebar, outside any h2
+			Set<String> titles = new HashSet<>();
+			for (HttpArticleFetcher.PageExtract ex : results)
+				titles.add(ex.title);
+			for (int id = PAGES * PER_PAGE; id < site.articleCount(); id++)
+				assertTrue(titles.contains("Artículo número " + id), "sidebar article " + id + " not extracted");
+			for (int page = 2; page <= PAGES; page++)
+				assertEquals(site.requestCount("/opinion/" + page + "/"), 1, "listing page " + page);
+		}
+	}
+
+	@Test
+	public void classifiesLinksByUrlShape() {
+		assertTrue(SectionCrawler.isArticleUrl("https://elpais.com/opinion/2025-01-05/una-tribuna.html"));
+		assertTrue(SectionCrawler.isArticleUrl("https://elpais.com/opinion/2025-01-05/una-tribuna.html#comentarios"));
+		assertFalse(SectionCrawler.isArticleUrl("https://elpais.com/opinion/"));
+		assertFalse(SectionCrawler.isArticleUrl("https://elpais.com/opinion/2/"));
+		assertFalse(SectionCrawler.isArticleUrl("https://elpais.com/opinion/editoriales/"));
+	}
+
+	@Test(timeOut = 60_000)
+	public void stopsAtMaxArticles() throws Exception {
+		try (PaginatedSiteServer site = new PaginatedSiteServer(PAGES, PER_PAGE, 0)) {
+			List<HttpArticleFetcher.PageExtract> results = crawler(50, null).crawl(site.baseUrl() + "/opinion/");
+
+			assertEquals(results.size(), 50);
+			assertEquals(urls(results).size(), 50);
+			assertEquals(site.articleRequestCount(), 50);
+			assertEquals(site.duplicateRequestCount(), 0);
+		}
+	}
+
+	@Test(timeOut = 60_000)
+	public void resumesFromCheckpointAndCompletes() throws Exception {
+		dir = Files.createTempDirectory("crawl");
+		Path checkpoint = dir.resolve("frontier.json");
+		try (PaginatedSiteServer site = new PaginatedSiteServer(PAGES, PER_PAGE, 0)) {
+			String start = site.baseUrl() + "/opinion/";
+
+			// State of an interrupted crawl: the first listing page has been expanded
+			// (its articles and pagination links queued), nothing else fetched yet
+			CrawlFrontier frontier = new CrawlFrontier(100, 1000);
+			frontier.offer(start, 0, false);
+			CrawlFrontier.Item first = frontier.take(1, TimeUnit.SECONDS);
+			for (int id = 0; id < PER_PAGE; id++)
+				frontier.offer(String.format("%s/opinion/2025-01-%02d/articulo-%d.html", site.baseUrl(), 1 + id % 28,
+						id), 1, true);
+			frontier.offer(start + "2/", 1, false);
+			frontier.offer(start + "3/", 1, false);
+			frontier.done(first, null);
+			frontier.checkpoint(checkpoint);
+
+			List<HttpArticleFetcher.PageExtract> results = crawler(1000, checkpoint).crawl(start);
+
+			assertEquals(results.size(), site.articleCount());
+			assertEquals(urls(results).size(), site.articleCount());
+			assertEquals(site.requestCount("/opinion/"), 0, "start page fetched again after resume");
+			assertEquals(site.duplicateRequestCount(), 0);
+			assertFalse(Files.exists(checkpoint), "checkpoint kept after a completed crawl");
+		}
+	}
+}
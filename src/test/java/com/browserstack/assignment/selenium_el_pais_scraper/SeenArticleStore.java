@@ -0,0 +1,196 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Persistent store of already scraped articles, keyed by article URL.
+ *
+ * Each record keeps the extracted Article fields, a hash of the article text
+ * and the HTTP validators (ETag / Last-Modified) of the last fetch. Repeat runs
+ * revalidate known URLs with a conditional GET and reuse the stored result when
+ * the server answers 304 or the text hash is unchanged, so the browser visit,
+ * image download and translation are skipped for those articles.
+ *
+ * Records are small JSON files under
+ * ~/elpaisscraper/cache/articles/&lt;2-char prefix&gt;/&lt;sha256(url)&gt;.json,
+ * written to a temp name and atomically renamed (safe for concurrent JVMs).
+ *
+ * Usage notes: - Use shared() from the scraper. - Override the folder with
+ * -DarticleStoreDir (under the fixture bundle while fixtures are active). -
+ * -DarticleStore=false disables the store (every article
+ * is treated as new).
+ */
+public class SeenArticleStore {
+
+	private static final Logger logger = LoggerFactory.getLogger(SeenArticleStore.class);
+
+	private static final SeenArticleStore SHARED = new SeenArticleStore(
+			Path.of(System.getProperty("articleStoreDir", FixtureServer.cacheDir("articles").toString())),
+			Boolean.parseBoolean(System.getProperty("articleStore", "true")));
+
+	private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+
+	/** What is remembered about one article. */
+	public static class Record {
+		public String url;
+		/** Hash of the normalized title, first paragraph and body (see contentHash()). */
+		public String contentHash;
+		public String etag;
+		public String lastModified;
+		public String titleEs;
+		public String titleEn;
+		public String firstParagraph;
+		public String content;
+		public String contentEn;
+		public String imageUrl;
+		/** ISO-8601 instants. */
+		public String firstSeen;
+		public String lastChecked;
+
+		/** Article rebuilt from the stored fields. */
+		public Article toArticle() {
+			Article a = new Article(url);
+			a.titleEs = titleEs;
+			a.titleEn = titleEn;
+			a.firstParagraph = firstParagraph;
+			a.content = content;
+			a.contentEn = contentEn;
+			a.imageUrl = imageUrl;
+			return a;
+		}
+	}
+
+	private final Path folder;
+	private final boolean enabled;
+	private final Map<String, Record> loaded = new ConcurrentHashMap<>();
+
+	/**
+	 * @param folder  where records are stored.
+	 * @param enabled when false nothing is read or written.
+	 */
+	public SeenArticleStore(Path folder, boolean enabled) {
+		this.folder = folder;
+		this.enabled = enabled;
+	}
+
+	/** JVM-wide store shared by all test threads. */
+	public static SeenArticleStore shared() {
+		return SHARED;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/** Stored record for the URL, or null if the article was never seen. */
+	public Record get(String url) {
+		if (!enabled || url == null)
+			return null;
+		Record cached = loaded.get(url);
+		if (cached != null)
+			return cached;
+
+		Path file = fileFor(url);
+		if (!Files.isRegularFile(file))
+			return null;
+		try (Reader r = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			Record rec = GSON.fromJson(r, Record.class);
+			if (rec == null || !url.equals(rec.url))
+				return null;
+			loaded.put(url, rec);
+			return rec;
+		} catch (Exception e) {
+			logger.debug("[ArticleStore] Could not read {}: {}", file, e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Remember an article. Validators may be null (e.g. after a WebDriver visit);
+	 * they are picked up on the next revalidation. Disk failures are logged and
+	 * ignored.
+	 */
+	public void put(Article a, String etag, String lastModified) {
+		if (!enabled || a == null || a.url == null)
+			return;
+
+		Record previous = get(a.url);
+		String now = Instant.now().toString();
+
+		Record rec = new Record();
+		rec.url = a.url;
+		rec.contentHash = contentHash(a.titleEs, a.firstParagraph, a.content);
+		rec.etag = etag;
+		rec.lastModified = lastModified;
+		rec.titleEs = a.titleEs;
+		rec.titleEn = a.titleEn;
+		rec.firstParagraph = a.firstParagraph;
+		rec.content = a.content;
+		rec.contentEn = a.contentEn;
+		rec.imageUrl = a.imageUrl;
+		rec.firstSeen = previous != null && previous.firstSeen != null ? previous.firstSeen : now;
+		rec.lastChecked = now;
+		loaded.put(a.url, rec);
+
+		Path file = fileFor(a.url);
+		try {
+			Files.createDirectories(file.getParent());
+			Path tmp = Files.createTempFile(file.getParent(), "record", ".tmp");
+			try (Writer w = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+				GSON.toJson(rec, w);
+			}
+			Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (Exception e) {
+			logger.debug("[ArticleStore] Could not write {}: {}", file, e.getMessage());
+		}
+	}
+
+	/**
+	 * Hash identifying the article text. Whitespace (including no-break spaces) is
+	 * collapsed first, so the value is the same whether the text was read from
+	 * raw HTML or from the rendered page. The body is included so edits below the
+	 * first paragraph are picked up too.
+	 */
+	public static String contentHash(String title, String firstParagraph, String body) {
+		return sha256Hex(normalize(title) + "\u0000" + normalize(firstParagraph) + "\u0000" + normalize(body));
+	}
+
+	private static String normalize(String s) {
+		if (s == null)
+			return "";
+		return s.replace('\u00A0', ' ').replaceAll("\\s+", " ").trim();
+	}
+
+	private Path fileFor(String url) {
+		String hash = sha256Hex(url);
+		return folder.resolve(hash.substring(0, 2)).resolve(hash + ".json");
+	}
+
+	private static String sha256Hex(String s) {
+		try {
+			MessageDigest md = MessageDigest.getInstance("SHA-256");
+			StringBuilder sb = new StringBuilder(64);
+			for (byte b : md.digest(s.getBytes(StandardCharsets.UTF_8)))
+				sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			return sb.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+}
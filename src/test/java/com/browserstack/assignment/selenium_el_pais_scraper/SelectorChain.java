@@ -0,0 +1,322 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Ordered CSS/XPath alternatives for one page field, reordered at runtime by
+ * measured cost.
+ *
+ * Every in-browser lookup (PageReadiness waits, ArticleScriptExtractor,
+ * LinkHarvester) tries the alternatives in ordered() order, times each
+ * evaluation with performance.now() and stops at the first match; the result is
+ * fed back with record(). ordered() sorts by expected cost per successful
+ * lookup, (mean evaluation time + a fixed overhead) / smoothed hit rate, so a
+ * cheap selector that matches goes first, one that stopped matching after a
+ * layout change sinks to the end, and an untried alternative is explored once
+ * it looks cheaper than a slow one. Ties keep the declared order.
+ *
+ * Statistics are halved once an alternative passes DECAY_AFTER attempts, so
+ * recent behavior dominates, and persisted across runs as JSON.
+ *
+ * Usage notes: - Chains are declared in ElPaisElements with of(name, ...). -
+ * scriptArg() is the chain as passed to the FIND_JS helper. - Stats are saved
+ * by DriverFactory at suite end to -DselectorStatsFile (default
+ * ~/elpaisscraper/cache/selector-stats.json); -DselectorStats=false disables
+ * both loading and saving.
+ */
+public final class SelectorChain {
+
+	private static final Logger logger = LoggerFactory.getLogger(SelectorChain.class);
+
+	/**
+	 * JavaScript helper defining selFind(chain, all, accept). chain is
+	 * scriptArg(); returns {value, index, micros} with the first match (or, with
+	 * all=true, the non-empty node list of the first matching alternative), the
+	 * index of that alternative (-1 if none) and the evaluation time of every
+	 * alternative tried. accept(el) can reject single matches (e.g. invisible
+	 * ones). Invalid selectors count as misses.
+	 */
+	public static final String FIND_JS = String.join("\n",
+			"var selFind = function(chain, all, accept) {",
+			"  var micros = [];",
+			"  for (var i = 0; i < chain.length; i++) {",
+			"    var s = chain[i], t0 = performance.now(), found = all ? [] : null;",
+			"    try {",
+			"      if (s.k === 'css') {",
+			"        found = all ? Array.prototype.slice.call(document.querySelectorAll(s.e))",
+			"            : document.querySelector(s.e);",
+			"      } else if (all) {",
+			"        var snap = document.evaluate(s.e, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);",
+			"        for (var j = 0; j < snap.snapshotLength; j++) found.push(snap.snapshotItem(j));",
+			"      } else {",
+			"        found = document.evaluate(s.e, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null)",
+			"            .singleNodeValue;",
+			"      }",
+			"    } catch (err) { found = all ? [] : null; }",
+			"    if (!all && found && accept && !accept(found)) found = null;",
+			"    micros.push(Math.round((performance.now() - t0) * 1000));",
+			"    if (all ? found.length > 0 : !!found) return { value: found, index: i, micros: micros };",
+			"  }",
+			"  return { value: all ? [] : null, index: -1, micros: micros };",
+			"};");
+
+	/** Halve an alternative's stats once it has this many attempts. */
+	private static final int DECAY_AFTER = 400;
+
+	/** Fixed per-lookup overhead (microseconds) added to the mean cost. */
+	private static final double OVERHEAD_MICROS = 50;
+
+	private static final boolean PERSIST = Boolean.parseBoolean(System.getProperty("selectorStats", "true"));
+
+	private static final Path STATS_FILE = Path.of(System.getProperty("selectorStatsFile",
+			FixtureServer.cacheDir("selector-stats.json").toString()));
+
+	private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+
+	/** Stats read from STATS_FILE: chain name -&gt; alternative key -&gt; stats. */
+	private static final Map<String, Map<String, Stats>> PERSISTED = PERSIST ? load(STATS_FILE) : Map.of();
+
+	/** Named chains, for saving. */
+	private static final Map<String, SelectorChain> CHAINS = new ConcurrentHashMap<>();
+
+	/** One CSS or XPath selector. */
+	public static final class Alternative {
+		public final boolean css;
+		public final String expression;
+
+		private Alternative(boolean css, String expression) {
+			this.css = css;
+			this.expression = expression;
+		}
+
+		public By by() {
+			return css ? By.cssSelector(expression) : By.xpath(expression);
+		}
+
+		/** Stable identity used in the stats file, e.g. "css:article h2 &gt; a". */
+		public String key() {
+			return (css ? "css:" : "xpath:") + expression;
+		}
+
+		@Override
+		public String toString() {
+			return key();
+		}
+	}
+
+	/** Attempts, hits and summed evaluation time of one alternative. */
+	static final class Stats {
+		long attempts;
+		long hits;
+		long micros;
+
+		synchronized void add(boolean hit, long evalMicros) {
+			attempts++;
+			if (hit)
+				hits++;
+			micros += Math.max(0, evalMicros);
+			if (attempts >= DECAY_AFTER) {
+				attempts /= 2;
+				hits /= 2;
+				micros /= 2;
+			}
+		}
+
+		synchronized double cost() {
+			double hitRate = (hits + 1.0) / (attempts + 2.0);
+			double mean = attempts == 0 ? 0 : (double) micros / attempts;
+			return (mean + OVERHEAD_MICROS) / hitRate;
+		}
+
+		synchronized Stats copy() {
+			Stats s = new Stats();
+			s.attempts = attempts;
+			s.hits = hits;
+			s.micros = micros;
+			return s;
+		}
+	}
+
+	private final String name;
+	private final List<Alternative> declared;
+	private final Map<Alternative, Stats> stats = new LinkedHashMap<>();
+
+	private SelectorChain(String name, List<Alternative> declared, Map<String, Stats> saved) {
+		this.name = name;
+		this.declared = Collections.unmodifiableList(declared);
+		for (Alternative a : declared)
+			stats.put(a, saved.containsKey(a.key()) ? saved.get(a.key()) : new Stats());
+	}
+
+	public static Alternative css(String selector) {
+		return new Alternative(true, selector);
+	}
+
+	public static Alternative xpath(String expression) {
+		return new Alternative(false, expression);
+	}
+
+	/** Declare a named chain (alternatives in their initial order); stats persist under the name. */
+	public static SelectorChain of(String name, Alternative... alternatives) {
+		SelectorChain chain = restored(PERSISTED, name, alternatives);
+		CHAINS.put(name, chain);
+		return chain;
+	}
+
+	/** A chain with the stats saved for 'name' in 'persisted' (see load()); not registered for saveAll(). */
+	static SelectorChain restored(Map<String, Map<String, Stats>> persisted, String name,
+			Alternative... alternatives) {
+		return new SelectorChain(name, List.of(alternatives), persisted.getOrDefault(name, Map.of()));
+	}
+
+	/** Unnamed single-XPath chain; its stats are not persisted. */
+	static SelectorChain ofXPath(String xpath) {
+		return new SelectorChain(xpath, List.of(xpath(xpath)), Map.of());
+	}
+
+	public String name() {
+		return name;
+	}
+
+	/** Alternatives cheapest-first for the current statistics. */
+	public List<Alternative> ordered() {
+		List<Alternative> out = new ArrayList<>(declared);
+		Map<Alternative, Double> cost = new LinkedHashMap<>();
+		for (Alternative a : declared)
+			cost.put(a, stats.get(a).cost());
+		out.sort(Comparator.comparingDouble(cost::get));
+		return out;
+	}
+
+	/** The given order as the FIND_JS chain argument: [{k: "css"|"xpath", e: expression}, ...]. */
+	public static List<Map<String, String>> scriptArg(List<Alternative> order) {
+		List<Map<String, String>> out = new ArrayList<>(order.size());
+		for (Alternative a : order)
+			out.add(Map.of("k", a.css ? "css" : "xpath", "e", a.expression));
+		return out;
+	}
+
+	/**
+	 * Feed back one FIND_JS result for a lookup made with 'order': the matched
+	 * alternative is a hit, every alternative tried before it a miss.
+	 *
+	 * @return the matched alternative, or null.
+	 */
+	public Alternative record(List<Alternative> order, Object result) {
+		if (!(result instanceof Map))
+			return null;
+		Map<?, ?> m = (Map<?, ?>) result;
+		int index = m.get("index") instanceof Number ? ((Number) m.get("index")).intValue() : -1;
+		List<?> micros = m.get("micros") instanceof List ? (List<?>) m.get("micros") : List.of();
+		for (int i = 0; i < micros.size() && i < order.size(); i++) {
+			long us = micros.get(i) instanceof Number ? ((Number) micros.get(i)).longValue() : 0;
+			Stats s = stats.get(order.get(i));
+			if (s != null)
+				s.add(i == index, us);
+		}
+		return index >= 0 && index < order.size() ? order.get(index) : null;
+	}
+
+	/**
+	 * Elements of the first alternative (current order) that matches anything,
+	 * via WebDriver lookups; an empty list if none does. Not recorded: these
+	 * timings include the WebDriver round trip.
+	 */
+	public List<WebElement> findAll(SearchContext context) {
+		for (Alternative a : ordered()) {
+			try {
+				List<WebElement> found = context.findElements(a.by());
+				if (!found.isEmpty())
+					return found;
+			} catch (Exception e) {
+				// invalid for this page/driver: try the next alternative
+			}
+		}
+		return List.of();
+	}
+
+	/** One line per alternative: order, hit rate, mean time. */
+	public String describe() {
+		StringBuilder sb = new StringBuilder(name).append(':');
+		for (Alternative a : ordered()) {
+			Stats s = stats.get(a).copy();
+			sb.append(String.format(Locale.ROOT, "%n    %-60s %5d tries %5.1f%% hits %8.1f us", a.key(), s.attempts,
+					s.attempts == 0 ? 0.0 : 100.0 * s.hits / s.attempts,
+					s.attempts == 0 ? 0.0 : (double) s.micros / s.attempts));
+		}
+		return sb.toString();
+	}
+
+	// ------------------------------------------------------------------
+	// Persistence
+	// ------------------------------------------------------------------
+
+	/** Stats saved by save() in 'file': chain name -&gt; alternative key -&gt; stats; empty if none. */
+	static Map<String, Map<String, Stats>> load(Path file) {
+		if (!Files.exists(file))
+			return Map.of();
+		try (Reader r = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			Map<String, Map<String, Stats>> m = GSON.fromJson(r, new TypeToken<Map<String, Map<String, Stats>>>() {
+			}.getType());
+			return m == null ? Map.of() : m;
+		} catch (Exception e) {
+			logger.warn("[Selectors] Ignoring unreadable stats file {}: {}", file, e.getMessage());
+			return Map.of();
+		}
+	}
+
+	/** Log the current order of every named chain and write the stats file. */
+	public static synchronized void saveAll() {
+		if (!PERSIST || CHAINS.isEmpty())
+			return;
+		for (SelectorChain chain : CHAINS.values())
+			logger.info("[Selectors] {}", chain.describe());
+		save(STATS_FILE, CHAINS.values());
+	}
+
+	/** Write the stats of 'chains' to 'file' (replaced atomically); failures are logged. */
+	static void save(Path file, Collection<SelectorChain> chains) {
+		Map<String, Map<String, Stats>> out = new TreeMap<>();
+		for (SelectorChain chain : chains) {
+			Map<String, Stats> m = new LinkedHashMap<>();
+			for (Map.Entry<Alternative, Stats> e : chain.stats.entrySet())
+				m.put(e.getKey().key(), e.getValue().copy());
+			out.put(chain.name, m);
+		}
+		try {
+			Files.createDirectories(file.toAbsolutePath().getParent());
+			Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+			try (Writer w = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+				GSON.toJson(out, w);
+			}
+			Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (Exception e) {
+			logger.warn("[Selectors] Could not save stats to {}: {}", file, e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for SelectorChain (reordering by recorded FIND_JS results, stats
+ * file round trip). Runs without a browser or network:
+ * mvn test -Dconfig.file=config/unit-tests.xml
+ */
+public class SelectorChainTest {
+
+	private static final String NAME = "test.title";
+
+	private Path dir;
+
+	@BeforeMethod
+	public void createFolder() throws IOException {
+		dir = Files.createTempDirectory("selector-stats");
+	}
+
+	@AfterMethod(alwaysRun = true)
+	public void deleteFolder() throws IOException {
+		Files.deleteIfExists(dir.resolve("stats.json"));
+		Files.deleteIfExists(dir);
+	}
+
+	private static SelectorChain chain(Map<String, Map<String, SelectorChain.Stats>> persisted) {
+		return SelectorChain.restored(persisted, NAME, SelectorChain.css("h1.a_t"),
+				SelectorChain.css("article header h1"), SelectorChain.xpath("//h1"));
+	}
+
+	/** A FIND_JS result: alternatives before 'index' missed, 'index' matched (-1: none did). */
+	private static Map<String, Object> result(int index, Long... micros) {
+		Map<String, Object> m = new HashMap<>();
+		m.put("index", index);
+		m.put("micros", List.of(micros));
+		return m;
+	}
+
+	private static List<String> keys(List<SelectorChain.Alternative> order) {
+		return order.stream().map(SelectorChain.Alternative::key).collect(Collectors.toList());
+	}
+
+	@Test
+	public void movesAlternativeThatKeepsMatchingFirst() {
+		SelectorChain chain = chain(Map.of());
+		assertEquals(keys(chain.ordered()), List.of("css:h1.a_t", "css:article header h1", "xpath://h1"));
+
+		// Lookups made in declared order where only the last alternative matches
+		List<SelectorChain.Alternative> declared = chain.ordered();
+		for (int i = 0; i < 10; i++)
+			assertSame(chain.record(declared, result(2, 20L, 20L, 20L)), declared.get(2));
+
+		List<SelectorChain.Alternative> order = chain.ordered();
+		assertEquals(keys(order), List.of("xpath://h1", "css:h1.a_t", "css:article header h1"));
+		assertSame(chain.record(order, result(0, 20L)), order.get(0));
+		assertNull(chain.record(order, result(-1, 20L, 20L, 20L)));
+		assertEquals(keys(chain.ordered()).get(0), "xpath://h1");
+	}
+
+	@Test
+	public void restoresOrderAndStatsFromSavedFile() {
+		SelectorChain chain = chain(Map.of());
+		List<SelectorChain.Alternative> declared = chain.ordered();
+		for (int i = 0; i < 5; i++)
+			chain.record(declared, result(1, 30L, 10L));
+		Path file = dir.resolve("stats.json");
+
+		SelectorChain.save(file, List.of(chain));
+		SelectorChain reloaded = chain(SelectorChain.load(file));
+
+		assertEquals(keys(reloaded.ordered()).get(0), "css:article header h1");
+		assertEquals(keys(reloaded.ordered()), keys(chain.ordered()));
+		assertEquals(reloaded.describe(), chain.describe());
+		assertEquals(keys(chain(SelectorChain.load(dir.resolve("missing.json"))).ordered()),
+				List.of("css:h1.a_t", "css:article header h1", "xpath://h1"));
+	}
+}
@@ -0,0 +1,275 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of warm WebDriver sessions keyed by capability set.
+ *
+ * Creating a BrowserStack session takes 10–30 s, often more than the scrape
+ * itself. DriverFactory leases sessions from this pool instead of creating one
+ * per test method and returns them on teardown, so a suite pays session
+ * startup once per capability set (plus once per extra concurrent lease).
+ *
+ * Usage notes: - lease() hands out an idle session that passes a cheap health
+ * check (dead ones are evicted), waits for a pre-warming session if one is in
+ * flight, and only then creates a new one. - release() closes extra tabs,
+ * clears cookies and storage and parks the session on about:blank; sessions
+ * that fail the reset, or exceed maxIdlePerKey, are quit. - prewarm() opens
+ * sessions in the background. - shutdown() quits everything that is idle or
+ * warming; leased sessions remain the caller's responsibility.
+ *
+ * Keys are compared with equals(), so a capability map copy works as a key.
+ */
+public class SessionPool {
+
+	private static final Logger logger = LoggerFactory.getLogger(SessionPool.class);
+
+	/** How long lease()/shutdown() wait for a pre-warming session. */
+	private static final long WARM_WAIT_SECONDS = 180;
+
+	private final int maxIdlePerKey;
+
+	// Guarded by 'this'
+	private final Map<Object, Deque<WebDriver>> idle = new HashMap<>();
+	private final Map<Object, Deque<Future<WebDriver>>> warming = new HashMap<>();
+	private boolean closed;
+
+	/** Leased session -> key, so release() needs only the driver. */
+	private final Map<WebDriver, Object> leased = new ConcurrentHashMap<>();
+
+	private final ExecutorService warmer = Executors.newCachedThreadPool(r -> {
+		Thread t = new Thread(r, "session-prewarm");
+		t.setDaemon(true);
+		return t;
+	});
+
+	private final AtomicInteger created = new AtomicInteger();
+	private final AtomicInteger reused = new AtomicInteger();
+	private final AtomicInteger evicted = new AtomicInteger();
+
+	/** @param maxIdlePerKey idle sessions kept per key; extra ones are quit. */
+	public SessionPool(int maxIdlePerKey) {
+		this.maxIdlePerKey = Math.max(1, maxIdlePerKey);
+	}
+
+	/**
+	 * Lease a healthy session for the given key, creating one with 'factory' if
+	 * none is idle or warming.
+	 */
+	public WebDriver lease(Object key, Callable<WebDriver> factory) throws Exception {
+		// 1) Idle sessions (most recently used first)
+		WebDriver d;
+		while ((d = pollIdle(key)) != null) {
+			if (isHealthy(d)) {
+				reused.incrementAndGet();
+				return markLeased(d, key);
+			}
+			evict(d, "failed health check");
+		}
+
+		// 2) A session that is already being created in the background
+		Future<WebDriver> pending;
+		while ((pending = pollWarming(key)) != null) {
+			try {
+				d = pending.get(WARM_WAIT_SECONDS, TimeUnit.SECONDS);
+				if (d != null && isHealthy(d)) {
+					logger.info("[SessionPool] Leased pre-warmed session for {}", describe(key));
+					return markLeased(d, key);
+				}
+				if (d != null)
+					evict(d, "failed health check");
+			} catch (Exception e) {
+				logger.warn("[SessionPool] Pre-warming a session failed: {}", e.getMessage());
+			}
+		}
+
+		// 3) A fresh session
+		d = factory.call();
+		created.incrementAndGet();
+		return markLeased(d, key);
+	}
+
+	/**
+	 * Reset a leased session and park it for reuse. Sessions that cannot be reset,
+	 * or that would exceed the idle limit, are quit instead.
+	 */
+	public void release(WebDriver d) {
+		if (d == null)
+			return;
+		Object key = leased.remove(d);
+		if (key == null) {
+			// Not from this pool: nothing to recycle it for
+			quietQuit(d);
+			return;
+		}
+		if (!reset(d)) {
+			evict(d, "reset failed");
+			return;
+		}
+		synchronized (this) {
+			Deque<WebDriver> q = idle.computeIfAbsent(key, k -> new ArrayDeque<>());
+			if (!closed && q.size() < maxIdlePerKey) {
+				q.push(d);
+				return;
+			}
+		}
+		quietQuit(d);
+	}
+
+	/**
+	 * Make sure at least 'count' sessions for the key are idle or warming, opening
+	 * the missing ones in the background.
+	 */
+	public void prewarm(Object key, Callable<WebDriver> factory, int count) {
+		int missing;
+		synchronized (this) {
+			if (closed)
+				return;
+			int have = idle.getOrDefault(key, new ArrayDeque<>()).size()
+					+ warming.getOrDefault(key, new ArrayDeque<>()).size();
+			missing = Math.min(count, maxIdlePerKey) - have;
+			for (int i = 0; i < missing; i++) {
+				warming.computeIfAbsent(key, k -> new ArrayDeque<>()).add(warmer.submit(() -> {
+					WebDriver d = factory.call();
+					created.incrementAndGet();
+					return d;
+				}));
+			}
+		}
+		if (missing > 0)
+			logger.info("[SessionPool] Pre-warming {} session(s) for {}", missing, describe(key));
+	}
+
+	/** Quit all idle and warming sessions; later releases quit immediately. */
+	public void shutdown() {
+		List<WebDriver> toQuit = new ArrayList<>();
+		List<Future<WebDriver>> pending = new ArrayList<>();
+		synchronized (this) {
+			if (closed)
+				return;
+			closed = true;
+			idle.values().forEach(toQuit::addAll);
+			warming.values().forEach(pending::addAll);
+			idle.clear();
+			warming.clear();
+		}
+		for (Future<WebDriver> f : pending) {
+			try {
+				WebDriver d = f.get(WARM_WAIT_SECONDS, TimeUnit.SECONDS);
+				if (d != null)
+					toQuit.add(d);
+			} catch (Exception ignored) {
+			}
+		}
+		toQuit.forEach(SessionPool::quietQuit);
+		warmer.shutdownNow();
+		logger.info("[SessionPool] Shut down. {}", this);
+	}
+
+	// ------------------------------------------------------------------
+	// Internals
+	// ------------------------------------------------------------------
+
+	private synchronized WebDriver pollIdle(Object key) {
+		Deque<WebDriver> q = idle.get(key);
+		return q == null ? null : q.poll();
+	}
+
+	private synchronized Future<WebDriver> pollWarming(Object key) {
+		Deque<Future<WebDriver>> q = warming.get(key);
+		return q == null ? null : q.poll();
+	}
+
+	private WebDriver markLeased(WebDriver d, Object key) {
+		leased.put(d, key);
+		return d;
+	}
+
+	/** One round trip; fails fast for sessions the hub has already closed. */
+	private static boolean isHealthy(WebDriver d) {
+		try {
+			return !d.getWindowHandles().isEmpty();
+		} catch (Exception e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Bring a session back to a fresh state: close extra tabs, clear cookies and
+	 * storage for the current site, then park it on about:blank. deleteAllCookies
+	 * only affects the current domain, so it must run before navigating away.
+	 */
+	private static boolean reset(WebDriver d) {
+		try {
+			Set<String> handles = d.getWindowHandles();
+			Iterator<String> it = handles.iterator();
+			String keep = it.next();
+			while (it.hasNext()) {
+				d.switchTo().window(it.next());
+				d.close();
+			}
+			d.switchTo().window(keep);
+
+			d.manage().deleteAllCookies();
+			try {
+				((JavascriptExecutor) d).executeScript(
+						"try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+			} catch (Exception ignored) {
+				// Storage may be unavailable (e.g. on data: or about: pages)
+			}
+			d.navigate().to("about:blank");
+			return true;
+		} catch (Exception e) {
+			logger.debug("[SessionPool] Reset failed: {}", e.getMessage());
+			return false;
+		}
+	}
+
+	private void evict(WebDriver d, String why) {
+		evicted.incrementAndGet();
+		logger.info("[SessionPool] Evicting session ({})", why);
+		quietQuit(d);
+	}
+
+	private static void quietQuit(WebDriver d) {
+		PageReadiness.detach(d);
+		try {
+			d.quit();
+		} catch (Exception e) {
+			logger.debug("[SessionPool] Exception while quitting session: {}", e.getMessage());
+		}
+	}
+
+	/** Short key description for logs (capability maps may hold credentials). */
+	private static String describe(Object key) {
+		if (key instanceof Map) {
+			Map<?, ?> m = (Map<?, ?>) key;
+			return m.get("browserName") + " " + m.get("browserVersion");
+		}
+		return String.valueOf(key);
+	}
+
+	@Override
+	public String toString() {
+		return "created=" + created.get() + ", reused=" + reused.get() + ", evicted=" + evicted.get();
+	}
+}
@@ -0,0 +1,127 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalesces concurrent requests for the same key into one in-flight operation.
+ *
+ * The parallel &lt;test&gt; blocks of the suite scrape the same articles, so
+ * they ask for the same translations and images at about the same time. The
+ * first caller for a key becomes its owner and runs the operation; callers
+ * arriving while it is in flight wait for the owner's result (or exception)
+ * instead of repeating the external call. The key is released as soon as the
+ * operation finishes, so results are not kept here: callers put them in their
+ * own cache (TranslationCache, ImageStore, the target file) before completing.
+ *
+ * Usage notes: - execute() for one key at a time. - claim() when a caller
+ * sends many keys in one request (TranslatorV2): complete or fail every owned
+ * claim, then await() the others.
+ */
+public class SingleFlight<K, V> {
+
+	private final String name;
+	private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+	private final AtomicLong executed = new AtomicLong();
+	private final AtomicLong coalesced = new AtomicLong();
+
+	/** @param name prefix of the Metrics counters (name.executed / name.coalesced). */
+	public SingleFlight(String name) {
+		this.name = name;
+	}
+
+	/** One caller's stake in a key: either the owner or a waiter on the owner. */
+	public final class Claim {
+		private final K key;
+		private final CompletableFuture<V> future;
+		private final boolean owner;
+
+		private Claim(K key, CompletableFuture<V> future, boolean owner) {
+			this.key = key;
+			this.future = future;
+			this.owner = owner;
+		}
+
+		/** True when this caller must run the operation and complete the claim. */
+		public boolean isOwner() {
+			return owner;
+		}
+
+		/** Publish the owner's result to the waiters and release the key. */
+		public void complete(V value) {
+			inFlight.remove(key, future);
+			future.complete(value);
+		}
+
+		/** Publish the owner's failure to the waiters and release the key. */
+		public void fail(Throwable t) {
+			inFlight.remove(key, future);
+			future.completeExceptionally(t);
+		}
+
+		/**
+		 * Wait for the owner's result.
+		 *
+		 * @throws Exception the owner's exception.
+		 */
+		public V await() throws Exception {
+			try {
+				return future.join();
+			} catch (CompletionException e) {
+				Throwable cause = e.getCause() == null ? e : e.getCause();
+				if (cause instanceof Exception)
+					throw (Exception) cause;
+				throw new RuntimeException(cause);
+			}
+		}
+	}
+
+	/** Become the owner of 'key', or join the operation already in flight for it. */
+	public Claim claim(K key) {
+		CompletableFuture<V> mine = new CompletableFuture<>();
+		CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+		if (existing != null) {
+			coalesced.incrementAndGet();
+			Metrics.count(name + ".coalesced");
+			return new Claim(key, existing, false);
+		}
+		executed.incrementAndGet();
+		Metrics.count(name + ".executed");
+		return new Claim(key, mine, true);
+	}
+
+	/**
+	 * Run 'operation' for 'key' unless another thread already runs it, in which
+	 * case wait for and return that result.
+	 *
+	 * @throws Exception the exception of whichever caller ran the operation.
+	 */
+	public V execute(K key, Callable<V> operation) throws Exception {
+		Claim claim = claim(key);
+		if (!claim.isOwner())
+			return claim.await();
+		try {
+			V value = operation.call();
+			claim.complete(value);
+			return value;
+		} catch (Throwable t) {
+			claim.fail(t);
+			throw t;
+		}
+	}
+
+	/** Keys currently in flight. */
+	public int inFlightCount() {
+		return inFlight.size();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%d executed, %d coalesced, %d in flight", executed.get(), coalesced.get(),
+				inFlight.size());
+	}
+}
@@ -0,0 +1,253 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Picks the image rendition to download from srcset / &lt;picture&gt; markup.
+ *
+ * parse() follows the HTML srcset parsing rules: a candidate is a URL (which may
+ * itself contain commas) followed by an optional width ("414w") or density
+ * ("2x") descriptor; candidates are separated by commas.
+ *
+ * select() chooses the smallest candidate at or above the target width (the
+ * pipeline only needs thumbnails, while the last candidate is usually the
+ * full-size rendition). Without width descriptors it chooses the smallest
+ * density of at least 1x. If no candidate is large enough the largest one is
+ * used, and without any srcset the plain src is used.
+ *
+ * For &lt;picture&gt;, the first &lt;source&gt; whose media condition matches the
+ * target width (simple min-width / max-width conditions) and whose type is a
+ * raster format we can store is used, as a browser would; otherwise the
+ * &lt;img&gt; itself.
+ *
+ * Usage notes: - Target width is -DimageTargetWidth (default 400 CSS px). -
+ * Relative candidate URLs are returned as-is (resolve them against the page).
+ */
+public final class SrcsetSelector {
+
+	/** Desired image width in pixels (-DimageTargetWidth). */
+	public static final int TARGET_WIDTH = Math.max(1, Integer.getInteger("imageTargetWidth", 400));
+
+	private static final Pattern MEDIA_FEATURE = Pattern
+			.compile("\\(\\s*(min|max)-width\\s*:\\s*(\\d+(?:\\.\\d+)?)(px|em|rem)?\\s*\\)");
+
+	private SrcsetSelector() {
+	}
+
+	/** One srcset candidate. width and density are 0 when not given. */
+	public static final class Candidate {
+		public final String url;
+		public final int width;
+		public final double density;
+
+		Candidate(String url, int width, double density) {
+			this.url = url;
+			this.width = width;
+			this.density = density;
+		}
+
+		@Override
+		public String toString() {
+			return url + (width > 0 ? " " + width + "w" : density > 0 ? " " + density + "x" : "");
+		}
+	}
+
+	/** A &lt;source&gt; element of a &lt;picture&gt; (attributes may be null). */
+	public static final class Source {
+		public final String srcset;
+		public final String type;
+		public final String media;
+
+		public Source(String srcset, String type, String media) {
+			this.srcset = srcset;
+			this.type = type;
+			this.media = media;
+		}
+	}
+
+	/**
+	 * Image URL to download for an &lt;img&gt; (optionally inside a
+	 * &lt;picture&gt;).
+	 *
+	 * @param sources     the picture's &lt;source&gt; elements in document order
+	 *                    (null or empty for a plain img).
+	 * @param srcset      the img's srcset (or data-srcset), may be null.
+	 * @param src         the img's src (or data-src fallback), may be null.
+	 * @param targetWidth desired width in pixels.
+	 * @return the chosen URL, or null if there is none.
+	 */
+	public static String select(List<Source> sources, String srcset, String src, int targetWidth) {
+		if (sources != null) {
+			for (Source s : sources) {
+				if (s == null || !typeSupported(s.type) || !mediaMatches(s.media, targetWidth))
+					continue;
+				Candidate c = choose(parse(s.srcset), targetWidth);
+				if (c != null)
+					return c.url;
+			}
+		}
+		Candidate c = choose(parse(srcset), targetWidth);
+		if (c != null)
+			return c.url;
+		return src == null || src.isBlank() ? null : src.trim();
+	}
+
+	/**
+	 * Smallest candidate with width &gt;= targetWidth (or, for density lists, the
+	 * smallest density &gt;= 1x); the largest candidate if none qualifies. Width
+	 * descriptors win when a list mixes both kinds. Returns null for an empty
+	 * list.
+	 */
+	public static Candidate choose(List<Candidate> candidates, int targetWidth) {
+		if (candidates.isEmpty())
+			return null;
+
+		List<Candidate> byWidth = new ArrayList<>();
+		for (Candidate c : candidates) {
+			if (c.width > 0)
+				byWidth.add(c);
+		}
+		if (!byWidth.isEmpty()) {
+			Candidate best = null;
+			Candidate largest = null;
+			for (Candidate c : byWidth) {
+				if (c.width >= targetWidth && (best == null || c.width < best.width))
+					best = c;
+				if (largest == null || c.width > largest.width)
+					largest = c;
+			}
+			return best != null ? best : largest;
+		}
+
+		// Density descriptors; a candidate without descriptor counts as 1x
+		Candidate best = null;
+		Candidate largest = null;
+		for (Candidate c : candidates) {
+			double d = c.density > 0 ? c.density : 1.0;
+			if (d >= 1.0 && (best == null || d < density(best)))
+				best = c;
+			if (largest == null || d > density(largest))
+				largest = c;
+		}
+		return best != null ? best : largest;
+	}
+
+	/** Parse a srcset attribute into candidates (invalid ones are dropped). */
+	public static List<Candidate> parse(String srcset) {
+		if (srcset == null || srcset.isBlank())
+			return Collections.emptyList();
+
+		List<Candidate> out = new ArrayList<>();
+		int pos = 0;
+		int len = srcset.length();
+		while (pos < len) {
+			// Skip whitespace and separating commas
+			while (pos < len && (Character.isWhitespace(srcset.charAt(pos)) || srcset.charAt(pos) == ','))
+				pos++;
+			if (pos >= len)
+				break;
+
+			// URL: run of non-whitespace; trailing commas end the candidate
+			int start = pos;
+			while (pos < len && !Character.isWhitespace(srcset.charAt(pos)))
+				pos++;
+			String url = srcset.substring(start, pos);
+			boolean endsCandidate = false;
+			if (url.endsWith(",")) {
+				url = url.replaceAll(",+$", "");
+				endsCandidate = true;
+			}
+
+			String descriptors = "";
+			if (!endsCandidate) {
+				// Descriptors run to the next comma outside parentheses
+				int dStart = pos;
+				int depth = 0;
+				while (pos < len) {
+					char ch = srcset.charAt(pos);
+					if (ch == '(')
+						depth++;
+					else if (ch == ')' && depth > 0)
+						depth--;
+					else if (ch == ',' && depth == 0)
+						break;
+					pos++;
+				}
+				descriptors = srcset.substring(dStart, pos).trim();
+			}
+
+			Candidate c = candidate(url, descriptors);
+			if (c != null)
+				out.add(c);
+		}
+		return out;
+	}
+
+	private static Candidate candidate(String url, String descriptors) {
+		if (url.isEmpty())
+			return null;
+		int width = 0;
+		double density = 0;
+		for (String d : descriptors.isEmpty() ? new String[0] : descriptors.split("\\s+")) {
+			String lower = d.toLowerCase(Locale.ROOT);
+			try {
+				if (lower.endsWith("w") && width == 0 && density == 0)
+					width = Integer.parseInt(lower.substring(0, lower.length() - 1));
+				else if (lower.endsWith("x") && width == 0 && density == 0)
+					density = Double.parseDouble(lower.substring(0, lower.length() - 1));
+				else if (!lower.endsWith("h"))
+					return null;
+			} catch (NumberFormatException e) {
+				return null;
+			}
+		}
+		if (width < 0 || density < 0)
+			return null;
+		return new Candidate(url, width, density);
+	}
+
+	private static double density(Candidate c) {
+		return c.density > 0 ? c.density : 1.0;
+	}
+
+	/** Raster types we store; sources without a type are assumed usable. */
+	private static boolean typeSupported(String type) {
+		if (type == null || type.isBlank())
+			return true;
+		String t = type.trim().toLowerCase(Locale.ROOT);
+		return t.equals("image/jpeg") || t.equals("image/png") || t.equals("image/webp") || t.equals("image/gif")
+				|| t.equals("image/avif");
+	}
+
+	/**
+	 * Evaluate simple (min-width / max-width) media conditions, joined with "and",
+	 * with the target width as viewport width. Unknown conditions do not match;
+	 * an absent media attribute always matches.
+	 */
+	static boolean mediaMatches(String media, int viewportWidth) {
+		if (media == null || media.isBlank() || media.trim().equalsIgnoreCase("all"))
+			return true;
+		String rest = media.toLowerCase(Locale.ROOT).replaceFirst("^\\s*(only\\s+)?screen\\s+and\\s+", "");
+		Matcher m = MEDIA_FEATURE.matcher(rest);
+		int matched = 0;
+		int end = 0;
+		while (m.find()) {
+			String between = rest.substring(end, m.start()).trim();
+			if (!(between.isEmpty() || (matched > 0 && between.equals("and"))))
+				return false;
+			double px = Double.parseDouble(m.group(2));
+			if ("em".equals(m.group(3)) || "rem".equals(m.group(3)))
+				px *= 16;
+			if ("min".equals(m.group(1)) ? viewportWidth < px : viewportWidth > px)
+				return false;
+			matched++;
+			end = m.end();
+		}
+		return matched > 0 && rest.substring(end).trim().isEmpty();
+	}
+}
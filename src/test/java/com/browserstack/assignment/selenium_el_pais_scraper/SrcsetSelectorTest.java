@@ -0,0 +1,120 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for SrcsetSelector, including the header image markup of El País
+ * article pages (resizer URLs with width parameters, srcset without spaces
+ * after the commas). Runs without a browser:
+ * mvn test -Dconfig.file=config/unit-tests.xml
+ */
+public class SrcsetSelectorTest {
+
+	private static final String PAGE_URL = "https://elpais.com/opinion/2025-01-15/una-tribuna.html";
+
+	private static final String RESIZER = "https://imagenes.elpais.com/resizer/v2/ABCDEFGHIJ.jpg?auth=0a1b2c3d&amp;width=";
+
+	/** Article header figure as served by elpais.com (attributes trimmed). */
+	private static final String ARTICLE_HEADER = "<html><body><article><header>"
+			+ "<h1>Una tribuna</h1>"
+			+ "<figure class=\"a_m a_m-h\"><span class=\"a_m_w\"><img alt=\"\" decoding=\"auto\" class=\"_re a_m-h\""
+			+ " height=\"414\" width=\"414\" src=\"" + RESIZER + "1960\" srcset=\"" + RESIZER + "414 414w," + RESIZER
+			+ "828 640w," + RESIZER + "980 1000w," + RESIZER + "1960 1960w\""
+			+ " sizes=\"(min-width:1199px) 1155px,(min-width:1001px) calc(100vw - 44px),(min-width:768px) 767px, 100vw\""
+			+ " fetchpriority=\"high\"></span></figure>"
+			+ "</header><div class=\"a_c\"><p>Primer párrafo.</p></div></article></body></html>";
+
+	/** Same figure with a &lt;picture&gt; offering WebP and JPEG renditions per breakpoint. */
+	private static final String PICTURE_HEADER = "<html><body><article><header><h1>Una tribuna</h1>"
+			+ "<figure><picture>"
+			+ "<source media=\"(min-width: 1000px)\" type=\"image/webp\" srcset=\"" + RESIZER + "1200&amp;f=webp 1200w\">"
+			+ "<source type=\"image/webp\" srcset=\"" + RESIZER + "414&amp;f=webp 414w," + RESIZER
+			+ "828&amp;f=webp 828w\">"
+			+ "<img src=\"" + RESIZER + "1960\" srcset=\"" + RESIZER + "414 414w," + RESIZER + "828 828w\">"
+			+ "</picture></figure></header><div><p>Primer párrafo.</p></div></article></body></html>";
+
+	private static String resized(int width) {
+		return RESIZER.replace("&amp;", "&") + width;
+	}
+
+	@Test
+	public void choosesSmallestRenditionCoveringTargetOnArticlePage() {
+		HttpArticleFetcher.PageExtract ex = HttpArticleFetcher.extract(PAGE_URL, HtmlDocument.parse(ARTICLE_HEADER));
+
+		assertEquals(SrcsetSelector.select(null, ex.imgSrcset, ex.imgSrc, 400), resized(414));
+		assertEquals(SrcsetSelector.select(null, ex.imgSrcset, ex.imgSrc, 600), resized(828));
+		assertEquals(SrcsetSelector.select(null, ex.imgSrcset, ex.imgSrc, 1000), resized(980));
+	}
+
+	@Test
+	public void fallsBackToLargestWhenNothingCoversTarget() {
+		HttpArticleFetcher.PageExtract ex = HttpArticleFetcher.extract(PAGE_URL, HtmlDocument.parse(ARTICLE_HEADER));
+
+		assertEquals(SrcsetSelector.select(null, ex.imgSrcset, ex.imgSrc, 4000), resized(1960));
+	}
+
+	@Test
+	public void usesFirstMatchingPictureSource() {
+		HttpArticleFetcher.PageExtract ex = HttpArticleFetcher.extract(PAGE_URL, HtmlDocument.parse(PICTURE_HEADER));
+
+		assertEquals(ex.imgSources.size(), 2);
+		assertEquals(SrcsetSelector.select(ex.imgSources, ex.imgSrcset, ex.imgSrc, 400), resized(414) + "&f=webp");
+		assertEquals(SrcsetSelector.select(ex.imgSources, ex.imgSrcset, ex.imgSrc, 1100), resized(1200) + "&f=webp");
+	}
+
+	@Test
+	public void skipsUnsupportedSourceTypes() {
+		List<SrcsetSelector.Source> sources = List.of(new SrcsetSelector.Source("a.jxl 500w", "image/jxl", null),
+				new SrcsetSelector.Source("b.jpg 500w", "image/jpeg", null));
+
+		assertEquals(SrcsetSelector.select(sources, null, "c.jpg", 400), "b.jpg");
+	}
+
+	@Test
+	public void densityDescriptorsPreferOneX() {
+		assertEquals(SrcsetSelector.select(null, "a.jpg 2x, b.jpg 1x, c.jpg 3x", null, 400), "b.jpg");
+		assertEquals(SrcsetSelector.select(null, "a.jpg 1.5x, b.jpg 3x", null, 400), "a.jpg");
+		assertEquals(SrcsetSelector.select(null, "a.jpg, b.jpg 2x", null, 400), "a.jpg");
+	}
+
+	@Test
+	public void parsesUrlsContainingCommasAndParentheses() {
+		List<SrcsetSelector.Candidate> c = SrcsetSelector.parse(
+				"https://cdn.example/w_400,h_300/pic.jpg 400w,https://cdn.example/filters:focal(1x2:3x4)/pic.jpg 800w");
+
+		assertEquals(c.size(), 2);
+		assertEquals(c.get(0).url, "https://cdn.example/w_400,h_300/pic.jpg");
+		assertEquals(c.get(0).width, 400);
+		assertEquals(c.get(1).url, "https://cdn.example/filters:focal(1x2:3x4)/pic.jpg");
+		assertEquals(c.get(1).width, 800);
+	}
+
+	@Test
+	public void fallsBackToSrcWithoutSrcset() {
+		assertEquals(SrcsetSelector.select(null, null, "only.jpg", 400), "only.jpg");
+		assertEquals(SrcsetSelector.select(null, "  ", " only.jpg ", 400), "only.jpg");
+		assertNull(SrcsetSelector.select(null, null, null, 400));
+	}
+
+	@Test
+	public void dropsInvalidCandidates() {
+		List<SrcsetSelector.Candidate> c = SrcsetSelector.parse("a.jpg 100q, b.jpg 200w, c.jpg abcw");
+
+		assertEquals(c.size(), 1);
+		assertEquals(c.get(0).url, "b.jpg");
+	}
+
+	@Test
+	public void evaluatesSimpleMediaConditions() {
+		assertEquals(SrcsetSelector.mediaMatches("(min-width: 1000px)", 400), false);
+		assertEquals(SrcsetSelector.mediaMatches("(max-width: 767px)", 400), true);
+		assertEquals(SrcsetSelector.mediaMatches("screen and (min-width: 300px) and (max-width: 500px)", 400), true);
+		assertEquals(SrcsetSelector.mediaMatches("(orientation: portrait)", 400), false);
+		assertEquals(SrcsetSelector.mediaMatches(null, 400), true);
+	}
+}
@@ -0,0 +1,222 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Local stand-in for the Google Translate v2 endpoint, for exercising
+ * TranslatorV2 without network access or API quota.
+ *
+ * Every "q" item is "translated" to "[en] " + text. The server can inject
+ * latency and errors: a configurable fraction of requests fails with 429 (with
+ * a Retry-After header) or 503, and requests with more items than the API
+ * limit are rejected with 400 like the real endpoint. Responses are gzipped
+ * when the client sends Accept-Encoding: gzip.
+ *
+ * Usage: start it, then run the scraper with
+ * -DtranslateEndpoint=&lt;endpoint()&gt;. Also runnable from the command line:
+ * StubTranslateServer [port] [latencyMillis] [errorRate].
+ */
+public class StubTranslateServer implements AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(StubTranslateServer.class);
+
+	/** Path served by the stub, matching the real v2 endpoint. */
+	public static final String PATH = "/language/translate/v2";
+
+	private final Gson gson = new Gson();
+	private final HttpServer server;
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+
+	private final AtomicInteger requests = new AtomicInteger();
+	private final AtomicInteger injectedErrors = new AtomicInteger();
+
+	private volatile long latencyMillis;
+	private volatile double errorRate;
+	private volatile int retryAfterSeconds = 1;
+	private volatile int maxItems = 128;
+	private final AtomicInteger failNext = new AtomicInteger();
+	private volatile int failNextStatus;
+
+	/**
+	 * Start the stub on the given port (0 = any free port).
+	 *
+	 * @param latencyMillis delay added before every response.
+	 * @param errorRate     fraction (0..1) of requests answered with 429/503.
+	 */
+	public StubTranslateServer(int port, long latencyMillis, double errorRate) throws IOException {
+		this.latencyMillis = latencyMillis;
+		this.errorRate = errorRate;
+		this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+		this.server.createContext(PATH, this::handle);
+		this.server.setExecutor(executor);
+		this.server.start();
+		logger.info("[StubTranslate] Listening at {} (latency={} ms, errorRate={})", endpoint(), latencyMillis,
+				errorRate);
+	}
+
+	/** Value for -DtranslateEndpoint. */
+	public String endpoint() {
+		return "http://127.0.0.1:" + server.getAddress().getPort() + PATH;
+	}
+
+	public void setLatencyMillis(long latencyMillis) {
+		this.latencyMillis = latencyMillis;
+	}
+
+	public void setErrorRate(double errorRate) {
+		this.errorRate = errorRate;
+	}
+
+	/** Retry-After value (seconds) sent with injected 429 responses. */
+	public void setRetryAfterSeconds(int retryAfterSeconds) {
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	/**
+	 * Answer the next 'count' requests with 'status' (429 with Retry-After), on
+	 * top of the random errorRate. For deterministic retry tests.
+	 */
+	public void failNext(int status, int count) {
+		this.failNextStatus = status;
+		this.failNext.set(count);
+	}
+
+	/** Maximum "q" items accepted per request; larger requests get 400. */
+	public void setMaxItems(int maxItems) {
+		this.maxItems = maxItems;
+	}
+
+	/** Total requests received (including failed ones). */
+	public int requestCount() {
+		return requests.get();
+	}
+
+	/** Requests answered with an injected 429/503. */
+	public int injectedErrorCount() {
+		return injectedErrors.get();
+	}
+
+	private void handle(HttpExchange ex) throws IOException {
+		try {
+			requests.incrementAndGet();
+			if (latencyMillis > 0)
+				Thread.sleep(latencyMillis);
+
+			if (!"POST".equals(ex.getRequestMethod())) {
+				respond(ex, 405, error(405, "Method not allowed"));
+				return;
+			}
+
+			if (failNext.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+				injectError(ex, failNextStatus);
+				return;
+			}
+			if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+				injectError(ex, ThreadLocalRandom.current().nextBoolean() ? 429 : 503);
+				return;
+			}
+
+			JsonObject body;
+			try (InputStreamReader r = new InputStreamReader(ex.getRequestBody(), StandardCharsets.UTF_8)) {
+				body = gson.fromJson(r, JsonObject.class);
+			}
+			JsonArray q = (body != null && body.has("q")) ? body.getAsJsonArray("q") : new JsonArray();
+			if (q.size() > maxItems) {
+				respond(ex, 400, error(400, "Too many text segments"));
+				return;
+			}
+
+			JsonArray translations = new JsonArray();
+			for (JsonElement e : q) {
+				JsonObject t = new JsonObject();
+				t.addProperty("translatedText", "[en] " + e.getAsString());
+				translations.add(t);
+			}
+			JsonObject data = new JsonObject();
+			data.add("translations", translations);
+			JsonObject resp = new JsonObject();
+			resp.add("data", data);
+			respond(ex, 200, gson.toJson(resp));
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (Exception e) {
+			respond(ex, 500, error(500, String.valueOf(e.getMessage())));
+		} finally {
+			ex.close();
+		}
+	}
+
+	private void injectError(HttpExchange ex, int status) throws IOException {
+		injectedErrors.incrementAndGet();
+		if (status == 429) {
+			ex.getResponseHeaders().set("Retry-After", String.valueOf(retryAfterSeconds));
+			respond(ex, 429, error(429, "Rate limit exceeded (injected)"));
+		} else {
+			respond(ex, status, error(status, "Backend unavailable (injected)"));
+		}
+	}
+
+	private String error(int code, String message) {
+		JsonObject err = new JsonObject();
+		err.addProperty("code", code);
+		err.addProperty("message", message);
+		JsonObject resp = new JsonObject();
+		resp.add("error", err);
+		return gson.toJson(resp);
+	}
+
+	private static void respond(HttpExchange ex, int status, String json) throws IOException {
+		byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+		ex.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+
+		// Compress like the real endpoint when the client accepts gzip
+		String accept = ex.getRequestHeaders().getFirst("Accept-Encoding");
+		if (accept != null && accept.contains("gzip")) {
+			ByteArrayOutputStream gz = new ByteArrayOutputStream();
+			try (GZIPOutputStream out = new GZIPOutputStream(gz)) {
+				out.write(bytes);
+			}
+			bytes = gz.toByteArray();
+			ex.getResponseHeaders().set("Content-Encoding", "gzip");
+		}
+		ex.sendResponseHeaders(status, bytes.length);
+		try (OutputStream os = ex.getResponseBody()) {
+			os.write(bytes);
+		}
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	/** Command-line entry point: run the stub until the JVM is stopped. */
+	public static void main(String[] args) throws Exception {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : 8090;
+		long latency = args.length > 1 ? Long.parseLong(args[1]) : 0;
+		double errorRate = args.length > 2 ? Double.parseDouble(args[2]) : 0;
+		new StubTranslateServer(port, latency, errorRate);
+	}
+}
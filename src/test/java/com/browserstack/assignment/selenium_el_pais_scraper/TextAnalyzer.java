@@ -9,6 +9,10 @@ import java.util.*;
  * English titles. Titles are normalized to lowercase, cleaned of punctuation,
  * split into words, and counted. The caller may specify a threshold to filter
  * out infrequent words.
+ *
+ * Tokenizing is a single pass over the code points of each text (no regex, no
+ * intermediate strings) and counting uses a WordCountMap, so the same code
+ * handles full article bodies and multi-megabyte corpora.
  */
 public class TextAnalyzer {
 
@@ -20,45 +24,123 @@ public class TextAnalyzer {
 	 * (non-letter characters), keeping spaces - Split into words - Increment word
 	 * counts
 	 *
+	 * A word is a maximal run of Unicode letters (\p{L}); every other code point
+	 * separates words. Lowercasing is done per code point, which matches
+	 * String.toLowerCase() except for its locale/context-sensitive special cases
+	 * (e.g. Turkish dotted I, Greek final sigma).
+	 *
 	 * @param titlesEn  List of English-translated titles to analyze.
 	 * @param threshold Only return words that appear more than this number.
-	 * @return A map of word → count for all words exceeding the threshold. Returns
-	 *         an empty map if the input list is null or empty.
+	 * @return A map of word → count for all words exceeding the threshold, in
+	 *         first-seen order. Returns an empty map if the input list is null or
+	 *         empty.
 	 */
 	public Map<String, Integer> repeatedWords(List<String> titlesEn, int threshold) {
 		if (titlesEn == null || titlesEn.isEmpty())
 			return Collections.emptyMap();
 
-		// Preserve insertion order
-		Map<String, Integer> counts = new LinkedHashMap<>();
-
-		// Count words across all titles
-		for (String title : titlesEn) {
-			if (title == null)
-				continue;
+		return countWords(titlesEn).entriesAbove(threshold);
+	}
 
-			String lower = title.toLowerCase();
-			String cleaned = lower.replaceAll("[^\\p{L}\\s]", " "); // keep letters, replace punctuation
-			String[] words = cleaned.split("\\s+");
+	/**
+	 * Count every word in the given texts (null entries are skipped).
+	 *
+	 * @return the populated map; use entriesAbove() to export counts.
+	 */
+	public WordCountMap countWords(List<? extends CharSequence> texts) {
+		WordCountMap counts = new WordCountMap();
+		Tokenizer tokenizer = new Tokenizer();
+		for (CharSequence text : texts) {
+			if (text != null)
+				tokenizer.countWords(text, counts);
+		}
+		return counts;
+	}
 
-			for (String w : words) {
-				if (w == null)
-					continue;
-				w = w.trim();
-				if (w.isEmpty())
-					continue; // avoid counting empty strings
+	/**
+	 * Reusable single-pass tokenizer: lowercases letters into a growable char
+	 * buffer while hashing them, and hands each finished word to the map.
+	 */
+	private static final class Tokenizer {
 
-				counts.put(w, counts.getOrDefault(w, 0) + 1);
+		/**
+		 * Lowercase form of every Latin-1 letter, 0 for non-letters. Covers ASCII and
+		 * the accented Spanish/English letters without any Character lookups.
+		 */
+		private static final char[] LATIN1_LOWER = new char[256];
+		static {
+			for (char c = 0; c < 256; c++) {
+				if (Character.isLetter(c))
+					LATIN1_LOWER[c] = Character.toLowerCase(c);
 			}
 		}
 
-		// Filter words exceeding the threshold
-		Map<String, Integer> result = new LinkedHashMap<>();
-		for (Map.Entry<String, Integer> e : counts.entrySet()) {
-			if (e.getValue() > threshold) {
-				result.put(e.getKey(), e.getValue());
+		private char[] src = new char[1024];
+		private char[] buf = new char[64];
+
+		void countWords(CharSequence text, WordCountMap counts) {
+			int n = text.length();
+			if (src.length < n)
+				src = new char[Math.max(n, src.length * 2)];
+			if (text instanceof String)
+				((String) text).getChars(0, n, src, 0);
+			else
+				for (int k = 0; k < n; k++)
+					src[k] = text.charAt(k);
+
+			char[] s = src;
+			char[] b = buf;
+			int len = 0;
+			int hash = 0;
+			for (int i = 0; i < n;) {
+				char c = s[i];
+				char lower;
+
+				if (c < 256) {
+					// Latin-1 fast path (table lookup)
+					lower = LATIN1_LOWER[c];
+				} else if (!Character.isSurrogate(c)) {
+					lower = Character.isLetter(c) ? Character.toLowerCase(c) : 0;
+				} else {
+					// Supplementary code point: handled separately (two chars)
+					int cp = Character.codePointAt(s, i, n);
+					i += Character.charCount(cp);
+					if (Character.isLetter(cp)) {
+						int lowerCp = Character.toLowerCase(cp);
+						if (len + 2 > b.length)
+							b = buf = Arrays.copyOf(b, b.length * 2);
+						if (Character.isBmpCodePoint(lowerCp)) {
+							b[len++] = (char) lowerCp;
+							hash = WordCountMap.hashStep(hash, (char) lowerCp);
+						} else {
+							char hi = Character.highSurrogate(lowerCp);
+							char lo = Character.lowSurrogate(lowerCp);
+							b[len++] = hi;
+							b[len++] = lo;
+							hash = WordCountMap.hashStep(WordCountMap.hashStep(hash, hi), lo);
+						}
+					} else if (len > 0) {
+						counts.increment(b, len, hash);
+						len = 0;
+						hash = 0;
+					}
+					continue;
+				}
+
+				i++;
+				if (lower != 0) {
+					if (len == b.length)
+						b = buf = Arrays.copyOf(b, len * 2);
+					b[len++] = lower;
+					hash = WordCountMap.hashStep(hash, lower);
+				} else if (len > 0) {
+					counts.increment(b, len, hash);
+					len = 0;
+					hash = 0;
+				}
 			}
+			if (len > 0)
+				counts.increment(b, len, hash);
 		}
-		return result;
 	}
 }
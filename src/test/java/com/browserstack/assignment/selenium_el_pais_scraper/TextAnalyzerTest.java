@@ -0,0 +1,97 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for TextAnalyzer: first-seen order, the strict threshold,
+ * accented words, and parity with the original lowercase/regex/split
+ * implementation on random text. Runs without a browser or network:
+ * mvn test -Dconfig.file=config/unit-tests.xml
+ */
+public class TextAnalyzerTest {
+
+	private final TextAnalyzer analyzer = new TextAnalyzer();
+
+	/** The implementation TextAnalyzer replaced (lowercase, regex, split). */
+	private static Map<String, Integer> reference(List<String> titles, int threshold) {
+		Map<String, Integer> counts = new LinkedHashMap<>();
+		for (String title : titles) {
+			if (title == null)
+				continue;
+			for (String w : title.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\s]", " ").split("\\s+")) {
+				if (!w.trim().isEmpty())
+					counts.merge(w.trim(), 1, Integer::sum);
+			}
+		}
+		Map<String, Integer> result = new LinkedHashMap<>();
+		counts.forEach((w, c) -> {
+			if (c > threshold)
+				result.put(w, c);
+		});
+		return result;
+	}
+
+	@Test
+	public void keepsFirstSeenOrderAndStrictThreshold() {
+		List<String> titles = List.of("Zeta alpha, beta!", "ALPHA beta zeta", "beta... zeta; Alpha", "gamma");
+
+		Map<String, Integer> out = analyzer.repeatedWords(titles, 2);
+
+		assertEquals(new ArrayList<>(out.keySet()), List.of("zeta", "alpha", "beta"));
+		assertEquals(out.get("alpha").intValue(), 3);
+		assertTrue(analyzer.repeatedWords(titles, 3).isEmpty(), "counts equal to the threshold are excluded");
+	}
+
+	@Test
+	public void countsAccentedWordsAsLetters() {
+		List<String> titles = List.of("Política y ESPAÑA", "la política de España", "POLÍTICA: año 2025, niño");
+
+		Map<String, Integer> out = analyzer.repeatedWords(titles, 1);
+
+		assertEquals(out, Map.of("política", 3, "españa", 2));
+		assertEquals(analyzer.repeatedWords(titles, 0).get("año").intValue(), 1);
+	}
+
+	@Test
+	public void emptyAndNullInput() {
+		assertTrue(analyzer.repeatedWords(null, 0).isEmpty());
+		assertTrue(analyzer.repeatedWords(List.of(), 0).isEmpty());
+		assertEquals(analyzer.repeatedWords(Arrays.asList(null, "uno uno"), 1), Map.of("uno", 2));
+	}
+
+	@Test
+	public void matchesOriginalImplementationOnRandomText() {
+		// Everything but the documented exceptions (dotted I, final sigma)
+		String[] pieces = { "a", "b", "e", "s", "A", "B", "E", "S", "á", "é", "ñ", "Ñ", "ü", "Ü", "ß", "ø", "Ø",
+				"ж", "Ж", "λ", "Λ", "日", "本", "\uD835\uDC00" /* math bold A */, "\uD801\uDC00" /* Deseret */, "1",
+				"9", " ", "\t", "\n", "\u00A0", "\u2003", ",", ".", "'", "-", "¿", "¡", "\u0301" /* combining acute */,
+				"\uD83D\uDE00" /* emoji */ };
+		Random random = new Random(42);
+		for (int run = 0; run < 2_000; run++) {
+			List<String> titles = new ArrayList<>();
+			for (int t = random.nextInt(6); t >= 0; t--) {
+				StringBuilder sb = new StringBuilder();
+				for (int k = random.nextInt(40); k > 0; k--)
+					sb.append(pieces[random.nextInt(pieces.length)]);
+				titles.add(sb.toString());
+			}
+			int threshold = random.nextInt(3);
+
+			Map<String, Integer> expected = reference(titles, threshold);
+			Map<String, Integer> actual = analyzer.repeatedWords(titles, threshold);
+			assertEquals(new ArrayList<>(actual.entrySet()), new ArrayList<>(expected.entrySet()),
+					"titles " + titles);
+		}
+	}
+}
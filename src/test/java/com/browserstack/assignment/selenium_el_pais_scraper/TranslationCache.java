@@ -0,0 +1,215 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Two-tier cache of translations keyed by SHA-256(source, target, text).
+ *
+ * Tier 1 is an in-memory LRU map shared by all test threads in the JVM. Tier 2
+ * is one small UTF-8 file per key under
+ * ~/elpaisscraper/cache/translations/&lt;2-char prefix&gt;/&lt;hash&gt;, which
+ * survives restarts and can be shared by concurrent JVMs (files are written to
+ * a temp name and atomically renamed).
+ *
+ * Usage notes: - Use shared() from TranslatorV2. - Override the folder with
+ * -DtranslationCacheDir and the LRU size with -DtranslationCacheSize. -
+ * -DtranslationCache=false disables the cache. - When -DtranslateEndpoint
+ * points anywhere but Google (StubTranslateServer) or fixtures are active, and
+ * no folder is given, the shared cache keeps no disk tier, so fake
+ * translations never reach the cache of live runs.
+ */
+public class TranslationCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(TranslationCache.class);
+
+	private static final TranslationCache SHARED = new TranslationCache(sharedFolder(),
+			Integer.getInteger("translationCacheSize", 10_000),
+			Boolean.parseBoolean(System.getProperty("translationCache", "true")));
+
+	private final Path folder;
+	private final boolean enabled;
+	private final Map<String, String> memory;
+
+	private final AtomicLong memoryHits = new AtomicLong();
+	private final AtomicLong diskHits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * @param folder   on-disk tier location; null keeps the cache in memory only.
+	 * @param capacity maximum entries kept in the in-memory LRU tier.
+	 * @param enabled  when false every lookup is a miss and nothing is stored.
+	 */
+	public TranslationCache(Path folder, int capacity, boolean enabled) {
+		this.folder = folder;
+		this.enabled = enabled;
+		int max = Math.max(1, capacity);
+		this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+				return size() > max;
+			}
+		};
+	}
+
+	// Disk tier of the shared cache: -DtranslationCacheDir, else the default
+	// folder unless translations come from another endpoint than Google or
+	// from a fixture replay (FixtureServer repoints the endpoint only when the
+	// suite starts, possibly after this class was initialized)
+	private static Path sharedFolder() {
+		String dir = System.getProperty("translationCacheDir");
+		if (dir != null)
+			return Path.of(dir);
+		if (FixtureServer.isActive()) {
+			logger.info("[TranslationCache] Fixtures active; caching in memory only.");
+			return null;
+		}
+		String endpoint = System.getProperty("translateEndpoint", TranslatorV2.DEFAULT_ENDPOINT);
+		if (!TranslatorV2.DEFAULT_ENDPOINT.equals(endpoint)) {
+			logger.info("[TranslationCache] -DtranslateEndpoint={} is not Google; caching in memory only.", endpoint);
+			return null;
+		}
+		return Path.of(System.getProperty("user.home"), "elpaisscraper", "cache", "translations");
+	}
+
+	/** JVM-wide cache instance shared by all translators. */
+	public static TranslationCache shared() {
+		return SHARED;
+	}
+
+	/** Cache key for a text translated from 'source' to 'target'. */
+	public static String key(String source, String target, String text) {
+		try {
+			MessageDigest md = MessageDigest.getInstance("SHA-256");
+			md.update(source.getBytes(StandardCharsets.UTF_8));
+			md.update((byte) 0);
+			md.update(target.getBytes(StandardCharsets.UTF_8));
+			md.update((byte) 0);
+			md.update(text.getBytes(StandardCharsets.UTF_8));
+			StringBuilder sb = new StringBuilder(64);
+			for (byte b : md.digest())
+				sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			return sb.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
+	/**
+	 * Look up a translation by key (see key()). Checks memory first, then disk
+	 * (promoting disk hits into memory). Returns null on a miss.
+	 */
+	public String get(String key) {
+		return lookup(key, true);
+	}
+
+	/**
+	 * Like get(), but without counting a hit or miss. For re-checks of a key
+	 * already looked up (e.g. after winning a SingleFlight claim).
+	 */
+	public String peek(String key) {
+		return lookup(key, false);
+	}
+
+	private String lookup(String key, boolean count) {
+		if (!enabled) {
+			if (count)
+				misses.incrementAndGet();
+			return null;
+		}
+
+		synchronized (memory) {
+			String v = memory.get(key);
+			if (v != null) {
+				if (count)
+					memoryHits.incrementAndGet();
+				return v;
+			}
+		}
+
+		Path file = fileFor(key);
+		if (file != null && Files.isRegularFile(file)) {
+			try {
+				String v = Files.readString(file, StandardCharsets.UTF_8);
+				synchronized (memory) {
+					memory.put(key, v);
+				}
+				if (count)
+					diskHits.incrementAndGet();
+				return v;
+			} catch (Exception e) {
+				logger.debug("[TranslationCache] Could not read {}: {}", file, e.getMessage());
+			}
+		}
+
+		if (count)
+			misses.incrementAndGet();
+		return null;
+	}
+
+	/** Store a translation in both tiers. Disk failures are logged and ignored. */
+	public void put(String key, String translation) {
+		if (!enabled || translation == null)
+			return;
+
+		synchronized (memory) {
+			memory.put(key, translation);
+		}
+
+		Path file = fileFor(key);
+		if (file == null)
+			return;
+		try {
+			Files.createDirectories(file.getParent());
+			Path tmp = Files.createTempFile(file.getParent(), key, ".tmp");
+			Files.writeString(tmp, translation, StandardCharsets.UTF_8);
+			Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (Exception e) {
+			logger.debug("[TranslationCache] Could not write {}: {}", file, e.getMessage());
+		}
+	}
+
+	private Path fileFor(String key) {
+		if (folder == null)
+			return null;
+		return folder.resolve(key.substring(0, 2)).resolve(key);
+	}
+
+	/** Lookups served from memory or disk. */
+	public long hitCount() {
+		return memoryHits.get() + diskHits.get();
+	}
+
+	/** Lookups served from the in-memory tier. */
+	public long memoryHitCount() {
+		return memoryHits.get();
+	}
+
+	/** Lookups served from the on-disk tier. */
+	public long diskHitCount() {
+		return diskHits.get();
+	}
+
+	/** Lookups that required an API call. */
+	public long missCount() {
+		return misses.get();
+	}
+
+	@Override
+	public String toString() {
+		return "hits=" + hitCount() + " (memory=" + memoryHitCount() + ", disk=" + diskHitCount() + "), misses="
+				+ missCount();
+	}
+}
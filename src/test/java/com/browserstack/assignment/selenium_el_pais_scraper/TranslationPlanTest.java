@@ -0,0 +1,59 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for the body translation planner of TranslatorV2 (sentence
+ * splitting, segment budgets, reassembly). Runs without a browser or network:
+ * mvn test -Dconfig.file=config/unit-tests.xml
+ */
+public class TranslationPlanTest {
+
+	@Test
+	public void splitsSentencesOnSpanishPunctuation() {
+		assertEquals(TranslatorV2.splitSentences("Primera frase. ¿Una pregunta? «Cita final.» Y otra"),
+				List.of("Primera frase.", "¿Una pregunta?", "«Cita final.»", "Y otra"));
+	}
+
+	@Test
+	public void keepsDecimalsAndLowercaseContinuationsTogether() {
+		assertEquals(TranslatorV2.splitSentences("Subió un 2.5 por ciento. etc. y siguió"),
+				List.of("Subió un 2.5 por ciento. etc. y siguió"));
+	}
+
+	@Test
+	public void reassemblesEveryDocumentInOrder() {
+		StringBuilder longParagraph = new StringBuilder();
+		for (int i = 0; i < 40; i++)
+			longParagraph.append("Frase número ").append(i).append(" del artículo. ");
+		List<String> docs = Arrays.asList("Un párrafo. Dos frases.\n\nOtro párrafo.", null, "",
+				longParagraph.toString().trim());
+
+		TranslatorV2.DocumentPlan plan = TranslatorV2.planDocuments(docs, 200);
+
+		assertEquals(plan.document(0, plan.segments), docs.get(0));
+		assertEquals(plan.document(1, plan.segments), "");
+		assertEquals(plan.document(2, plan.segments), "");
+		assertEquals(plan.document(3, plan.segments), docs.get(3));
+		assertTrue(plan.starts[4] - plan.starts[3] > 1, "long paragraph should span several segments");
+	}
+
+	@Test
+	public void segmentsStayWithinBudget() {
+		List<String> docs = new ArrayList<>();
+		docs.add("Sin puntuación " + "palabra ".repeat(200));
+		docs.add("x".repeat(1000));
+
+		TranslatorV2.DocumentPlan plan = TranslatorV2.planDocuments(docs, 256);
+
+		for (String segment : plan.segments)
+			assertTrue(segment.getBytes(java.nio.charset.StandardCharsets.UTF_8).length + 3 <= 256, segment);
+	}
+}
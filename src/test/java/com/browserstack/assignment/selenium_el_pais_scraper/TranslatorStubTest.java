@@ -0,0 +1,112 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import static org.testng.Assert.assertEquals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for TranslatorV2 against a local StubTranslateServer (chunking and
+ * reassembly, retries on 429/503, the item limit, cache accounting). Runs
+ * without network access:
+ * mvn test -Dconfig.file=config/unit-tests.xml
+ */
+public class TranslatorStubTest {
+
+	private StubTranslateServer stub;
+
+	@BeforeClass
+	public void startStub() throws Exception {
+		stub = new StubTranslateServer(0, 0, 0);
+		stub.setRetryAfterSeconds(0);
+	}
+
+	@AfterClass(alwaysRun = true)
+	public void stopStub() {
+		stub.close();
+	}
+
+	@BeforeMethod
+	public void resetStub() {
+		stub.setMaxItems(128);
+		stub.failNext(200, 0);
+	}
+
+	// Cache disabled: every text is sent
+	private TranslatorV2 translator() {
+		return new TranslatorV2(new TranslationCache(null, 1, false), stub.endpoint());
+	}
+
+	private static List<String> texts(String prefix, int n) {
+		List<String> out = new ArrayList<>();
+		for (int i = 0; i < n; i++)
+			out.add(prefix + " número " + i);
+		return out;
+	}
+
+	@Test(timeOut = 30_000)
+	public void reassemblesChunksInInputOrder() {
+		List<String> texts = texts("Título", 300);
+		texts.add(1, texts.get(250)); // duplicates are sent once
+		int before = stub.requestCount();
+
+		List<String> out = translator().translateToEnglish(texts);
+
+		assertEquals(out.size(), texts.size());
+		for (int i = 0; i < texts.size(); i++)
+			assertEquals(out.get(i), "[en] " + texts.get(i));
+		assertEquals(stub.requestCount() - before, 3, "300 distinct texts at 128 items per request");
+	}
+
+	@Test(timeOut = 30_000)
+	public void retriesRateLimitedAndUnavailableResponses() {
+		TranslatorV2 translator = translator();
+		int before = stub.requestCount();
+		stub.failNext(429, 2);
+		assertEquals(translator.translateToEnglish(List.of("Hola")), List.of("[en] Hola"));
+		assertEquals(stub.requestCount() - before, 3);
+
+		before = stub.requestCount();
+		stub.failNext(503, 1);
+		assertEquals(translator.translateToEnglish(List.of("Adiós")), List.of("[en] Adiós"));
+		assertEquals(stub.requestCount() - before, 2);
+	}
+
+	@Test(timeOut = 30_000)
+	public void doesNotRetryRejectedRequests() {
+		stub.setMaxItems(1);
+		int before = stub.requestCount();
+		try {
+			translator().translateToEnglish(List.of("Uno", "Dos"));
+			throw new AssertionError("expected the 400 to fail the translation");
+		} catch (TranslatorV2.TranslateHttpException e) {
+			assertEquals(e.status, 400);
+		}
+		assertEquals(stub.requestCount() - before, 1, "400 must not be retried");
+	}
+
+	@Test(timeOut = 30_000)
+	public void countsOneMissPerTextAndServesRepeatsFromCache() throws Exception {
+		Path dir = Files.createTempDirectory("translation-cache");
+		TranslationCache cache = new TranslationCache(dir, 1_000, true);
+		TranslatorV2 translator = new TranslatorV2(cache, stub.endpoint());
+		List<String> texts = texts("Cacheado", 100);
+
+		translator.translateToEnglish(texts);
+		assertEquals(cache.missCount(), 100);
+		assertEquals(cache.hitCount(), 0);
+
+		int before = stub.requestCount();
+		translator.translateToEnglish(texts);
+		assertEquals(stub.requestCount() - before, 0);
+		assertEquals(cache.hitCount(), 100);
+		assertEquals(cache.missCount(), 100);
+	}
+}
@@ -0,0 +1,175 @@
+package com.browserstack.assignment.selenium_el_pais_scraper;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Open-addressing word -> count map used by TextAnalyzer.
+ *
+ * Keys are stored back to back in one char arena and identified by an id that
+ * also records insertion order, so counting an already-known word allocates
+ * nothing: the caller passes the word as a (char[], length, hash) triple and
+ * the map compares it against the arena in place. Strings are only created
+ * when results are exported.
+ *
+ * Not thread-safe; one instance per analysis.
+ */
+public class WordCountMap {
+
+	/**
+	 * Slot table, power of two sized. Each slot packs the word's mixed hash (high
+	 * 32 bits) and id + 1 (low 32 bits); 0 = empty. Keeping the hash in the slot
+	 * lets most probes be rejected without touching the per-id arrays.
+	 */
+	private long[] slots;
+
+	// Per-id data, indexed by insertion order
+	private int[] starts;
+	private int[] lengths;
+	private int[] counts;
+	private int size;
+
+	/** All key characters, back to back. */
+	private char[] arena;
+	private int arenaUsed;
+
+	public WordCountMap() {
+		this(64);
+	}
+
+	/** @param expectedWords expected number of distinct words (sizing hint). */
+	public WordCountMap(int expectedWords) {
+		int cap = Integer.highestOneBit(Math.max(16, expectedWords * 2 - 1)) << 1;
+		slots = new long[cap];
+		starts = new int[cap / 2];
+		lengths = new int[cap / 2];
+		counts = new int[cap / 2];
+		arena = new char[cap * 4];
+	}
+
+	/** Hash used for keys; callers computing it incrementally must match it. */
+	public static int hashStep(int hash, char c) {
+		return 31 * hash + c;
+	}
+
+	/**
+	 * Final mixing applied to the incremental hash before probing. The
+	 * multiplicative step spreads the dense hash values of short words, which
+	 * would otherwise form long clusters under linear probing.
+	 */
+	private static int mix(int h) {
+		h *= 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Add one occurrence of the word buf[0..len). 'hash' must be the result of
+	 * folding hashStep over the same characters starting from 0.
+	 */
+	public void increment(char[] buf, int len, int hash) {
+		int mask = slots.length - 1;
+		int h = mix(hash);
+		int slot = h & mask;
+		while (true) {
+			long ref = slots[slot];
+			if (ref == 0)
+				break;
+			if ((int) (ref >>> 32) == h) {
+				int id = (int) ref - 1;
+				if (lengths[id] == len && sameChars(starts[id], buf, len)) {
+					counts[id]++;
+					return;
+				}
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		// New word: copy its characters into the arena and claim the slot
+		if (size == lengths.length)
+			growIds();
+		if (arenaUsed + len > arena.length)
+			arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaUsed + len));
+		System.arraycopy(buf, 0, arena, arenaUsed, len);
+
+		int id = size++;
+		starts[id] = arenaUsed;
+		lengths[id] = len;
+		counts[id] = 1;
+		arenaUsed += len;
+		slots[slot] = pack(h, id);
+
+		// Keep the load factor at or below 0.5
+		if (size * 2 > slots.length)
+			rehash();
+	}
+
+	private static long pack(int hash, int id) {
+		return ((long) hash << 32) | ((id + 1) & 0xFFFFFFFFL);
+	}
+
+	/** Plain loop: words are short, so this beats the vectorized Arrays.equals. */
+	private boolean sameChars(int start, char[] buf, int len) {
+		char[] a = arena;
+		for (int i = 0; i < len; i++) {
+			if (a[start + i] != buf[i])
+				return false;
+		}
+		return true;
+	}
+
+	/** Count for a word, or 0 if it was never added. */
+	public int get(String word) {
+		int hash = 0;
+		for (int i = 0; i < word.length(); i++)
+			hash = hashStep(hash, word.charAt(i));
+		char[] chars = word.toCharArray();
+		int h = mix(hash);
+		int mask = slots.length - 1;
+		for (int slot = h & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+			long ref = slots[slot];
+			int id = (int) ref - 1;
+			if ((int) (ref >>> 32) == h && lengths[id] == chars.length && sameChars(starts[id], chars, chars.length))
+				return counts[id];
+		}
+		return 0;
+	}
+
+	/** Number of distinct words. */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Words whose count is greater than 'threshold', in first-seen order.
+	 */
+	public Map<String, Integer> entriesAbove(int threshold) {
+		Map<String, Integer> out = new LinkedHashMap<>();
+		for (int id = 0; id < size; id++) {
+			if (counts[id] > threshold)
+				out.put(new String(arena, starts[id], lengths[id]), counts[id]);
+		}
+		return out;
+	}
+
+	private void growIds() {
+		int n = lengths.length * 2;
+		starts = Arrays.copyOf(starts, n);
+		lengths = Arrays.copyOf(lengths, n);
+		counts = Arrays.copyOf(counts, n);
+	}
+
+	private void rehash() {
+		long[] next = new long[slots.length * 2];
+		int mask = next.length - 1;
+		for (long ref : slots) {
+			if (ref == 0)
+				continue;
+			int slot = (int) (ref >>> 32) & mask;
+			while (next[slot] != 0)
+				slot = (slot + 1) & mask;
+			next[slot] = ref;
+		}
+		slots = next;
+	}
+}